@@ -0,0 +1,80 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.trabalho.crud.CrudApplication;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Sobe a aplicação para os benchmarks JMH, com o repositório escolhido.
+ */
+final class ContextoBenchmark {
+
+    /** Repositório em memória do profile "test" (TipoQuartoRepositoryMemo). */
+    static final String TESTE = "teste";
+
+    /** Profile "memoria" (MemoriaTipoQuartoRepository), com diário e snapshots em target/jmh-memoria. */
+    static final String MEMORIA = "memoria";
+
+    /** JPA sobre H2 em arquivo (target/jmh-h2), como em produção. */
+    static final String H2 = "h2";
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * @param argumentos propriedades extras no formato de linha de comando (ex.: --hotel.metricas.habilitado=false)
+     */
+    static ConfigurableApplicationContext iniciar(String repositorio, WebApplicationType web, String... argumentos) {
+        var builder = new SpringApplicationBuilder(CrudApplication.class)
+                .web(web)
+                .properties("server.port=0", "logging.level.root=WARN", "springdoc.api-docs.enabled=false");
+
+        // Vai como argumento de linha de comando: properties() do builder perde para o application.yaml,
+        // e o benchmark acabaria gravando no banco de demonstração (data/demo)
+        String banco = UUID.randomUUID().toString();
+        List<String> args = new ArrayList<>(List.of(argumentos));
+        if (TESTE.equals(repositorio)) {
+            builder.profiles("test");
+            args.add("--spring.datasource.url=jdbc:h2:mem:jmh-" + banco);
+        } else if (MEMORIA.equals(repositorio)) {
+            builder.profiles(MEMORIA);
+            args.add("--hotel.memoria.diretorio=./target/jmh-memoria/" + banco);
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:file:./target/jmh-h2/" + banco);
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Cadastra {@code quantidade} tipos de quarto e devolve os IDs gerados.
+     */
+    static List<Long> popular(TipoQuartoService service, int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        List<TipoQuartoDto> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(dto("Quarto " + i));
+            if (lote.size() == 500 || i == quantidade - 1) {
+                service.saveAll(lote).forEach(resultado -> ids.add(resultado.getId()));
+                lote.clear();
+            }
+        }
+        return ids;
+    }
+
+    static TipoQuartoDto dto(String nome) {
+        var dto = new TipoQuartoDto();
+        dto.setNome(nome);
+        dto.setDescricao("Descrição do " + nome + " com vista para o mar e café da manhã incluso");
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(189.9);
+        return dto;
+    }
+}
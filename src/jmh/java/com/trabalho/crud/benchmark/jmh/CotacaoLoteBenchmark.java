@@ -0,0 +1,92 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.service.CotadorLote;
+import com.trabalho.crud.core.service.TabelaTarifas;
+
+/**
+ * Tempo de um lote de cotações (sem HTTP, Spring nem banco) conforme o paralelismo do pool: com N
+ * núcleos livres, o tempo deve cair perto de 1/N até o paralelismo chegar a N.
+ * <p>
+ * Um paralelismo acima dos núcleos da máquina só mede o custo de dividir o trabalho, e esse número
+ * não serve como ganho. Por isso o {@code @Setup} falha nesse caso e o JMH marca só aquele parâmetro
+ * como erro. Numa máquina com 1 vCPU, apenas o paralelismo 1 produz resultado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CotacaoLoteBenchmark {
+
+    private static final int TIPOS = 1000;
+
+    @Param({"1", "2", "4", "8"})
+    public int paralelismo;
+
+    /** Com lotes maiores o custo de dividir o trabalho pesa menos no tempo medido. */
+    @Param({"10000", "100000"})
+    public int pedidosPorLote;
+
+    private ForkJoinPool pool;
+    private CotadorLote cotador;
+    private List<PedidoCotacaoDto> pedidos;
+    private Map<Long, CotadorLote.Tarifado> tipos;
+    private long hoje;
+
+    @Setup
+    public void iniciar() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        if (paralelismo > nucleos) {
+            throw new IllegalStateException("Paralelismo " + paralelismo + " acima dos " + nucleos
+                    + " núcleos desta máquina: o resultado não mediria ganho.");
+        }
+        pool = new ForkJoinPool(paralelismo);
+        cotador = new CotadorLote(pool, new TabelaTarifas(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), 2000,
+                TabelaTarifas.temporadas("12-20..01-05=40, 07-01..07-31=25"),
+                TabelaTarifas.descontosEstadia("7=10, 14=15")));
+
+        var random = new SplittableRandom(42);
+        tipos = new HashMap<>();
+        for (long id = 1; id <= TIPOS; id++) {
+            tipos.put(id, new CotadorLote.Tarifado(random.nextLong(10_000, 200_000), random.nextInt(1, 7)));
+        }
+        LocalDate inicio = LocalDate.of(2026, 1, 1);
+        hoje = inicio.toEpochDay();
+        pedidos = new ArrayList<>(pedidosPorLote);
+        for (int i = 0; i < pedidosPorLote; i++) {
+            pedidos.add(new PedidoCotacaoDto(random.nextLong(1, TIPOS + 1), inicio.plusDays(random.nextInt(365)),
+                    random.nextInt(1, 31), random.nextInt(1, 5)));
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void cotarLote(Blackhole blackhole) {
+        cotador.iniciar(pedidos, tipos, hoje).entregar(blackhole::consume);
+    }
+}
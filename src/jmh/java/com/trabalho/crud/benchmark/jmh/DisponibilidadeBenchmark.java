@@ -0,0 +1,67 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.CalendarioDisponibilidade;
+
+/**
+ * Tempo de uma busca no calendário de disponibilidade (sem HTTP nem Spring), com milhares de tipos
+ * de quarto e ocupação de ~50% ao longo de dois anos. Leituras em 4 threads sobre o mesmo calendário.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class DisponibilidadeBenchmark {
+
+    private static final long ORIGEM = 20_000;
+    private static final int HORIZONTE = 731;
+
+    @Param({"1000", "5000"})
+    public int tipos;
+
+    @Param({"3", "14"})
+    public int diarias;
+
+    private CalendarioDisponibilidade calendario;
+
+    @Setup
+    public void iniciar() {
+        calendario = new CalendarioDisponibilidade(ORIGEM, HORIZONTE);
+        var aleatorio = new SplittableRandom(42);
+        for (long id = 1; id <= tipos; id++) {
+            calendario.incluirTipo(new TipoQuartoDto(id, "Tipo " + id, "Descrição", 1 + aleatorio.nextInt(6), 300.0, null));
+            int dia = aleatorio.nextInt(7);
+            while (dia < HORIZONTE) {
+                int estadia = 1 + aleatorio.nextInt(7);
+                calendario.ocupar(id, ORIGEM + dia, ORIGEM + dia + estadia);
+                dia += estadia + aleatorio.nextInt(8);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Consulta {
+
+        private final SplittableRandom aleatorio = new SplittableRandom();
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> buscar(Consulta consulta) {
+        long entrada = ORIGEM + consulta.aleatorio.nextInt(HORIZONTE - diarias);
+        return calendario.disponiveis(entrada, entrada + diarias, 1 + consulta.aleatorio.nextInt(4));
+    }
+}
@@ -0,0 +1,83 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.inbound.formato.CodecColunarTipoQuarto;
+
+/**
+ * Codificação e decodificação de listas de TipoQuartoDto em cada formato negociável
+ * (JSON, CBOR, Smile e colunar). O tamanho do corpo de cada formato sai no log do setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FormatosBenchmark {
+
+    @Param({"json", "cbor", "smile", "colunar"})
+    public String formato;
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<TipoQuartoDto> lista;
+    private byte[] corpo;
+
+    @Setup
+    public void iniciar() throws IOException {
+        ObjectMapper objectMapper = switch (formato) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        TypeReference<List<TipoQuartoDto>> tipo = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+
+        lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            TipoQuartoDto dto = ContextoBenchmark.dto("Quarto " + i);
+            dto.setId((long) i + 1);
+            lista.add(dto);
+        }
+        corpo = this.codificar();
+        System.out.printf("%n[%s, %d itens] %d bytes (%.1f por item)%n", formato, tamanho, corpo.length,
+                (double) corpo.length / tamanho);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        if ("colunar".equals(formato)) {
+            return CodecColunarTipoQuarto.escrever(lista);
+        }
+        return writer.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> decodificar() throws IOException {
+        if ("colunar".equals(formato)) {
+            return CodecColunarTipoQuarto.ler(corpo);
+        }
+        return reader.readValue(corpo);
+    }
+}
@@ -0,0 +1,66 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Serialização Jackson de listas de TipoQuartoDto, com o ObjectMapper configurado como no Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<TipoQuartoDto> lista;
+    private byte[] json;
+
+    @Setup
+    public void iniciar() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TypeReference<List<TipoQuartoDto>> tipo = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+
+        lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            TipoQuartoDto dto = ContextoBenchmark.dto("Quarto " + i);
+            dto.setId((long) i + 1);
+            lista.add(dto);
+        }
+        json = writer.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return writer.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> desserializar() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,82 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.mapper.TipoQuartoMapper;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Lado de leitura no JPA: projeção direta em DTO (o que a service usa) contra o caminho antigo,
+ * entidades gerenciadas convertidas pelo mapper. Sem cache, para toda busca ir ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeituraBenchmark {
+
+    @Param({"1000", "10000"})
+    public int registros;
+
+    private ConfigurableApplicationContext contexto;
+    private TipoQuartoService service;
+    private TipoQuartoRepository repository;
+    private TipoQuartoMapper mapper;
+    private List<Long> ids;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(ContextoBenchmark.H2, WebApplicationType.NONE,
+                "--hotel.cache.tipo-quarto.habilitado=false", "--hotel.metricas.habilitado=false");
+        service = contexto.getBean(TipoQuartoService.class);
+        repository = contexto.getBean(TipoQuartoRepository.class);
+        mapper = contexto.getBean(TipoQuartoMapper.class);
+        ids = ContextoBenchmark.popular(service, registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> findAllProjecao() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> findAllEntidades() {
+        return repository.findByAtivoTrueOrderByIdAsc().stream().map(mapper::toDto).toList();
+    }
+
+    @Benchmark
+    public TipoQuartoDto findByIdProjecao() {
+        return service.findById(this.proximoId());
+    }
+
+    @Benchmark
+    public TipoQuartoDto findByIdEntidade() {
+        return repository.findById(this.proximoId()).map(mapper::toDto).orElseThrow();
+    }
+
+    private Long proximoId() {
+        proximo = (proximo + 1) % ids.size();
+        return ids.get(proximo);
+    }
+}
@@ -0,0 +1,90 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Leituras e escritas simultâneas direto no adaptador (sem cache nem MetricasAspect): o repositório
+ * do profile "memoria" contra o JPA sobre H2 em arquivo. O do profile "test" fica de fora: não é thread-safe.
+ *
+ * Grupo "misto": 3 threads buscando por ID, 1 paginando por nome e 1 atualizando.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RepositorioConcorrenteBenchmark {
+
+    @Param({ContextoBenchmark.MEMORIA, ContextoBenchmark.H2})
+    public String repositorio;
+
+    @Param({"10000"})
+    public int registros;
+
+    private ConfigurableApplicationContext contexto;
+    private TipoQuartoRepository repository;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(repositorio, WebApplicationType.NONE,
+                "--hotel.cache.tipo-quarto.habilitado=false", "--hotel.metricas.habilitado=false");
+        repository = contexto.getBean(TipoQuartoRepository.class);
+        ids = ContextoBenchmark.popular(contexto.getBean(TipoQuartoService.class), registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(3)
+    public Optional<TipoQuarto> findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(1)
+    public List<TipoQuarto> paginaPorNome() {
+        int indice = ThreadLocalRandom.current().nextInt(ids.size());
+        return repository.findAtivosAposNome("Quarto " + indice, 0L, 50);
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(1)
+    public int atualizar() {
+        int indice = ThreadLocalRandom.current().nextInt(ids.size());
+        var tipoQuarto = TipoQuarto.builder()
+                .id(ids.get(indice))
+                .nome("Quarto " + indice) // Mesmo nome: não esbarra no índice único
+                .descricao("Atualizado")
+                .capacidadeMaxima(2)
+                .tarifaPadrao(100.0 + indice % 50)
+                .build();
+        return repository.atualizar(tipoQuarto);
+    }
+}
@@ -0,0 +1,82 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.trabalho.crud.core.service.TabelaTarifas;
+
+/**
+ * Vazão e alocação (veja gc.alloc.rate.norm) da cotação de uma estadia: a {@link TabelaTarifas}
+ * em centavos contra o cálculo "ingênuo" com Double, LocalDate por noite e as mesmas regras
+ * avaliadas a cada noite.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TarifaBenchmark {
+
+    private static final LocalDate ENTRADA = LocalDate.of(2026, 12, 15);
+
+    @Param({"3", "7", "30"})
+    public int diarias;
+
+    private TabelaTarifas tabela;
+    private long entrada;
+    private long saida;
+    private long[] porNoite;
+    private Double tarifa;
+    private long tarifaCentavos;
+
+    @Setup
+    public void iniciar() {
+        tabela = new TabelaTarifas(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), 2000,
+                TabelaTarifas.temporadas("12-20..01-05=40, 07-01..07-31=25"),
+                TabelaTarifas.descontosEstadia("7=10, 14=15"));
+        entrada = ENTRADA.toEpochDay();
+        saida = entrada + diarias;
+        porNoite = new long[diarias];
+        tarifa = 349.9;
+        tarifaCentavos = TabelaTarifas.centavos(tarifa);
+    }
+
+    @Benchmark
+    public long cotar() {
+        return tabela.cotar(tarifaCentavos, entrada, saida, porNoite);
+    }
+
+    @Benchmark
+    public long cotarSoTotal() {
+        return tabela.cotar(tarifaCentavos, entrada, saida, null);
+    }
+
+    @Benchmark
+    public Double comDouble() {
+        Double desconto = diarias >= 14 ? 0.15 : diarias >= 7 ? 0.10 : 0.0;
+        Double total = 0.0;
+        for (LocalDate dia = ENTRADA; dia.isBefore(ENTRADA.plusDays(diarias)); dia = dia.plusDays(1)) {
+            Double fator = 1.0;
+            if (dia.getDayOfWeek() == DayOfWeek.FRIDAY || dia.getDayOfWeek() == DayOfWeek.SATURDAY) {
+                fator += 0.20;
+            }
+            int mesDia = dia.getMonthValue() * 100 + dia.getDayOfMonth();
+            if (mesDia >= 1220 || mesDia <= 105) {
+                fator += 0.40;
+            } else if (mesDia >= 701 && mesDia <= 731) {
+                fator += 0.25;
+            }
+            total += tarifa * fator * (1 - desconto);
+        }
+        return total;
+    }
+}
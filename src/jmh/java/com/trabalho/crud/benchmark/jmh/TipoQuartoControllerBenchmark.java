@@ -0,0 +1,73 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Caminho completo de uma requisição ao TipoQuartoController via MockMvc
+ * (filtros, DispatcherServlet, conversão JSON, service e repositório em memória).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TipoQuartoControllerBenchmark {
+
+    @Param({"100"})
+    public int registros;
+
+    private ConfigurableApplicationContext contexto;
+    private MockMvc mockMvc;
+    private List<Long> ids;
+    private long contador;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(ContextoBenchmark.TESTE, WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build();
+        ids = ContextoBenchmark.popular(contexto.getBean(TipoQuartoService.class), registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public MvcResult getAll() throws Exception {
+        return mockMvc.perform(get("/tipos-quarto")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getById() throws Exception {
+        return mockMvc.perform(get("/tipos-quarto/{id}", ids.get((int) (contador++ % ids.size())))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult create() throws Exception {
+        String corpo = "{\"nome\":\"Novo " + contador++ + "\",\"descricao\":\"Quarto novo\",\"capacidadeMaxima\":2,\"tarifaPadrao\":150.0}";
+        return mockMvc.perform(post("/tipos-quarto").contentType(MediaType.APPLICATION_JSON).content(corpo)).andReturn();
+    }
+}
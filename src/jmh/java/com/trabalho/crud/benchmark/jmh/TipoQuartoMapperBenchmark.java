@@ -0,0 +1,56 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.mapper.TipoQuartoMapper;
+import com.trabalho.crud.core.mapper.TipoQuartoMapperImpl;
+
+/**
+ * Vazão e alocação (veja gc.alloc.rate.norm) do mapeamento entidade <-> DTO gerado pelo MapStruct.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TipoQuartoMapperBenchmark {
+
+    private TipoQuartoMapper mapper;
+    private TipoQuarto entity;
+    private TipoQuartoDto dto;
+
+    @Setup
+    public void iniciar() {
+        mapper = new TipoQuartoMapperImpl();
+        entity = TipoQuarto.builder()
+                .id(42L)
+                .nome("Suíte Master")
+                .descricao("Suíte com varanda e banheira")
+                .capacidadeMaxima(3)
+                .tarifaPadrao(780.0)
+                .ativo(true)
+                .dataCriacao(LocalDateTime.now())
+                .dataAtualizacao(LocalDateTime.now())
+                .build();
+        dto = mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public TipoQuartoDto toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public TipoQuarto toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
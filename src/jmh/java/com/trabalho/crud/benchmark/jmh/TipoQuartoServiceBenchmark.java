@@ -0,0 +1,75 @@
+package com.trabalho.crud.benchmark.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * findAll/save/update da service contra o repositório do profile "test", o do profile "memoria"
+ * (com diário em disco) e o JPA sobre H2 em arquivo, com e sem o MetricasAspect (custo da instrumentação).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TipoQuartoServiceBenchmark {
+
+    @Param({ContextoBenchmark.TESTE, ContextoBenchmark.MEMORIA, ContextoBenchmark.H2})
+    public String repositorio;
+
+    @Param({"1000"})
+    public int registros;
+
+    @Param({"true", "false"})
+    public boolean metricas;
+
+    private ConfigurableApplicationContext contexto;
+    private TipoQuartoService service;
+    private List<Long> ids;
+    private long contador;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(repositorio, WebApplicationType.NONE,
+                "--hotel.metricas.habilitado=" + metricas);
+        service = contexto.getBean(TipoQuartoService.class);
+        ids = ContextoBenchmark.popular(service, registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<TipoQuartoDto> findAll() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public TipoQuartoDto save() {
+        return service.save(ContextoBenchmark.dto("Novo " + contador++));
+    }
+
+    @Benchmark
+    public TipoQuartoDto update() {
+        int indice = (int) (contador++ % ids.size());
+        TipoQuartoDto dto = ContextoBenchmark.dto("Quarto " + indice);
+        dto.setTarifaPadrao(100.0 + (contador % 50));
+        return service.update(ids.get(indice), dto);
+    }
+}
@@ -2,12 +2,18 @@ package com.trabalho.crud;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class CrudApplication {
 
+	// Passos da subida guardados para o RelatorioInicializacao e o /actuator/startup
+	private static final int PASSOS_INICIALIZACAO = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(CrudApplication.class, args);
+		var aplicacao = new SpringApplication(CrudApplication.class);
+		aplicacao.setApplicationStartup(new BufferingApplicationStartup(PASSOS_INICIALIZACAO));
+		aplicacao.run(args);
 	}
 
 }
@@ -0,0 +1,30 @@
+package com.trabalho.crud.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+@Configuration
+@ConditionalOnProperty(name = "hotel.cache.tipo-quarto.habilitado", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    /**
+     * Envolve o repositório real (JPA ou memória, conforme o profile) com o cache.
+     * Por ser @Primary, é ele que a service recebe; o Spring não injeta o bean nele mesmo.
+     */
+    @Bean
+    @Primary
+    public CacheTipoQuartoRepository cacheTipoQuartoRepository(
+            TipoQuartoRepository delegate,
+            @Value("${hotel.cache.tipo-quarto.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${hotel.cache.tipo-quarto.ttl:10m}") Duration ttl) {
+        return new CacheTipoQuartoRepository(delegate, tamanhoMaximo, ttl);
+    }
+}
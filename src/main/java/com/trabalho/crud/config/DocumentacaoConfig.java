@@ -0,0 +1,49 @@
+package com.trabalho.crud.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "hotel.documentacao.preguicosa", havingValue = "true", matchIfMissing = true)
+public class DocumentacaoConfig {
+
+    private static final String PACOTE_SPRINGDOC = "org.springdoc.";
+
+    // A tela do Swagger monta seus resource handlers na subida, com a versão do webjar que o
+    // SpringDocUIConfiguration grava nas propriedades: lazy, o /swagger-ui/index.html some
+    private static final List<String> SEMPRE_NA_SUBIDA = List.of(
+            "org.springdoc.webmvc.ui.",
+            "org.springdoc.core.properties.",
+            "org.springdoc.core.configuration.SpringDocUIConfiguration");
+
+    /**
+     * Marca como lazy os beans do springdoc que geram o OpenAPI (inclusive o leitor de Javadoc do
+     * therapi): a subida não os cria, e o custo vai para a primeira chamada a /v3/api-docs.
+     * Os que outro bean pede na subida continuam sendo criados nela.
+     *
+     * Estático para rodar antes dos demais beans, sem instanciar esta configuração.
+     */
+    @Bean
+    static BeanFactoryPostProcessor springdocPreguicoso() {
+        return fabrica -> {
+            for (String nome : fabrica.getBeanDefinitionNames()) {
+                BeanDefinition definicao = fabrica.getBeanDefinition(nome);
+                String origem = definicao.getBeanClassName();
+                // Beans de métodos @Bean não têm classe própria: vale a da configuração que os declara
+                if (origem == null && definicao.getFactoryBeanName() != null
+                        && fabrica.containsBeanDefinition(definicao.getFactoryBeanName())) {
+                    origem = fabrica.getBeanDefinition(definicao.getFactoryBeanName()).getBeanClassName();
+                }
+                if (origem != null && origem.startsWith(PACOTE_SPRINGDOC)
+                        && SEMPRE_NA_SUBIDA.stream().noneMatch(origem::startsWith)) {
+                    definicao.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
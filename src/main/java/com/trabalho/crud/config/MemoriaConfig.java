@@ -0,0 +1,75 @@
+package com.trabalho.crud.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Profile "memoria": o repositório em memória substitui o JPA e não há DataSource
+ * (ver application-memoria.yaml).
+ */
+@Configuration
+@Profile("memoria")
+public class MemoriaConfig {
+
+    /**
+     * Os métodos @Transactional da service continuam precisando de um gerenciador de transação.
+     * Este não tem o que confirmar nem desfazer (cada chamada ao repositório em memória já é atômica),
+     * mas demarca a transação para que os callbacks de sincronização (ex.: invalidação do cache) rodem.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new TransacaoMemoriaManager();
+    }
+
+    static class TransacaoMemoriaManager extends AbstractPlatformTransactionManager {
+
+        private record Transacao(boolean existente) {
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Transacao(TransactionSynchronizationManager.hasResource(this));
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Transacao) transaction).existente();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return TransactionSynchronizationManager.unbindResource(this);
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            TransactionSynchronizationManager.bindResource(this, suspendedResources);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nada a confirmar
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Nada a desfazer
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.trabalho.crud.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Detecta virtual threads "presas" (pinned) à thread do SO: bloqueio dentro de um bloco synchronized
+ * (comum em drivers JDBC, no H2 e no pool) ou em código nativo. Enquanto presa, a virtual thread
+ * segura a carrier thread e as demais esperam, como se fossem threads de plataforma.
+ *
+ * Escuta o evento jdk.VirtualThreadPinned do JFR, loga as primeiras linhas da pilha e conta em
+ * hotel.virtual_threads.pinned. Para a pilha completa no stdout, rodar com -Djdk.tracePinnedThreads=full.
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.virtual.detectar-pinning", havingValue = "true")
+public class MonitorPinning {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitorPinning.class);
+    private static final int FRAMES_NO_LOG = 8;
+
+    private final RecordingStream stream;
+    private final Counter pinned;
+
+    public MonitorPinning(
+            @Value("${hotel.virtual.pinning-minimo:20ms}") Duration minimo,
+            MeterRegistry registry) {
+        this.pinned = registry.counter("hotel.virtual_threads.pinned");
+        this.stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(minimo).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        pinned.increment();
+        if (LOGGER.isWarnEnabled()) {
+            String pilha = evento.getStackTrace() == null ? "(sem pilha)"
+                    : evento.getStackTrace().getFrames().stream()
+                            .limit(FRAMES_NO_LOG)
+                            .map(MonitorPinning::formatar)
+                            .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+            LOGGER.warn("Virtual thread presa à carrier por {} ms{}", evento.getDuration().toMillis(), pilha);
+        }
+    }
+
+    private static String formatar(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        stream.close();
+    }
+}
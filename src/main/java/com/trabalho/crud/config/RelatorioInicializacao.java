@@ -0,0 +1,104 @@
+package com.trabalho.crud.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ao fim da subida, loga onde o tempo foi gasto: as fases do Spring Boot e os beans que mais
+ * demoraram para ser criados. O tempo de cada bean é o "próprio", sem o das dependências criadas
+ * dentro dele (senão o primeiro bean da cadeia levaria a culpa de todos).
+ *
+ * Depende da BufferingApplicationStartup instalada no CrudApplication.main; nos testes (sem o main)
+ * não há linha do tempo e nada é logado. A linha do tempo completa fica em GET /actuator/startup.
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.inicializacao.relatorio", havingValue = "true", matchIfMissing = true)
+public class RelatorioInicializacao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelatorioInicializacao.class);
+
+    private static final String INSTANCIAR_BEAN = "spring.beans.instantiate";
+    private static final List<String> FASES = List.of(
+            "spring.boot.application.starting",
+            "spring.boot.application.environment-prepared",
+            "spring.boot.application.context-prepared",
+            "spring.boot.application.context-loaded",
+            "spring.context.beans.post-process",
+            "spring.context.refresh",
+            "spring.boot.application.started",
+            "spring.boot.application.ready");
+
+    private final int maisLentos;
+
+    public RelatorioInicializacao(@Value("${hotel.inicializacao.beans-no-relatorio:15}") int maisLentos) {
+        this.maisLentos = maisLentos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void relatar(ApplicationReadyEvent evento) {
+        if (!(evento.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup buffer)
+                || !LOGGER.isInfoEnabled()) {
+            return;
+        }
+        var linhaDoTempo = buffer.getBufferedTimeline();
+        List<TimelineEvent> passos = linhaDoTempo.getEvents();
+
+        // Tempo próprio = duração do passo menos a dos filhos diretos
+        Map<Long, Duration> filhos = new HashMap<>();
+        for (TimelineEvent passo : passos) {
+            Long pai = passo.getStartupStep().getParentId();
+            if (pai != null) {
+                filhos.merge(pai, passo.getDuration(), Duration::plus);
+            }
+        }
+
+        var relatorio = new StringBuilder("Linha do tempo da subida (")
+                .append(Duration.between(linhaDoTempo.getStartTime(), Instant.now()).toMillis())
+                .append(" ms desde o início do SpringApplication.run)\n  Fases:");
+        for (String fase : FASES) {
+            Duration total = passos.stream()
+                    .filter(passo -> passo.getStartupStep().getName().equals(fase))
+                    .map(TimelineEvent::getDuration)
+                    .reduce(Duration.ZERO, Duration::plus);
+            relatorio.append(String.format("%n    %-48s %7d ms", fase, total.toMillis()));
+        }
+
+        relatorio.append("\n  Beans mais lentos (tempo próprio):");
+        passos.stream()
+                .filter(passo -> passo.getStartupStep().getName().equals(INSTANCIAR_BEAN))
+                .sorted(Comparator.comparing((TimelineEvent passo) -> proprio(passo, filhos)).reversed())
+                .limit(maisLentos)
+                .forEach(passo -> relatorio.append(String.format("%n    %-48s %7d ms (com dependências: %d ms)",
+                        tag(passo.getStartupStep(), "beanName"), proprio(passo, filhos).toMillis(),
+                        passo.getDuration().toMillis())));
+        LOGGER.info("{}", relatorio);
+    }
+
+    private static Duration proprio(TimelineEvent passo, Map<Long, Duration> filhos) {
+        return passo.getDuration().minus(filhos.getOrDefault(passo.getStartupStep().getId(), Duration.ZERO));
+    }
+
+    private static String tag(StartupStep passo, String chave) {
+        return StreamSupport.stream(passo.getTags().spliterator(), false)
+                .filter(tag -> tag.getKey().equals(chave))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -1,9 +1,15 @@
 package com.trabalho.crud.config;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.trabalho.crud.inbound.cache.RespostaCodificadaConverter;
+import com.trabalho.crud.inbound.formato.ColunarTipoQuartoConverter;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -12,6 +18,15 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**") // Permite CORS para todos os endpoints (ex: /tipos-quarto)
                 .allowedOrigins("*")     // Permite de qualquer origem (ex: file://, localhost:3000, etc)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Permite estes métodos HTTP
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders("ETag");   // Para clientes no navegador guardarem a versão e mandarem If-None-Match
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Antes do Jackson: a lista de tipos de quarto em cache já sai codificada
+        converters.add(0, new RespostaCodificadaConverter());
+        // CBOR e Smile o Spring já registra (módulos Jackson no classpath); o colunar é nosso
+        converters.add(new ColunarTipoQuartoConverter());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.trabalho.crud.core.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Um tipo de quarto no feed de alterações: inclui os inativados (ativo = false),
+ * para que as réplicas saibam o que remover, e a data da alteração.
+ */
+public class AlteracaoTipoQuartoDto {
+
+    private Long id;
+    private String nome;
+    private String descricao;
+    private Integer capacidadeMaxima;
+    private Double tarifaPadrao;
+    private boolean ativo;
+    private LocalDateTime dataAtualizacao;
+
+    public AlteracaoTipoQuartoDto() {
+    }
+
+    /**
+     * Usado pela projeção da consulta de alterações (select new ...).
+     */
+    public AlteracaoTipoQuartoDto(Long id, String nome, String descricao, Integer capacidadeMaxima, Double tarifaPadrao,
+            boolean ativo, LocalDateTime dataAtualizacao) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.capacidadeMaxima = capacidadeMaxima;
+        this.tarifaPadrao = tarifaPadrao;
+        this.ativo = ativo;
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Integer getCapacidadeMaxima() {
+        return capacidadeMaxima;
+    }
+
+    public void setCapacidadeMaxima(Integer capacidadeMaxima) {
+        this.capacidadeMaxima = capacidadeMaxima;
+    }
+
+    public Double getTarifaPadrao() {
+        return tarifaPadrao;
+    }
+
+    public void setTarifaPadrao(Double tarifaPadrao) {
+        this.tarifaPadrao = tarifaPadrao;
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+}
@@ -0,0 +1,47 @@
+package com.trabalho.crud.core.dto;
+
+import java.util.List;
+
+/**
+ * Página do feed de alterações. O cursor sempre vem preenchido (mesmo sem itens):
+ * é a marca d'água que a réplica guarda e manda de volta em {@code since} na próxima consulta.
+ */
+public class AlteracoesDto {
+
+    private List<AlteracaoTipoQuartoDto> itens;
+    private String cursor;
+    private boolean temMais;
+
+    public AlteracoesDto() {
+    }
+
+    public AlteracoesDto(List<AlteracaoTipoQuartoDto> itens, String cursor, boolean temMais) {
+        this.itens = itens;
+        this.cursor = cursor;
+        this.temMais = temMais;
+    }
+
+    public List<AlteracaoTipoQuartoDto> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<AlteracaoTipoQuartoDto> itens) {
+        this.itens = itens;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    public void setTemMais(boolean temMais) {
+        this.temMais = temMais;
+    }
+}
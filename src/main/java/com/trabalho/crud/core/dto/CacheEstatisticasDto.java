@@ -0,0 +1,50 @@
+package com.trabalho.crud.core.dto;
+
+public class CacheEstatisticasDto {
+
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private long despejos;
+    private double taxaAcerto;
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getDespejos() {
+        return despejos;
+    }
+
+    public void setDespejos(long despejos) {
+        this.despejos = despejos;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+}
@@ -0,0 +1,119 @@
+package com.trabalho.crud.core.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class CotacaoDto {
+
+    private Long tipoQuartoId;
+    private LocalDate entrada;
+    @Schema(description = "Dia da saída (exclusivo): a diária desse dia não faz parte da estadia")
+    private LocalDate saida;
+    private int diarias;
+    private BigDecimal tarifaPadrao;
+    @Schema(description = "Desconto por tamanho da estadia, em %, já aplicado ao valor de cada noite")
+    private BigDecimal descontoEstadia;
+    private List<Noite> noites;
+    @Schema(description = "Soma exata dos valores das noites")
+    private BigDecimal total;
+
+    public CotacaoDto() {
+    }
+
+    public static class Noite {
+
+        private LocalDate data;
+        private BigDecimal valor;
+
+        public Noite() {
+        }
+
+        public Noite(LocalDate data, BigDecimal valor) {
+            this.data = data;
+            this.valor = valor;
+        }
+
+        public LocalDate getData() {
+            return data;
+        }
+
+        public void setData(LocalDate data) {
+            this.data = data;
+        }
+
+        public BigDecimal getValor() {
+            return valor;
+        }
+
+        public void setValor(BigDecimal valor) {
+            this.valor = valor;
+        }
+    }
+
+    public Long getTipoQuartoId() {
+        return tipoQuartoId;
+    }
+
+    public void setTipoQuartoId(Long tipoQuartoId) {
+        this.tipoQuartoId = tipoQuartoId;
+    }
+
+    public LocalDate getEntrada() {
+        return entrada;
+    }
+
+    public void setEntrada(LocalDate entrada) {
+        this.entrada = entrada;
+    }
+
+    public LocalDate getSaida() {
+        return saida;
+    }
+
+    public void setSaida(LocalDate saida) {
+        this.saida = saida;
+    }
+
+    public int getDiarias() {
+        return diarias;
+    }
+
+    public void setDiarias(int diarias) {
+        this.diarias = diarias;
+    }
+
+    public BigDecimal getTarifaPadrao() {
+        return tarifaPadrao;
+    }
+
+    public void setTarifaPadrao(BigDecimal tarifaPadrao) {
+        this.tarifaPadrao = tarifaPadrao;
+    }
+
+    public BigDecimal getDescontoEstadia() {
+        return descontoEstadia;
+    }
+
+    public void setDescontoEstadia(BigDecimal descontoEstadia) {
+        this.descontoEstadia = descontoEstadia;
+    }
+
+    public List<Noite> getNoites() {
+        return noites;
+    }
+
+    public void setNoites(List<Noite> noites) {
+        this.noites = noites;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
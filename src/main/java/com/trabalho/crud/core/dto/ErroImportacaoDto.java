@@ -0,0 +1,31 @@
+package com.trabalho.crud.core.dto;
+
+public class ErroImportacaoDto {
+
+    private long linha;
+    private String message;
+
+    public ErroImportacaoDto() {
+    }
+
+    public ErroImportacaoDto(long linha, String message) {
+        this.linha = linha;
+        this.message = message;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public void setLinha(long linha) {
+        this.linha = linha;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,80 @@
+package com.trabalho.crud.core.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImportacaoStatusDto {
+
+    private String id;
+    private String estado;
+    private long lidos;
+    private long gravados;
+    private long rejeitados;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private List<ErroImportacaoDto> erros;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public long getLidos() {
+        return lidos;
+    }
+
+    public void setLidos(long lidos) {
+        this.lidos = lidos;
+    }
+
+    public long getGravados() {
+        return gravados;
+    }
+
+    public void setGravados(long gravados) {
+        this.gravados = gravados;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(long rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public List<ErroImportacaoDto> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroImportacaoDto> erros) {
+        this.erros = erros;
+    }
+}
@@ -0,0 +1,41 @@
+package com.trabalho.crud.core.dto;
+
+public class OperacaoTipoQuartoDto {
+
+    private String operacao;
+    private Long id;
+    private TipoQuartoDto tipoQuarto;
+
+    public OperacaoTipoQuartoDto() {
+    }
+
+    public OperacaoTipoQuartoDto(String operacao, Long id, TipoQuartoDto tipoQuarto) {
+        this.operacao = operacao;
+        this.id = id;
+        this.tipoQuarto = tipoQuarto;
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+
+    public void setOperacao(String operacao) {
+        this.operacao = operacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TipoQuartoDto getTipoQuarto() {
+        return tipoQuarto;
+    }
+
+    public void setTipoQuarto(TipoQuartoDto tipoQuarto) {
+        this.tipoQuarto = tipoQuarto;
+    }
+}
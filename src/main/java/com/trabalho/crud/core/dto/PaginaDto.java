@@ -0,0 +1,33 @@
+package com.trabalho.crud.core.dto;
+
+import java.util.List;
+
+public class PaginaDto<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+
+    public PaginaDto() {
+    }
+
+    public PaginaDto(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
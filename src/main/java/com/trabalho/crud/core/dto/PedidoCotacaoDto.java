@@ -0,0 +1,53 @@
+package com.trabalho.crud.core.dto;
+
+import java.time.LocalDate;
+
+public class PedidoCotacaoDto {
+
+    private Long tipoQuartoId;
+    private LocalDate entrada;
+    private Integer diarias;
+    private Integer hospedes;
+
+    public PedidoCotacaoDto() {
+    }
+
+    public PedidoCotacaoDto(Long tipoQuartoId, LocalDate entrada, Integer diarias, Integer hospedes) {
+        this.tipoQuartoId = tipoQuartoId;
+        this.entrada = entrada;
+        this.diarias = diarias;
+        this.hospedes = hospedes;
+    }
+
+    public Long getTipoQuartoId() {
+        return tipoQuartoId;
+    }
+
+    public void setTipoQuartoId(Long tipoQuartoId) {
+        this.tipoQuartoId = tipoQuartoId;
+    }
+
+    public LocalDate getEntrada() {
+        return entrada;
+    }
+
+    public void setEntrada(LocalDate entrada) {
+        this.entrada = entrada;
+    }
+
+    public Integer getDiarias() {
+        return diarias;
+    }
+
+    public void setDiarias(Integer diarias) {
+        this.diarias = diarias;
+    }
+
+    public Integer getHospedes() {
+        return hospedes;
+    }
+
+    public void setHospedes(Integer hospedes) {
+        this.hospedes = hospedes;
+    }
+}
@@ -0,0 +1,78 @@
+package com.trabalho.crud.core.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class ReservaDto {
+
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+    private Long tipoQuartoId;
+    private LocalDate entrada;
+    @Schema(description = "Dia da saída (exclusivo): a diária desse dia não faz parte da reserva")
+    private LocalDate saida;
+    private Integer hospedes;
+    private String nomeHospede;
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, allowableValues = {"ATIVA", "CANCELADA"})
+    private String status;
+
+    public ReservaDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTipoQuartoId() {
+        return tipoQuartoId;
+    }
+
+    public void setTipoQuartoId(Long tipoQuartoId) {
+        this.tipoQuartoId = tipoQuartoId;
+    }
+
+    public LocalDate getEntrada() {
+        return entrada;
+    }
+
+    public void setEntrada(LocalDate entrada) {
+        this.entrada = entrada;
+    }
+
+    public LocalDate getSaida() {
+        return saida;
+    }
+
+    public void setSaida(LocalDate saida) {
+        this.saida = saida;
+    }
+
+    public Integer getHospedes() {
+        return hospedes;
+    }
+
+    public void setHospedes(Integer hospedes) {
+        this.hospedes = hospedes;
+    }
+
+    public String getNomeHospede() {
+        return nomeHospede;
+    }
+
+    public void setNomeHospede(String nomeHospede) {
+        this.nomeHospede = nomeHospede;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
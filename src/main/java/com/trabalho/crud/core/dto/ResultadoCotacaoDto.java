@@ -0,0 +1,63 @@
+package com.trabalho.crud.core.dto;
+
+import java.math.BigDecimal;
+
+public class ResultadoCotacaoDto {
+
+    private int indice;
+    private Long tipoQuartoId;
+    private BigDecimal total;
+    private String status;
+    private String message;
+
+    public ResultadoCotacaoDto() {
+    }
+
+    public ResultadoCotacaoDto(int indice, Long tipoQuartoId, BigDecimal total, String status, String message) {
+        this.indice = indice;
+        this.tipoQuartoId = tipoQuartoId;
+        this.total = total;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getTipoQuartoId() {
+        return tipoQuartoId;
+    }
+
+    public void setTipoQuartoId(Long tipoQuartoId) {
+        this.tipoQuartoId = tipoQuartoId;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,51 @@
+package com.trabalho.crud.core.dto;
+
+public class ResultadoLoteDto {
+
+    private int indice;
+    private Long id;
+    private String status;
+    private String message;
+
+    public ResultadoLoteDto() {
+    }
+
+    public ResultadoLoteDto(int indice, Long id, String status, String message) {
+        this.indice = indice;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,61 @@
+package com.trabalho.crud.core.dto;
+
+public class ResultadoOperacaoDto {
+
+    private int indice;
+    private Long id;
+    private String status;
+    private String message;
+    private TipoQuartoDto tipoQuarto;
+
+    public ResultadoOperacaoDto() {
+    }
+
+    public ResultadoOperacaoDto(int indice, Long id, String status, String message, TipoQuartoDto tipoQuarto) {
+        this.indice = indice;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.tipoQuarto = tipoQuarto;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public TipoQuartoDto getTipoQuarto() {
+        return tipoQuarto;
+    }
+
+    public void setTipoQuarto(TipoQuartoDto tipoQuarto) {
+        this.tipoQuarto = tipoQuarto;
+    }
+}
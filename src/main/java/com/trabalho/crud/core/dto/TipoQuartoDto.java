@@ -1,5 +1,9 @@
 package com.trabalho.crud.core.dto;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 public class TipoQuartoDto {
@@ -11,6 +15,26 @@ public class TipoQuartoDto {
     private Integer capacidadeMaxima;
     private Double tarifaPadrao;
 
+    // Não sai no JSON: serve de versão da linha (ETag do GET por ID)
+    @JsonIgnore
+    private LocalDateTime dataAtualizacao;
+
+    public TipoQuartoDto() {
+    }
+
+    /**
+     * Usado pelas projeções das consultas de leitura (select new ...), sem passar pela entidade.
+     */
+    public TipoQuartoDto(Long id, String nome, String descricao, Integer capacidadeMaxima, Double tarifaPadrao,
+            LocalDateTime dataAtualizacao) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.capacidadeMaxima = capacidadeMaxima;
+        this.tarifaPadrao = tarifaPadrao;
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
     public Long getId() {
         return id;
     }
@@ -50,4 +74,12 @@ public class TipoQuartoDto {
     public void setTarifaPadrao(Double tarifaPadrao) {
         this.tarifaPadrao = tarifaPadrao;
     }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.trabalho.crud.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de um tipo de quarto para o período [entrada, saida): a saída é exclusiva, então uma
+ * reserva que sai num dia e outra que entra no mesmo dia não se sobrepõem.
+ */
+@Entity
+@Table(name = "RESERVA", indexes = {
+        // Apoia a carga das reservas ativas de um tipo de quarto (AgendaReservas)
+        @Index(name = "IDX_RESERVA_TIPO_STATUS_SAIDA", columnList = "tipoQuartoId, status, saida")
+})
+public class Reserva {
+
+    public enum Status {
+        ATIVA, CANCELADA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserva_seq")
+    @SequenceGenerator(name = "reserva_seq", sequenceName = "RESERVA_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long tipoQuartoId;
+
+    @Column(nullable = false)
+    private LocalDate entrada;
+
+    @Column(nullable = false)
+    private LocalDate saida;
+
+    @Column(nullable = false)
+    private Integer hospedes;
+
+    @Column(nullable = false)
+    private String nomeHospede;
+
+    // Texto no banco (e não o ENUM nativo do H2): novos status não exigem migração
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @CreationTimestamp
+    private LocalDateTime dataCriacao;
+
+    @UpdateTimestamp
+    private LocalDateTime dataAtualizacao;
+
+    public Reserva() {
+    }
+
+    private Reserva(Builder builder) {
+        this.id = builder.id;
+        this.tipoQuartoId = builder.tipoQuartoId;
+        this.entrada = builder.entrada;
+        this.saida = builder.saida;
+        this.hospedes = builder.hospedes;
+        this.nomeHospede = builder.nomeHospede;
+        this.status = builder.status;
+    }
+
+    public boolean isAtiva() {
+        return status == Status.ATIVA;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTipoQuartoId() {
+        return tipoQuartoId;
+    }
+
+    public void setTipoQuartoId(Long tipoQuartoId) {
+        this.tipoQuartoId = tipoQuartoId;
+    }
+
+    public LocalDate getEntrada() {
+        return entrada;
+    }
+
+    public void setEntrada(LocalDate entrada) {
+        this.entrada = entrada;
+    }
+
+    public LocalDate getSaida() {
+        return saida;
+    }
+
+    public void setSaida(LocalDate saida) {
+        this.saida = saida;
+    }
+
+    public Integer getHospedes() {
+        return hospedes;
+    }
+
+    public void setHospedes(Integer hospedes) {
+        this.hospedes = hospedes;
+    }
+
+    public String getNomeHospede() {
+        return nomeHospede;
+    }
+
+    public void setNomeHospede(String nomeHospede) {
+        this.nomeHospede = nomeHospede;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Long id;
+        private Long tipoQuartoId;
+        private LocalDate entrada;
+        private LocalDate saida;
+        private Integer hospedes;
+        private String nomeHospede;
+        private Status status;
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder tipoQuartoId(Long tipoQuartoId) {
+            this.tipoQuartoId = tipoQuartoId;
+            return this;
+        }
+
+        public Builder entrada(LocalDate entrada) {
+            this.entrada = entrada;
+            return this;
+        }
+
+        public Builder saida(LocalDate saida) {
+            this.saida = saida;
+            return this;
+        }
+
+        public Builder hospedes(Integer hospedes) {
+            this.hospedes = hospedes;
+            return this;
+        }
+
+        public Builder nomeHospede(String nomeHospede) {
+            this.nomeHospede = nomeHospede;
+            return this;
+        }
+
+        public Builder status(Status status) {
+            this.status = status;
+            return this;
+        }
+
+        public Reserva build() {
+            return new Reserva(this);
+        }
+    }
+}
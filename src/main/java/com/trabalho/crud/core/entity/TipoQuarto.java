@@ -1,23 +1,53 @@
 package com.trabalho.crud.core.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "TIPO_QUARTO")
+@Table(name = "TIPO_QUARTO", uniqueConstraints = {
+        @UniqueConstraint(name = TipoQuarto.UK_NOME_NORMALIZADO, columnNames = "nome_normalizado")
+}, indexes = {
+        // Apoiam a listagem paginada (keyset) de ativos por ID e por nome
+        @Index(name = "IDX_TIPO_QUARTO_ATIVO_ID", columnList = "ativo, id"),
+        @Index(name = "IDX_TIPO_QUARTO_ATIVO_NOME_ID", columnList = "ativo, nome, id"),
+        // Apoia o feed de alterações (keyset por data de atualização)
+        @Index(name = "IDX_TIPO_QUARTO_ATUALIZACAO_ID", columnList = "dataAtualizacao, id")
+})
 public class TipoQuarto {
 
+    /**
+     * Nome da restrição única sobre o nome normalizado; usado para reconhecer a violação e responder 409.
+     */
+    public static final String UK_NOME_NORMALIZADO = "UK_TIPO_QUARTO_NOME_NORMALIZADO";
+
+    // Compilado uma vez: String.replaceAll compila a regex a cada chamada
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // Sequência com otimizador "pooled": reserva 50 IDs por ida ao banco e permite batch de INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tipo_quarto_seq")
+    @SequenceGenerator(name = "tipo_quarto_seq", sequenceName = "TIPO_QUARTO_SEQ", allocationSize = 50)
     private Long id;
 
     private String nome;
+
+    @Column(name = "nome_normalizado")
+    private String nomeNormalizado;
+
     private String descricao;
     private Integer capacidadeMaxima;
     private Double tarifaPadrao;
@@ -35,6 +65,7 @@ public class TipoQuarto {
     public TipoQuarto(Long id, String nome, String descricao, Integer capacidadeMaxima, Double tarifaPadrao, boolean ativo, LocalDateTime dataCriacao, LocalDateTime dataAtualizacao) {
         this.id = id;
         this.nome = nome;
+        this.nomeNormalizado = normalizarNome(nome);
         this.descricao = descricao;
         this.capacidadeMaxima = capacidadeMaxima;
         this.tarifaPadrao = tarifaPadrao;
@@ -46,6 +77,7 @@ public class TipoQuarto {
     private TipoQuarto(Builder builder) {
         this.id = builder.id;
         this.nome = builder.nome;
+        this.nomeNormalizado = normalizarNome(builder.nome);
         this.descricao = builder.descricao;
         this.capacidadeMaxima = builder.capacidadeMaxima;
         this.tarifaPadrao = builder.tarifaPadrao;
@@ -54,6 +86,22 @@ public class TipoQuarto {
         this.dataAtualizacao = builder.dataAtualizacao;
     }
 
+    /**
+     * Normaliza o nome para a verificação de unicidade: ignora caixa, espaços nas pontas e espaços repetidos.
+     */
+    public static String normalizarNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        return ESPACOS.matcher(nome.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void atualizarNomeNormalizado() {
+        this.nomeNormalizado = normalizarNome(this.nome);
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -69,6 +117,11 @@ public class TipoQuarto {
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeNormalizado = normalizarNome(nome);
+    }
+
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
     }
 
     public String getDescricao() {
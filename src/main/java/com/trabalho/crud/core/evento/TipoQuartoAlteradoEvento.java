@@ -0,0 +1,31 @@
+package com.trabalho.crud.core.evento;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Publicado pela {@link com.trabalho.crud.core.service.TipoQuartoService} a cada criação, alteração
+ * ou inativação. Quem escuta deve usar @TransactionalEventListener (fase AFTER_COMMIT): assim o evento
+ * só sai depois do commit e nunca anuncia uma gravação que sofreu rollback.
+ */
+public class TipoQuartoAlteradoEvento {
+
+    public enum Tipo {
+        CRIADO, ALTERADO, INATIVADO
+    }
+
+    private final Tipo tipo;
+    private final TipoQuartoDto tipoQuarto;
+
+    public TipoQuartoAlteradoEvento(Tipo tipo, TipoQuartoDto tipoQuarto) {
+        this.tipo = tipo;
+        this.tipoQuarto = tipoQuarto;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public TipoQuartoDto getTipoQuarto() {
+        return tipoQuarto;
+    }
+}
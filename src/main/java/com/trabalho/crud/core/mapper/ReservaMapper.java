@@ -0,0 +1,18 @@
+package com.trabalho.crud.core.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.entity.Reserva;
+
+@Mapper(componentModel = "spring")
+public interface ReservaMapper {
+
+    // ID e status são definidos pela service, nunca pelo cliente
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    Reserva toEntity(ReservaDto dto);
+
+    ReservaDto toDto(Reserva entity);
+
+}
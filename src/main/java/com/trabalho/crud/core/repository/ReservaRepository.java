@@ -0,0 +1,26 @@
+package com.trabalho.crud.core.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.trabalho.crud.core.entity.Reserva;
+
+public interface ReservaRepository {
+
+    Optional<Reserva> findById(Long id);
+
+    /**
+     * Reservas ATIVAS do tipo de quarto que terminam depois de {@code saidaApos}, ordenadas pela entrada.
+     * É a carga da agenda do tipo de quarto (AgendaReservas); reservas já encerradas ficam de fora.
+     */
+    List<Reserva> findAtivasPorTipoQuarto(Long tipoQuartoId, LocalDate saidaApos);
+
+    /**
+     * Reservas ATIVAS de todos os tipos de quarto que terminam depois de {@code saidaApos}.
+     * É a carga do calendário de disponibilidade (DisponibilidadeService).
+     */
+    List<Reserva> findAtivas(LocalDate saidaApos);
+
+    Reserva save(Reserva reserva);
+}
@@ -1,19 +1,89 @@
 package com.trabalho.crud.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.entity.TipoQuarto;
 
 public interface TipoQuartoRepository {
 
     List<TipoQuarto> findAll();
 
+    /**
+     * Retorna apenas os tipos de quarto ativos, ordenados por ID (filtro feito no banco).
+     */
+    List<TipoQuarto> findByAtivoTrueOrderByIdAsc();
+
+    /**
+     * Página (keyset) de tipos de quarto ativos com ID maior que {@code ultimoId}, ordenados por ID.
+     */
+    List<TipoQuarto> findAtivosAposId(Long ultimoId, int limite);
+
+    /**
+     * Página (keyset) de tipos de quarto ativos posteriores ao par ({@code ultimoNome}, {@code ultimoId}),
+     * ordenados por nome e, em caso de empate, por ID.
+     */
+    List<TipoQuarto> findAtivosAposNome(String ultimoNome, Long ultimoId, int limite);
+
+    /**
+     * Percorre os tipos de quarto ativos, ordenados por ID, sem materializar a lista.
+     * Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+     * As entidades entregues já estão desanexadas e não acumulam no contexto de persistência.
+     */
+    Stream<TipoQuarto> streamAtivos();
+
     Optional<TipoQuarto> findById(Long id);
 
+    /**
+     * Lado de leitura: os tipos de quarto ativos, ordenados por ID, já como DTO
+     * (projeção direto da consulta, sem entidades gerenciadas).
+     */
+    List<TipoQuartoDto> findAtivosDto();
+
+    /**
+     * Lado de leitura: o tipo de quarto com o ID informado (ativo ou não), já como DTO.
+     * O decorador com cache atende pela entidade cacheada e, na falha, carrega a entidade.
+     */
+    Optional<TipoQuartoDto> findDtoById(Long id);
+
+    /**
+     * Feed de alterações (keyset): tipos de quarto, ativos ou não, alterados depois do par
+     * ({@code ultimaData}, {@code ultimoId}) e antes de {@code ate}, ordenados por data de atualização e ID.
+     */
+    List<AlteracaoTipoQuartoDto> findAlteracoes(LocalDateTime ultimaData, Long ultimoId, LocalDateTime ate, int limite);
+
     Optional<TipoQuarto> findByNome(String nome);
 
+    /**
+     * Busca em uma única consulta (IN) os tipos de quarto com os IDs informados.
+     */
+    List<TipoQuarto> findAllById(Iterable<Long> ids);
+
+    /**
+     * Busca em uma única consulta (IN) os tipos de quarto cujo nome normalizado está na coleção.
+     */
+    List<TipoQuarto> findByNomeNormalizadoIn(Collection<String> nomesNormalizados);
+
     TipoQuarto save(TipoQuarto tipoQuarto);
 
+    /**
+     * Salva vários tipos de quarto e sincroniza com o banco na hora (flush);
+     * no JPA, os INSERTs/UPDATEs vão em batch JDBC.
+     */
+    <S extends TipoQuarto> List<S> saveAllAndFlush(Iterable<S> tiposQuarto);
+
+    /**
+     * Atualiza direto no banco (um único UPDATE, sem carregar a entidade) os campos editáveis:
+     * nome, descrição, capacidade máxima e tarifa padrão.
+     * A data de atualização gravada também é posta em {@code tipoQuarto}, para quem responde com ela.
+     * Retorna a quantidade de registros afetados (0 quando o ID não existe).
+     */
+    int atualizar(TipoQuarto tipoQuarto);
+
     void deleteById(Long id);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package com.trabalho.crud.core.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.repository.ReservaRepository;
+
+/**
+ * Agenda em memória das reservas ativas de cada tipo de quarto, para que a verificação de
+ * sobreposição e a de "tem reservas ativas" não façam uma consulta por intervalo a cada requisição.
+ *
+ * Cada tipo de quarto é uma unidade reservável: duas reservas ativas do mesmo tipo nunca se
+ * sobrepõem. Por isso os intervalos de uma agenda são disjuntos e basta um mapa ordenado pela
+ * entrada (uma árvore de intervalos degenerada): o único candidato a conflito com [entrada, saida)
+ * é o último intervalo que começa antes da saída, achado em O(log n); e o último intervalo da
+ * agenda é o que termina mais tarde, o que responde "tem reservas ativas" também em O(log n).
+ *
+ * A agenda de um tipo é carregada do repositório no primeiro uso e, dali em diante, atualizada
+ * por quem grava: toda reserva, cancelamento ou inativação do tipo acontece dentro de
+ * {@link #travado(Long, Supplier)}, que serializa as escritas do tipo, e a agenda só muda depois
+ * que a gravação deu certo. Leituras não usam o lock.
+ *
+ * Vale para uma instância da aplicação: com várias instâncias gravando no mesmo banco, cada uma
+ * teria a sua agenda e a verificação deixaria de ser suficiente.
+ */
+@Component
+public class AgendaReservas {
+
+    /**
+     * Reserva ativa na agenda, em dias (LocalDate.toEpochDay) e com a saída exclusiva.
+     */
+    private record Intervalo(long entrada, long saida, long reservaId) {
+    }
+
+    private final class Agenda {
+
+        private final ReentrantLock escrita = new ReentrantLock();
+        private final ConcurrentSkipListMap<Long, Intervalo> porEntrada = new ConcurrentSkipListMap<>();
+        private volatile boolean carregada;
+        // Inativação do tipo ainda não confirmada (transação aberta): já bloqueia novas reservas
+        private volatile boolean inativando;
+
+        private void carregar(Long tipoQuartoId) {
+            if (carregada) {
+                return;
+            }
+            escrita.lock();
+            try {
+                if (!carregada) {
+                    for (Reserva reserva : repository.findAtivasPorTipoQuarto(tipoQuartoId, LocalDate.now())) {
+                        this.adicionar(reserva);
+                    }
+                    carregada = true;
+                }
+            } finally {
+                escrita.unlock();
+            }
+        }
+
+        private void adicionar(Reserva reserva) {
+            long entrada = reserva.getEntrada().toEpochDay();
+            porEntrada.put(entrada, new Intervalo(entrada, reserva.getSaida().toEpochDay(), reserva.getId()));
+        }
+
+        private OptionalLong conflito(long entrada, long saida) {
+            Map.Entry<Long, Intervalo> anterior = porEntrada.lowerEntry(saida);
+            if (anterior != null && anterior.getValue().saida() > entrada) {
+                return OptionalLong.of(anterior.getValue().reservaId());
+            }
+            return OptionalLong.empty();
+        }
+
+        private boolean temAtivas(long hoje) {
+            Map.Entry<Long, Intervalo> ultima = porEntrada.lastEntry();
+            return ultima != null && ultima.getValue().saida() > hoje;
+        }
+    }
+
+    private final ReservaRepository repository;
+    private final ConcurrentHashMap<Long, Agenda> agendas = new ConcurrentHashMap<>();
+
+    public AgendaReservas(ReservaRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Executa a ação com as escritas do tipo de quarto serializadas. A ação deve gravar (e confirmar)
+     * antes de retornar, e só então atualizar a agenda: quem entra em seguida já vê o resultado.
+     */
+    public <T> T travado(Long tipoQuartoId, Supplier<T> acao) {
+        Agenda agenda = this.agenda(tipoQuartoId);
+        agenda.escrita.lock();
+        try {
+            return acao.get();
+        } finally {
+            agenda.escrita.unlock();
+        }
+    }
+
+    /**
+     * ID de uma reserva ativa do tipo de quarto que se sobrepõe a [entrada, saida), se houver.
+     */
+    public OptionalLong conflito(Long tipoQuartoId, LocalDate entrada, LocalDate saida) {
+        return this.agenda(tipoQuartoId).conflito(entrada.toEpochDay(), saida.toEpochDay());
+    }
+
+    /**
+     * Se o tipo de quarto tem alguma reserva ativa em andamento ou futura.
+     */
+    public boolean temReservasAtivas(Long tipoQuartoId) {
+        return this.agenda(tipoQuartoId).temAtivas(LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Se o tipo de quarto está sendo inativado por uma transação ainda não confirmada.
+     */
+    public boolean inativando(Long tipoQuartoId) {
+        return this.agenda(tipoQuartoId).inativando;
+    }
+
+    /**
+     * Registra uma reserva ativa já gravada. Chamar dentro de {@link #travado(Long, Supplier)}.
+     */
+    public void registrar(Reserva reserva) {
+        this.agenda(reserva.getTipoQuartoId()).adicionar(reserva);
+    }
+
+    /**
+     * Retira uma reserva cancelada. Chamar dentro de {@link #travado(Long, Supplier)}.
+     */
+    public void remover(Reserva reserva) {
+        this.agenda(reserva.getTipoQuartoId()).porEntrada
+                .remove(reserva.getEntrada().toEpochDay(), new Intervalo(reserva.getEntrada().toEpochDay(),
+                        reserva.getSaida().toEpochDay(), reserva.getId()));
+    }
+
+    /**
+     * Marca o tipo de quarto como inativado. Dentro de uma transação, a marca bloqueia novas
+     * reservas até o fim dela e é desfeita se houver rollback; depois do commit o próprio
+     * tipo de quarto já consta como inativo. Chamar dentro de {@link #travado(Long, Supplier)}.
+     */
+    public void marcarInativacao(Long tipoQuartoId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Agenda agenda = this.agenda(tipoQuartoId);
+        agenda.inativando = true;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                agenda.inativando = false;
+            }
+        });
+    }
+
+    /**
+     * Descarta as agendas; cada uma é recarregada do repositório no próximo uso.
+     * Visível só no pacote: serve aos testes, que trocam o repositório por baixo da agenda.
+     */
+    void limpar() {
+        agendas.clear();
+    }
+
+    private Agenda agenda(Long tipoQuartoId) {
+        Agenda agenda = agendas.computeIfAbsent(tipoQuartoId, id -> new Agenda());
+        agenda.carregar(tipoQuartoId);
+        return agenda;
+    }
+}
@@ -0,0 +1,248 @@
+package com.trabalho.crud.core.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Ocupação diária dos tipos de quarto ativos num horizonte fixo de dias, em bitsets: cada tipo ganha
+ * uma posição (bit) e cada palavra de 64 bits guarda 64 tipos num mesmo dia. "Quais tipos estão livres
+ * em todos os dias de [entrada, saida) e comportam N hóspedes" vira um AND/ANDNOT por palavra, sem
+ * percorrer reserva nenhuma: com 5 mil tipos são 79 palavras por dia.
+ *
+ * As palavras de um mesmo grupo de 64 tipos ficam contíguas ao longo dos dias (índice palavra *
+ * horizonte + dia), então a busca percorre os dias de uma estadia em sequência na memória e abandona
+ * o grupo assim que nenhum tipo dele sobra. A capacidade também é um bitset por número de hóspedes
+ * (até {@link #CAPACIDADE_INDEXADA}): acima disso, os que sobram são conferidos um a um.
+ *
+ * O dia 0 é a {@link #origem()}; o calendário não anda sozinho: quem usa troca por um novo quando o
+ * dia vira (ver {@link DisponibilidadeService}). Escritas são exclusivas; leituras correm juntas.
+ */
+public class CalendarioDisponibilidade {
+
+    static final int CAPACIDADE_INDEXADA = 16;
+
+    private final long origem;
+    private final int horizonte;
+    private final StampedLock lock = new StampedLock();
+
+    private final Map<Long, Integer> posicaoPorId = new HashMap<>();
+    private final ArrayDeque<Integer> posicoesLivres = new ArrayDeque<>();
+    private int posicoes;
+    private int palavras;
+    private TipoQuartoDto[] tipos = new TipoQuartoDto[0];
+    private int[] capacidades = new int[0];
+    // [palavra * horizonte + dia]: bit ligado = tipo ocupado no dia
+    private long[] ocupados = new long[0];
+    // [palavra * CAPACIDADE_INDEXADA + (hospedes - 1)]: bit ligado = tipo ativo que comporta os hóspedes
+    private long[] comporta = new long[0];
+
+    public CalendarioDisponibilidade(long origem, int horizonte) {
+        if (horizonte <= 0) {
+            throw new IllegalArgumentException("O horizonte deve ter ao menos um dia.");
+        }
+        this.origem = origem;
+        this.horizonte = horizonte;
+    }
+
+    /**
+     * Primeiro dia do calendário (LocalDate.toEpochDay).
+     */
+    public long origem() {
+        return origem;
+    }
+
+    /**
+     * Dia seguinte ao último do calendário (exclusivo).
+     */
+    public long fim() {
+        return origem + horizonte;
+    }
+
+    /**
+     * Inclui um tipo de quarto ativo, ainda sem ocupação (ou atualiza, se já estiver no calendário).
+     */
+    public void incluirTipo(TipoQuartoDto tipo) {
+        long stamp = lock.writeLock();
+        try {
+            Integer posicao = posicaoPorId.get(tipo.getId());
+            if (posicao == null) {
+                posicao = this.alocarPosicao();
+                posicaoPorId.put(tipo.getId(), posicao);
+            }
+            this.definir(posicao, tipo);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atualiza os dados (e a capacidade) de um tipo que já está no calendário. Um tipo fora dele
+     * (inativo) continua fora: alterar um tipo inativo não o reativa.
+     */
+    public void atualizarTipo(TipoQuartoDto tipo) {
+        long stamp = lock.writeLock();
+        try {
+            Integer posicao = posicaoPorId.get(tipo.getId());
+            if (posicao != null) {
+                this.definir(posicao, tipo);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retira o tipo de quarto do calendário; a posição dele é reaproveitada pelo próximo tipo incluído.
+     */
+    public void removerTipo(Long tipoQuartoId) {
+        long stamp = lock.writeLock();
+        try {
+            Integer posicao = posicaoPorId.remove(tipoQuartoId);
+            if (posicao == null) {
+                return;
+            }
+            this.indexarCapacidade(posicao, 0);
+            this.marcar(posicao, 0, horizonte, false);
+            tipos[posicao] = null;
+            capacidades[posicao] = 0;
+            posicoesLivres.push(posicao);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marca como ocupados os dias de [entrada, saida) que estão no horizonte. Tipo desconhecido é ignorado.
+     */
+    public void ocupar(Long tipoQuartoId, long entrada, long saida) {
+        this.alterarOcupacao(tipoQuartoId, entrada, saida, true);
+    }
+
+    /**
+     * Libera os dias de [entrada, saida). Como as reservas ativas de um tipo nunca se sobrepõem,
+     * os dias liberados não pertencem a outra reserva.
+     */
+    public void liberar(Long tipoQuartoId, long entrada, long saida) {
+        this.alterarOcupacao(tipoQuartoId, entrada, saida, false);
+    }
+
+    /**
+     * Tipos de quarto ativos que comportam os hóspedes e estão livres em todos os dias de
+     * [entrada, saida), ordenados por ID. O período precisa estar dentro do horizonte.
+     */
+    public List<TipoQuartoDto> disponiveis(long entrada, long saida, int hospedes) {
+        if (entrada < origem || saida > this.fim() || entrada >= saida || hospedes <= 0) {
+            throw new IllegalArgumentException("Período ou hóspedes fora do calendário.");
+        }
+        int primeiro = (int) (entrada - origem);
+        int ultimo = (int) (saida - origem);
+        int linhaCapacidade = Math.min(hospedes, CAPACIDADE_INDEXADA) - 1;
+
+        List<TipoQuartoDto> encontrados = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            for (int palavra = 0; palavra < palavras; palavra++) {
+                long livres = comporta[palavra * CAPACIDADE_INDEXADA + linhaCapacidade];
+                int base = palavra * horizonte;
+                for (int dia = primeiro; dia < ultimo && livres != 0; dia++) {
+                    livres &= ~ocupados[base + dia];
+                }
+                while (livres != 0) {
+                    int posicao = (palavra << 6) + Long.numberOfTrailingZeros(livres);
+                    if (hospedes <= CAPACIDADE_INDEXADA || capacidades[posicao] >= hospedes) {
+                        encontrados.add(tipos[posicao]);
+                    }
+                    livres &= livres - 1;
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        encontrados.sort(Comparator.comparing(TipoQuartoDto::getId));
+        return encontrados;
+    }
+
+    /**
+     * Quantidade de tipos de quarto no calendário.
+     */
+    public int tamanho() {
+        long stamp = lock.readLock();
+        try {
+            return posicaoPorId.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void definir(int posicao, TipoQuartoDto tipo) {
+        tipos[posicao] = tipo;
+        capacidades[posicao] = tipo.getCapacidadeMaxima();
+        this.indexarCapacidade(posicao, tipo.getCapacidadeMaxima());
+    }
+
+    private void alterarOcupacao(Long tipoQuartoId, long entrada, long saida, boolean ocupado) {
+        int primeiro = (int) Math.max(entrada - origem, 0);
+        int ultimo = (int) Math.min(saida - origem, horizonte);
+        if (primeiro >= ultimo) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Integer posicao = posicaoPorId.get(tipoQuartoId);
+            if (posicao != null) {
+                this.marcar(posicao, primeiro, ultimo, ocupado);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void marcar(int posicao, int primeiro, int ultimo, boolean ocupado) {
+        int base = (posicao >>> 6) * horizonte;
+        long bit = 1L << posicao;
+        for (int dia = primeiro; dia < ultimo; dia++) {
+            if (ocupado) {
+                ocupados[base + dia] |= bit;
+            } else {
+                ocupados[base + dia] &= ~bit;
+            }
+        }
+    }
+
+    // Liga o bit do tipo nas linhas de 1 até a capacidade dele e desliga nas demais (capacidade 0 = fora)
+    private void indexarCapacidade(int posicao, int capacidade) {
+        int base = (posicao >>> 6) * CAPACIDADE_INDEXADA;
+        long bit = 1L << posicao;
+        for (int linha = 0; linha < CAPACIDADE_INDEXADA; linha++) {
+            if (linha < capacidade) {
+                comporta[base + linha] |= bit;
+            } else {
+                comporta[base + linha] &= ~bit;
+            }
+        }
+    }
+
+    // Cresce de 64 em 64 tipos: a palavra nova é acrescentada no fim, sem mexer nas existentes
+    private int alocarPosicao() {
+        if (!posicoesLivres.isEmpty()) {
+            return posicoesLivres.pop();
+        }
+        int posicao = posicoes++;
+        if (posicao >> 6 >= palavras) {
+            palavras++;
+            ocupados = Arrays.copyOf(ocupados, palavras * horizonte);
+            comporta = Arrays.copyOf(comporta, palavras * CAPACIDADE_INDEXADA);
+            tipos = Arrays.copyOf(tipos, palavras << 6);
+            capacidades = Arrays.copyOf(capacidades, palavras << 6);
+        }
+        return posicao;
+    }
+}
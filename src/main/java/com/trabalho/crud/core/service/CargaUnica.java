@@ -0,0 +1,121 @@
+package com.trabalho.crud.core.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalescência de leituras idênticas (single-flight): enquanto a carga de uma chave está em andamento,
+ * quem pede a mesma chave espera por ela e recebe o mesmo resultado (ou a mesma exceção), em vez de
+ * repetir a consulta. Nada fica guardado depois que a carga termina; isto não é um cache.
+ *
+ * Toda carga é feita numa versão do catálogo ({@link VersaoCatalogo}), lida antes dos dados. Uma
+ * escrita que termina no meio da carga muda a versão: quem chega depois dela não se junta à carga
+ * antiga (que pode não ver a escrita) e começa outra. Quem já estava esperando chegou antes da
+ * escrita terminar, então qualquer um dos dois resultados é válido para ele.
+ *
+ * A espera é limitada: se a carga em andamento passar do limite, quem espera desiste dela e
+ * consulta por conta própria. O resultado é compartilhado entre as threads e não deve ser alterado.
+ *
+ * @param <K> chave da leitura (ex.: o ID)
+ * @param <V> resultado da leitura
+ */
+class CargaUnica<K, V> {
+
+    private record Chave<K>(K chave, String versao) {
+    }
+
+    private final Supplier<String> versao;
+    private final long esperaMaximaNanos;
+    private final ConcurrentHashMap<Chave<K>, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder compartilhadas = new LongAdder();
+    private final LongAdder esperasEsgotadas = new LongAdder();
+
+    /**
+     * @param leitura nome da leitura nas métricas (tag "leitura")
+     */
+    CargaUnica(String leitura, Supplier<String> versao, Duration esperaMaxima, MeterRegistry registry) {
+        this.versao = versao;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+
+        FunctionCounter.builder("hotel.carga_unica.cargas", cargas, LongAdder::sum)
+                .description("Leituras que foram ao repositório")
+                .tag("leitura", leitura).register(registry);
+        FunctionCounter.builder("hotel.carga_unica.compartilhadas", compartilhadas, LongAdder::sum)
+                .description("Leituras atendidas pela carga de outra requisição (consultas evitadas)")
+                .tag("leitura", leitura).register(registry);
+        FunctionCounter.builder("hotel.carga_unica.esperas_esgotadas", esperasEsgotadas, LongAdder::sum)
+                .description("Leituras que desistiram de esperar e consultaram sozinhas")
+                .tag("leitura", leitura).register(registry);
+        Gauge.builder("hotel.carga_unica.em_andamento", emAndamento, ConcurrentHashMap::size)
+                .tag("leitura", leitura).register(registry);
+    }
+
+    V carregar(K chave, Supplier<V> carga) {
+        var voo = new Chave<>(chave, versao.get());
+        var minha = new CompletableFuture<V>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(voo, minha);
+        if (existente != null) {
+            return this.esperar(existente, carga);
+        }
+
+        try {
+            V resultado = this.executar(carga);
+            minha.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error ex) {
+            minha.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            emAndamento.remove(voo, minha);
+        }
+    }
+
+    long cargas() {
+        return cargas.sum();
+    }
+
+    long compartilhadas() {
+        return compartilhadas.sum();
+    }
+
+    private V esperar(CompletableFuture<V> emCurso, Supplier<V> carga) {
+        try {
+            V resultado = emCurso.get(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+            compartilhadas.increment();
+            return resultado;
+        } catch (TimeoutException ex) {
+            esperasEsgotadas.increment();
+            return this.executar(carga);
+        } catch (ExecutionException ex) {
+            // A carga falhou (ex.: 404): quem esperava recebe o mesmo erro, sem nova consulta
+            compartilhadas.increment();
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando a leitura em andamento.", ex);
+        }
+    }
+
+    private V executar(Supplier<V> carga) {
+        cargas.increment();
+        return carga.get();
+    }
+}
@@ -0,0 +1,272 @@
+package com.trabalho.crud.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.springframework.http.HttpStatus;
+
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.dto.ResultadoCotacaoDto;
+
+/**
+ * Cotação de muitas combinações (tipo de quarto, entrada, diárias, hóspedes) de uma vez, em paralelo
+ * num {@link ForkJoinPool} próprio.
+ *
+ * Os pedidos são ordenados por tipo de quarto e a tarefa raiz é dividida ao meio recursivamente até
+ * {@link #PEDIDOS_POR_TAREFA}, com o corte puxado para a fronteira entre dois tipos quando ela está
+ * perto do meio: cada folha pega a tarifa e a capacidade de um tipo uma vez e cota todos os pedidos
+ * dele em sequência. Um tipo com muitos pedidos ainda é dividido entre várias folhas.
+ *
+ * Cada folha entrega o seu bloco de resultados numa fila assim que termina; quem chamou
+ * {@link Execucao#entregar(Consumer)} recebe os blocos na ordem em que ficam prontos (não na ordem
+ * dos pedidos: cada resultado traz o índice do pedido).
+ */
+public class CotadorLote {
+
+    static final int PEDIDOS_POR_TAREFA = 256;
+
+    private static final List<ResultadoCotacaoDto> FIM = List.of();
+    private static final String OK = HttpStatus.OK.toString();
+    private static final String TARIFA_FORA_DO_INTERVALO = "Tarifa fora do intervalo suportado.";
+
+    /**
+     * Tarifa (em centavos) e capacidade de um tipo de quarto ativo, lidas antes de dividir o trabalho.
+     * {@link #FORA_DO_INTERVALO} marca um tipo cuja tarifa gravada não cabe em centavos: só os
+     * pedidos dele recebem erro.
+     */
+    public record Tarifado(long tarifaCentavos, int capacidadeMaxima) {
+
+        public static final long FORA_DO_INTERVALO = Long.MIN_VALUE;
+    }
+
+    private final ForkJoinPool pool;
+    private final TabelaTarifas tabela;
+
+    public CotadorLote(ForkJoinPool pool, TabelaTarifas tabela) {
+        this.pool = pool;
+        this.tabela = tabela;
+    }
+
+    /**
+     * Começa a cotar os pedidos no pool e retorna na hora. {@code tipos} deve ter só os tipos de
+     * quarto ativos; os pedidos de tipos fora dele recebem 404. {@code hoje} é LocalDate.toEpochDay.
+     */
+    public Execucao iniciar(List<PedidoCotacaoDto> pedidos, Map<Long, Tarifado> tipos, long hoje) {
+        return this.iniciar(pedidos, tipos, hoje, () -> {
+        });
+    }
+
+    /**
+     * Como {@link #iniciar(List, Map, long)}, chamando {@code aoTerminar} no pool quando o cálculo acaba:
+     * completo, com falha ou cancelado, tenha alguém recebido os resultados ou não.
+     */
+    public Execucao iniciar(List<PedidoCotacaoDto> pedidos, Map<Long, Tarifado> tipos, long hoje, Runnable aoTerminar) {
+        var execucao = new Execucao(pedidos, tipos, hoje, aoTerminar);
+        pool.execute(execucao.raiz);
+        return execucao;
+    }
+
+    public final class Execucao {
+
+        private final List<PedidoCotacaoDto> pedidos;
+        private final Map<Long, Tarifado> tipos;
+        private final long hoje;
+        private final Runnable aoTerminar;
+        // Índices dos pedidos ordenados por tipo de quarto, e onde começa cada tipo nessa ordem
+        private final int[] ordem;
+        private final int[] fronteiras;
+        private final BlockingQueue<List<ResultadoCotacaoDto>> prontos = new LinkedBlockingQueue<>();
+        private final Raiz raiz = new Raiz();
+        private volatile boolean cancelada;
+        private volatile Throwable falha;
+
+        private Execucao(List<PedidoCotacaoDto> pedidos, Map<Long, Tarifado> tipos, long hoje, Runnable aoTerminar) {
+            this.pedidos = pedidos;
+            this.tipos = tipos;
+            this.hoje = hoje;
+            this.aoTerminar = aoTerminar;
+
+            Comparator<Long> porId = Comparator.nullsFirst(Comparator.naturalOrder());
+            this.ordem = IntStream.range(0, pedidos.size())
+                    .boxed()
+                    .sorted(Comparator.comparing((Integer i) -> idDe(pedidos.get(i)), porId))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            int[] inicios = new int[ordem.length];
+            int grupos = 0;
+            for (int i = 1; i < ordem.length; i++) {
+                if (!Objects.equals(idDe(pedidos.get(ordem[i])), idDe(pedidos.get(ordem[i - 1])))) {
+                    inicios[grupos++] = i;
+                }
+            }
+            this.fronteiras = Arrays.copyOf(inicios, grupos);
+        }
+
+        /**
+         * Entrega os blocos de resultados à medida que ficam prontos, até o último. Se o consumidor
+         * falhar (ex.: o cliente desconectou), as folhas que ainda não começaram são abandonadas.
+         */
+        public void entregar(Consumer<List<ResultadoCotacaoDto>> consumidor) {
+            try {
+                for (List<ResultadoCotacaoDto> bloco = prontos.take(); bloco != FIM; bloco = prontos.take()) {
+                    consumidor.accept(bloco);
+                }
+            } catch (InterruptedException ex) {
+                cancelada = true;
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Cotação em lote interrompida.", ex);
+            } catch (RuntimeException ex) {
+                cancelada = true;
+                throw ex;
+            }
+            if (falha != null) {
+                throw new IllegalStateException("Falha na cotação em lote.", falha);
+            }
+        }
+
+        /**
+         * Abandona as folhas que ainda não começaram (ex.: a requisição expirou ou o cliente desconectou
+         * antes de {@link #entregar(Consumer)}). Depois do fim do cálculo não tem efeito.
+         */
+        public void cancelar() {
+            cancelada = true;
+        }
+
+        private final class Raiz extends RecursiveAction {
+
+            @Override
+            protected void compute() {
+                try {
+                    new Parte(0, ordem.length).compute();
+                } catch (Throwable ex) {
+                    falha = ex;
+                } finally {
+                    // Avisa antes de liberar a entrega: quem recebeu o FIM já vê o cálculo encerrado
+                    try {
+                        aoTerminar.run();
+                    } finally {
+                        prontos.add(FIM);
+                    }
+                }
+            }
+        }
+
+        private final class Parte extends RecursiveAction {
+
+            private final int de;
+            private final int ate;
+
+            Parte(int de, int ate) {
+                this.de = de;
+                this.ate = ate;
+            }
+
+            @Override
+            protected void compute() {
+                if (cancelada) {
+                    return;
+                }
+                if (ate - de <= PEDIDOS_POR_TAREFA) {
+                    prontos.add(cotarFaixa(de, ate));
+                    return;
+                }
+                int corte = corte(de, ate);
+                invokeAll(new Parte(de, corte), new Parte(corte, ate));
+            }
+        }
+
+        // Meio da faixa, ou a fronteira entre tipos mais próxima dele se ficar no quarto central
+        private int corte(int de, int ate) {
+            int meio = (de + ate) >>> 1;
+            int folga = (ate - de) / 4;
+            int posicao = Arrays.binarySearch(fronteiras, meio);
+            if (posicao >= 0) {
+                return meio;
+            }
+            int seguinte = -posicao - 1;
+            int melhor = meio;
+            int distancia = folga + 1;
+            if (seguinte < fronteiras.length && fronteiras[seguinte] - meio < distancia) {
+                melhor = fronteiras[seguinte];
+                distancia = fronteiras[seguinte] - meio;
+            }
+            if (seguinte > 0 && meio - fronteiras[seguinte - 1] < distancia) {
+                melhor = fronteiras[seguinte - 1];
+            }
+            return melhor;
+        }
+
+        private List<ResultadoCotacaoDto> cotarFaixa(int de, int ate) {
+            List<ResultadoCotacaoDto> resultados = new ArrayList<>(ate - de);
+            Long idAtual = null;
+            Tarifado tarifado = null;
+            for (int i = de; i < ate; i++) {
+                int indice = ordem[i];
+                PedidoCotacaoDto pedido = pedidos.get(indice);
+                Long id = pedido.getTipoQuartoId();
+                if (id != null && !id.equals(idAtual)) {
+                    idAtual = id;
+                    tarifado = tipos.get(id);
+                }
+                resultados.add(cotar(indice, pedido, tarifado));
+            }
+            return resultados;
+        }
+
+        private ResultadoCotacaoDto cotar(int indice, PedidoCotacaoDto pedido, Tarifado tarifado) {
+            Long id = pedido.getTipoQuartoId();
+            if (id == null || pedido.getEntrada() == null || pedido.getDiarias() == null || pedido.getHospedes() == null) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST, "Tipo de quarto, entrada, diárias e hóspedes são obrigatórios.");
+            }
+            int diarias = pedido.getDiarias();
+            if (diarias <= 0 || diarias > ReservaService.DIARIAS_MAXIMAS) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST, "A cotação deve ter de 1 a " + ReservaService.DIARIAS_MAXIMAS + " diárias.");
+            }
+            if (pedido.getHospedes() <= 0) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST, "A cotação deve ter ao menos um hóspede.");
+            }
+            long entrada = pedido.getEntrada().toEpochDay();
+            if (entrada < hoje) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST, "A entrada não pode ser no passado.");
+            }
+            if (entrada + diarias > TabelaTarifas.ULTIMO_DIA.toEpochDay()) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST, "A saída deve ser até " + TabelaTarifas.ULTIMO_DIA + ".");
+            }
+            if (tarifado == null) {
+                return erro(indice, id, HttpStatus.NOT_FOUND, "Tipo de quarto não encontrado");
+            }
+            if (pedido.getHospedes() > tarifado.capacidadeMaxima()) {
+                return erro(indice, id, HttpStatus.BAD_REQUEST,
+                        "O tipo de quarto comporta no máximo " + tarifado.capacidadeMaxima() + " hóspedes.");
+            }
+            if (tarifado.tarifaCentavos() == Tarifado.FORA_DO_INTERVALO) {
+                return erro(indice, id, HttpStatus.INTERNAL_SERVER_ERROR, TARIFA_FORA_DO_INTERVALO);
+            }
+            try {
+                long total = tabela.cotar(tarifado.tarifaCentavos(), entrada, entrada + diarias, null);
+                return new ResultadoCotacaoDto(indice, id, TabelaTarifas.decimal(total), OK, null);
+            } catch (ArithmeticException ex) {
+                return erro(indice, id, HttpStatus.INTERNAL_SERVER_ERROR, TARIFA_FORA_DO_INTERVALO);
+            }
+        }
+    }
+
+    private static Long idDe(PedidoCotacaoDto pedido) {
+        return pedido.getTipoQuartoId();
+    }
+
+    private static ResultadoCotacaoDto erro(int indice, Long tipoQuartoId, HttpStatus status, String mensagem) {
+        return new ResultadoCotacaoDto(indice, tipoQuartoId, null, status.toString(), mensagem);
+    }
+}
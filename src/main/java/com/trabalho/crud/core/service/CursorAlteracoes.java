@@ -0,0 +1,70 @@
+package com.trabalho.crud.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+
+/**
+ * Cursor opaco do feed de alterações: a chave (dataAtualizacao, id) da última alteração entregue.
+ * A data vai em segundos + nanos, sem perder precisão no caminho de ida e volta.
+ */
+final class CursorAlteracoes {
+
+    private static final String SEPARADOR = ":";
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime ultimaData;
+    private final Long ultimoId;
+
+    private CursorAlteracoes(LocalDateTime ultimaData, Long ultimoId) {
+        this.ultimaData = ultimaData;
+        this.ultimoId = ultimoId;
+    }
+
+    /**
+     * Cursor da primeira consulta: a réplica ainda não tem nada e recebe o catálogo inteiro.
+     */
+    static CursorAlteracoes inicio() {
+        return new CursorAlteracoes(INICIO, 0L);
+    }
+
+    static CursorAlteracoes apos(AlteracaoTipoQuartoDto ultima) {
+        return new CursorAlteracoes(ultima.getDataAtualizacao(), ultima.getId());
+    }
+
+    LocalDateTime getUltimaData() {
+        return ultimaData;
+    }
+
+    Long getUltimoId() {
+        return ultimoId;
+    }
+
+    String encode() {
+        String bruto = "a" + SEPARADOR + ultimaData.toEpochSecond(ZoneOffset.UTC)
+                + SEPARADOR + ultimaData.getNano() + SEPARADOR + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorAlteracoes decode(String cursor) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = bruto.split(SEPARADOR);
+
+            if (partes.length == 4 && partes[0].equals("a")) {
+                LocalDateTime data = LocalDateTime.ofEpochSecond(Long.parseLong(partes[1]), Integer.parseInt(partes[2]), ZoneOffset.UTC);
+                return new CursorAlteracoes(data, Long.parseLong(partes[3]));
+            }
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            // Cai no erro abaixo (Base64, número ou data inválidos)
+        }
+        throw new BusinessException("Cursor de alterações inválido.", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,79 @@
+package com.trabalho.crud.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.TipoQuarto;
+
+/**
+ * Cursor opaco da paginação por keyset.
+ * Guarda a ordenação usada e a chave (id e, se for o caso, nome) do último item entregue.
+ */
+final class CursorPaginacao {
+
+    enum Ordenacao {
+        ID, NOME
+    }
+
+    private static final String SEPARADOR = ":";
+
+    private final Ordenacao ordenacao;
+    private final Long ultimoId;
+    private final String ultimoNome;
+
+    private CursorPaginacao(Ordenacao ordenacao, Long ultimoId, String ultimoNome) {
+        this.ordenacao = ordenacao;
+        this.ultimoId = ultimoId;
+        this.ultimoNome = ultimoNome;
+    }
+
+    /**
+     * Cursor da primeira página: nenhum item foi entregue ainda.
+     */
+    static CursorPaginacao inicio(Ordenacao ordenacao) {
+        return new CursorPaginacao(ordenacao, 0L, "");
+    }
+
+    static CursorPaginacao apos(Ordenacao ordenacao, TipoQuarto ultimo) {
+        return new CursorPaginacao(ordenacao, ultimo.getId(), ultimo.getNome());
+    }
+
+    Ordenacao getOrdenacao() {
+        return ordenacao;
+    }
+
+    Long getUltimoId() {
+        return ultimoId;
+    }
+
+    String getUltimoNome() {
+        return ultimoNome;
+    }
+
+    String encode() {
+        String bruto = ordenacao == Ordenacao.ID
+                ? "i" + SEPARADOR + ultimoId
+                : "n" + SEPARADOR + ultimoId + SEPARADOR + ultimoNome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorPaginacao decode(String cursor) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = bruto.split(SEPARADOR, 3);
+
+            if (partes.length == 2 && partes[0].equals("i")) {
+                return new CursorPaginacao(Ordenacao.ID, Long.parseLong(partes[1]), "");
+            }
+            if (partes.length == 3 && partes[0].equals("n")) {
+                return new CursorPaginacao(Ordenacao.NOME, Long.parseLong(partes[1]), partes[2]);
+            }
+        } catch (IllegalArgumentException ex) {
+            // Cai no erro abaixo (Base64 ou número inválido)
+        }
+        throw new BusinessException("Cursor de paginação inválido.", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,160 @@
+package com.trabalho.crud.core.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.evento.TipoQuartoAlteradoEvento;
+import com.trabalho.crud.core.repository.ReservaRepository;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+
+/**
+ * Busca de disponibilidade ("quais tipos de quarto recebem N hóspedes nestas datas") sobre um
+ * {@link CalendarioDisponibilidade} em memória, sem consultar o banco.
+ *
+ * O calendário começa hoje e cobre o horizonte configurado. É montado do repositório na primeira
+ * busca e, a partir daí, atualizado por quem grava: reservas e cancelamentos pela
+ * {@link ReservaService} (com as escritas do tipo serializadas pela {@link AgendaReservas}) e
+ * criações, alterações e inativações pelos eventos da {@link TipoQuartoService}, depois do commit.
+ * Quando o dia vira, a próxima busca monta um calendário novo a partir de hoje.
+ *
+ * As atualizações e a montagem disputam o mesmo lock: uma reserva gravada durante a montagem
+ * espera e é aplicada ao calendário novo, nunca ao que está sendo descartado.
+ */
+@Service
+public class DisponibilidadeService {
+
+    private final TipoQuartoRepository tipoQuartoRepository;
+    private final ReservaRepository reservaRepository;
+    private final int horizonte;
+    private final ReentrantLock escrita = new ReentrantLock();
+    private volatile CalendarioDisponibilidade calendario;
+
+    public DisponibilidadeService(TipoQuartoRepository tipoQuartoRepository, ReservaRepository reservaRepository,
+            @Value("${hotel.disponibilidade.horizonte-dias:731}") int horizonte) {
+        this.tipoQuartoRepository = tipoQuartoRepository;
+        this.reservaRepository = reservaRepository;
+        this.horizonte = horizonte;
+    }
+
+    /**
+     * Tipos de quarto ativos que comportam os hóspedes e não têm reserva em nenhum dia de
+     * [entrada, saida), ordenados por ID.
+     */
+    public List<TipoQuartoDto> buscar(LocalDate entrada, LocalDate saida, Integer hospedes) {
+        if (entrada == null || saida == null || hospedes == null) {
+            throw new BusinessException("Entrada, saída e hóspedes são obrigatórios.", HttpStatus.BAD_REQUEST);
+        }
+        if (hospedes <= 0) {
+            throw new BusinessException("A busca deve ter ao menos um hóspede.", HttpStatus.BAD_REQUEST);
+        }
+        if (!entrada.isBefore(saida)) {
+            throw new BusinessException("A saída deve ser depois da entrada.", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(entrada, saida) > ReservaService.DIARIAS_MAXIMAS) {
+            throw new BusinessException("A busca pode ter no máximo " + ReservaService.DIARIAS_MAXIMAS + " diárias.",
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        CalendarioDisponibilidade atual = this.calendarioDeHoje();
+        if (entrada.toEpochDay() < atual.origem() || saida.toEpochDay() > atual.fim()) {
+            throw new BusinessException("O período deve estar entre hoje e " + LocalDate.ofEpochDay(atual.fim())
+                    + ".", HttpStatus.BAD_REQUEST);
+        }
+        return atual.disponiveis(entrada.toEpochDay(), saida.toEpochDay(), hospedes);
+    }
+
+    /**
+     * Marca o período de uma reserva ativa já gravada.
+     */
+    public void ocupar(Reserva reserva) {
+        this.aplicar(atual -> atual.ocupar(reserva.getTipoQuartoId(),
+                reserva.getEntrada().toEpochDay(), reserva.getSaida().toEpochDay()));
+    }
+
+    /**
+     * Libera o período de uma reserva cancelada.
+     */
+    public void liberar(Reserva reserva) {
+        this.aplicar(atual -> atual.liberar(reserva.getTipoQuartoId(),
+                reserva.getEntrada().toEpochDay(), reserva.getSaida().toEpochDay()));
+    }
+
+    /**
+     * Recebe os eventos da {@link TipoQuartoService} depois do commit (ou na hora, fora de transação).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void tipoQuartoAlterado(TipoQuartoAlteradoEvento evento) {
+        TipoQuartoDto tipo = evento.getTipoQuarto();
+        switch (evento.getTipo()) {
+            case CRIADO -> this.aplicar(atual -> atual.incluirTipo(tipo));
+            case ALTERADO -> this.aplicar(atual -> atual.atualizarTipo(tipo));
+            case INATIVADO -> this.aplicar(atual -> atual.removerTipo(tipo.getId()));
+        }
+    }
+
+    /**
+     * Descarta o calendário; o próximo uso monta outro a partir do repositório.
+     * Visível só no pacote: serve aos testes, que trocam o repositório por baixo do calendário.
+     */
+    void limpar() {
+        escrita.lock();
+        try {
+            calendario = null;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Antes da primeira busca não há calendário: a montagem vai ler o que já foi gravado
+    private void aplicar(Consumer<CalendarioDisponibilidade> alteracao) {
+        escrita.lock();
+        try {
+            if (calendario != null) {
+                alteracao.accept(calendario);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private CalendarioDisponibilidade calendarioDeHoje() {
+        long hoje = LocalDate.now().toEpochDay();
+        CalendarioDisponibilidade atual = calendario;
+        if (atual != null && atual.origem() == hoje) {
+            return atual;
+        }
+        escrita.lock();
+        try {
+            atual = calendario;
+            if (atual == null || atual.origem() != hoje) {
+                atual = this.montar(hoje);
+                calendario = atual;
+            }
+            return atual;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private CalendarioDisponibilidade montar(long hoje) {
+        var novo = new CalendarioDisponibilidade(hoje, horizonte);
+        for (TipoQuartoDto tipo : tipoQuartoRepository.findAtivosDto()) {
+            novo.incluirTipo(tipo);
+        }
+        for (Reserva reserva : reservaRepository.findAtivas(LocalDate.ofEpochDay(hoje))) {
+            novo.ocupar(reserva.getTipoQuartoId(), reserva.getEntrada().toEpochDay(), reserva.getSaida().toEpochDay());
+        }
+        return novo;
+    }
+}
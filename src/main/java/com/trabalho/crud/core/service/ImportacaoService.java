@@ -0,0 +1,287 @@
+package com.trabalho.crud.core.service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.ErroImportacaoDto;
+import com.trabalho.crud.core.dto.ImportacaoStatusDto;
+import com.trabalho.crud.core.dto.ResultadoLoteDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Importação de catálogos de tipos de quarto a partir de arquivos grandes (NDJSON ou CSV).
+ *
+ * O arquivo é lido de forma incremental na thread da requisição e entregue em blocos (chunks)
+ * a uma fila limitada; uma thread gravadora consome a fila e grava cada bloco na sua própria
+ * transação, usando as mesmas regras do {@link TipoQuartoService#saveAll(List)}.
+ * Quando o banco fica lento a fila enche e a leitura para, em vez de acumular registros no heap.
+ */
+@Service
+public class ImportacaoService {
+
+    static final int TAMANHO_CHUNK = 500;
+    static final int CHUNKS_NA_FILA = 4;
+    static final int IMPORTACOES_SIMULTANEAS = 2;
+    static final int MAX_ERROS_REPORTADOS = 1000;
+    static final int HISTORICO = 100;
+
+    private static final List<LeitorImportacao.Registro> FIM = List.of();
+
+    private final TipoQuartoService tipoQuartoService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService gravadores;
+    private final Semaphore vagas = new Semaphore(IMPORTACOES_SIMULTANEAS);
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+    private final Deque<String> ordem = new ConcurrentLinkedDeque<>();
+
+    public ImportacaoService(TipoQuartoService tipoQuartoService, ObjectMapper objectMapper) {
+        this.tipoQuartoService = tipoQuartoService;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.gravadores = Executors.newFixedThreadPool(IMPORTACOES_SIMULTANEAS,
+                tarefa -> new Thread(tarefa, "importacao-" + contador.incrementAndGet()));
+    }
+
+    /**
+     * Lê todo o arquivo e enfileira os registros para gravação. Retorna quando a leitura termina;
+     * os últimos blocos podem ainda estar sendo gravados (acompanhe pelo {@link #status(String)}).
+     */
+    public ImportacaoStatusDto importar(InputStream entrada, String formato) {
+        LeitorImportacao leitor = LeitorImportacao.criar(formato, entrada, objectMapper);
+
+        if (!vagas.tryAcquire()) {
+            throw new BusinessException("Limite de importações simultâneas atingido. Tente novamente mais tarde.", HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        var importacao = new Importacao(UUID.randomUUID().toString());
+        this.registrar(importacao);
+
+        BlockingQueue<List<LeitorImportacao.Registro>> fila = new ArrayBlockingQueue<>(CHUNKS_NA_FILA);
+        Future<?> gravacao;
+        try {
+            gravacao = gravadores.submit(() -> this.gravar(importacao, fila));
+        } catch (RuntimeException ex) {
+            vagas.release();
+            throw ex;
+        }
+
+        try {
+            this.ler(leitor, importacao, fila, gravacao);
+        } catch (RuntimeException ex) {
+            importacao.falhar("Falha na leitura do arquivo: " + ex.getMessage());
+            try {
+                this.enfileirar(fila, FIM, gravacao);
+            } catch (RuntimeException ignorada) {
+                // A gravação já terminou; não há quem avisar
+            }
+        }
+
+        return importacao.toDto();
+    }
+
+    public ImportacaoStatusDto status(String id) {
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null) {
+            throw BusinessException.notFoundException("Importação não encontrada");
+        }
+        return importacao.toDto();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        gravadores.shutdownNow();
+    }
+
+    private void ler(LeitorImportacao leitor, Importacao importacao,
+            BlockingQueue<List<LeitorImportacao.Registro>> fila, Future<?> gravacao) {
+        List<LeitorImportacao.Registro> chunk = new ArrayList<>(TAMANHO_CHUNK);
+        LeitorImportacao.Registro registro;
+
+        while ((registro = leitor.proximo()) != null) {
+            importacao.lidos.incrementAndGet();
+            if (registro.erro() != null) {
+                importacao.rejeitar(registro.linha(), registro.erro());
+                continue;
+            }
+
+            chunk.add(registro);
+            if (chunk.size() == TAMANHO_CHUNK) {
+                this.enfileirar(fila, chunk, gravacao);
+                chunk = new ArrayList<>(TAMANHO_CHUNK);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            this.enfileirar(fila, chunk, gravacao);
+        }
+        this.enfileirar(fila, FIM, gravacao);
+    }
+
+    /**
+     * Bloqueia enquanto a fila estiver cheia (é aqui que o banco "freia" a leitura),
+     * desistindo se a gravação tiver terminado por algum motivo.
+     */
+    private void enfileirar(BlockingQueue<List<LeitorImportacao.Registro>> fila,
+            List<LeitorImportacao.Registro> chunk, Future<?> gravacao) {
+        try {
+            while (!fila.offer(chunk, 1, TimeUnit.SECONDS)) {
+                if (gravacao.isDone()) {
+                    throw new IllegalStateException("Gravação encerrada antes do fim da leitura.");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida.", ex);
+        }
+    }
+
+    private void gravar(Importacao importacao, BlockingQueue<List<LeitorImportacao.Registro>> fila) {
+        try {
+            while (true) {
+                List<LeitorImportacao.Registro> chunk = fila.take();
+                if (chunk == FIM) {
+                    break;
+                }
+                // Depois de uma falha, só drena a fila para liberar a leitura
+                if (!importacao.falhou()) {
+                    this.gravarChunk(importacao, chunk);
+                }
+            }
+            importacao.concluir();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            importacao.falhar("Importação interrompida.");
+        } catch (RuntimeException ex) {
+            importacao.falhar("Falha na gravação: " + ex.getMessage());
+        } finally {
+            vagas.release();
+        }
+    }
+
+    /**
+     * Grava um bloco numa transação. Os registros sempre são criados (o ID do arquivo é ignorado).
+     */
+    private void gravarChunk(Importacao importacao, List<LeitorImportacao.Registro> chunk) {
+        List<TipoQuartoDto> dtos = new ArrayList<>(chunk.size());
+        for (LeitorImportacao.Registro registro : chunk) {
+            registro.dto().setId(null);
+            dtos.add(registro.dto());
+        }
+
+        try {
+            List<ResultadoLoteDto> resultados = tipoQuartoService.saveAll(dtos);
+            for (int i = 0; i < resultados.size(); i++) {
+                ResultadoLoteDto resultado = resultados.get(i);
+                if (resultado.getMessage() == null) {
+                    importacao.gravados.incrementAndGet();
+                } else {
+                    importacao.rejeitar(chunk.get(i).linha(), resultado.getMessage());
+                }
+            }
+        } catch (BusinessException ex) {
+            // O bloco inteiro foi desfeito (ex.: nome duplicado por uma gravação concorrente)
+            chunk.forEach(registro -> importacao.rejeitar(registro.linha(), ex.getMessage()));
+        }
+    }
+
+    private void registrar(Importacao importacao) {
+        importacoes.put(importacao.id, importacao);
+        ordem.addLast(importacao.id);
+        while (ordem.size() > HISTORICO) {
+            String antiga = ordem.pollFirst();
+            if (antiga != null) {
+                importacoes.remove(antiga);
+            }
+        }
+    }
+
+    /**
+     * Estado mutável de uma importação, atualizado pelas threads de leitura e de gravação.
+     */
+    private static final class Importacao {
+
+        private final String id;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final AtomicLong lidos = new AtomicLong();
+        private final AtomicLong gravados = new AtomicLong();
+        private final AtomicLong rejeitados = new AtomicLong();
+        private final List<ErroImportacaoDto> erros = new ArrayList<>();
+        private volatile String estado = "EM_ANDAMENTO";
+        private volatile LocalDateTime fim;
+
+        private Importacao(String id) {
+            this.id = id;
+        }
+
+        private void rejeitar(long linha, String message) {
+            rejeitados.incrementAndGet();
+            this.reportar(linha, message);
+        }
+
+        private void reportar(long linha, String message) {
+            synchronized (erros) {
+                if (erros.size() < MAX_ERROS_REPORTADOS) {
+                    erros.add(new ErroImportacaoDto(linha, message));
+                }
+            }
+        }
+
+        private boolean falhou() {
+            return "FALHOU".equals(estado);
+        }
+
+        private synchronized void falhar(String message) {
+            if (fim == null) {
+                this.reportar(0, message); // Linha 0: erro da importação, não de um registro
+                estado = "FALHOU";
+                fim = LocalDateTime.now();
+            }
+        }
+
+        private synchronized void concluir() {
+            if (fim == null) {
+                estado = "CONCLUIDA";
+                fim = LocalDateTime.now();
+            }
+        }
+
+        private ImportacaoStatusDto toDto() {
+            var dto = new ImportacaoStatusDto();
+            dto.setId(id);
+            dto.setEstado(estado);
+            dto.setLidos(lidos.get());
+            dto.setGravados(gravados.get());
+            dto.setRejeitados(rejeitados.get());
+            dto.setInicio(inicio);
+            dto.setFim(fim);
+            synchronized (erros) {
+                dto.setErros(List.copyOf(erros));
+            }
+            return dto;
+        }
+    }
+}
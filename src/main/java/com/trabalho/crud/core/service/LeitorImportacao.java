@@ -0,0 +1,191 @@
+package com.trabalho.crud.core.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+
+/**
+ * Lê o arquivo de importação linha a linha, sem carregá-lo inteiro.
+ * Formatos: NDJSON (um objeto JSON por linha) e CSV com cabeçalho
+ * (colunas nome, descricao, capacidadeMaxima, tarifaPadrao; campos entre aspas não podem quebrar linha).
+ */
+abstract class LeitorImportacao {
+
+    /**
+     * Registro lido: o DTO, ou a mensagem de erro quando a linha não pôde ser interpretada.
+     */
+    record Registro(long linha, TipoQuartoDto dto, String erro) {
+    }
+
+    private final BufferedReader reader;
+    private long linhaAtual;
+
+    private LeitorImportacao(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    static LeitorImportacao criar(String formato, InputStream entrada, ObjectMapper objectMapper) {
+        return switch (formato == null ? "" : formato.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> new Ndjson(entrada, objectMapper);
+            case "csv" -> new Csv(entrada);
+            default -> throw new BusinessException("Formato inválido. Use 'ndjson' ou 'csv'.", HttpStatus.BAD_REQUEST);
+        };
+    }
+
+    /**
+     * Próximo registro, ou null no fim do arquivo. Linhas em branco são ignoradas.
+     */
+    Registro proximo() {
+        String linha;
+        do {
+            linha = this.lerLinha();
+            if (linha == null) {
+                return null;
+            }
+        } while (linha.isBlank());
+
+        return this.interpretar(linhaAtual, linha);
+    }
+
+    protected String lerLinha() {
+        try {
+            String linha = reader.readLine();
+            if (linha != null) {
+                linhaAtual++;
+            }
+            return linha;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    protected abstract Registro interpretar(long numero, String linha);
+
+    private static final class Ndjson extends LeitorImportacao {
+
+        private static final String NAO_OBJETO = "Linha não é um objeto JSON.";
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream entrada, ObjectMapper objectMapper) {
+            super(entrada);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected Registro interpretar(long numero, String linha) {
+            // "null", números, textos e listas são JSON válido, mas não um tipo de quarto: o
+            // "null" viraria um DTO nulo sem erro e derrubaria a gravação do bloco inteiro
+            if (!linha.strip().startsWith("{")) {
+                return new Registro(numero, null, NAO_OBJETO);
+            }
+            try {
+                TipoQuartoDto dto = objectMapper.readValue(linha, TipoQuartoDto.class);
+                if (dto == null) {
+                    return new Registro(numero, null, NAO_OBJETO);
+                }
+                return new Registro(numero, dto, null);
+            } catch (JsonProcessingException ex) {
+                return new Registro(numero, null, "JSON inválido: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class Csv extends LeitorImportacao {
+
+        private int colunaNome = -1;
+        private int colunaDescricao = -1;
+        private int colunaCapacidade = -1;
+        private int colunaTarifa = -1;
+
+        private Csv(InputStream entrada) {
+            super(entrada);
+            this.lerCabecalho();
+        }
+
+        private void lerCabecalho() {
+            String cabecalho = this.lerLinha();
+            if (cabecalho == null) {
+                return;
+            }
+            List<String> colunas = dividir(cabecalho);
+            for (int i = 0; i < colunas.size(); i++) {
+                switch (colunas.get(i).strip()) {
+                    case "nome" -> colunaNome = i;
+                    case "descricao" -> colunaDescricao = i;
+                    case "capacidadeMaxima" -> colunaCapacidade = i;
+                    case "tarifaPadrao" -> colunaTarifa = i;
+                    default -> {
+                        // Colunas extras (ex.: id da exportação) são ignoradas
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected Registro interpretar(long numero, String linha) {
+            List<String> campos = dividir(linha);
+            try {
+                var dto = new TipoQuartoDto();
+                dto.setNome(campo(campos, colunaNome));
+                dto.setDescricao(campo(campos, colunaDescricao));
+                String capacidade = campo(campos, colunaCapacidade);
+                dto.setCapacidadeMaxima(capacidade == null ? null : Integer.valueOf(capacidade.strip()));
+                String tarifa = campo(campos, colunaTarifa);
+                dto.setTarifaPadrao(tarifa == null ? null : Double.valueOf(tarifa.strip()));
+                return new Registro(numero, dto, null);
+            } catch (NumberFormatException ex) {
+                return new Registro(numero, null, "Número inválido: " + ex.getMessage());
+            }
+        }
+
+        private static String campo(List<String> campos, int coluna) {
+            if (coluna < 0 || coluna >= campos.size() || campos.get(coluna).isEmpty()) {
+                return null;
+            }
+            return campos.get(coluna);
+        }
+
+        private static List<String> dividir(String linha) {
+            List<String> campos = new ArrayList<>();
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                if (entreAspas) {
+                    if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreAspas = false;
+                    } else {
+                        atual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    campos.add(atual.toString());
+                    atual.setLength(0);
+                } else {
+                    atual.append(c);
+                }
+            }
+            campos.add(atual.toString());
+            return campos;
+        }
+    }
+}
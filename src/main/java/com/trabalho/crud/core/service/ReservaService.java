@@ -0,0 +1,139 @@
+package com.trabalho.crud.core.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.mapper.ReservaMapper;
+import com.trabalho.crud.core.repository.ReservaRepository;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+
+@Service
+public class ReservaService {
+
+    static final int DIARIAS_MAXIMAS = 90;
+
+    private final ReservaRepository repository;
+    private final TipoQuartoRepository tipoQuartoRepository;
+    private final ReservaMapper mapper;
+    private final AgendaReservas agenda;
+    private final DisponibilidadeService disponibilidade;
+
+    public ReservaService(ReservaRepository repository, TipoQuartoRepository tipoQuartoRepository,
+            ReservaMapper mapper, AgendaReservas agenda, DisponibilidadeService disponibilidade) {
+        this.repository = repository;
+        this.tipoQuartoRepository = tipoQuartoRepository;
+        this.mapper = mapper;
+        this.agenda = agenda;
+        this.disponibilidade = disponibilidade;
+    }
+
+    /**
+     * Cria uma reserva ATIVA, desde que o tipo de quarto esteja ativo, comporte os hóspedes e não
+     * tenha outra reserva ativa no período. A verificação e a gravação acontecem com as escritas do
+     * tipo de quarto serializadas (ver {@link AgendaReservas}): de duas reservas simultâneas para o
+     * mesmo período, só uma é aceita.
+     */
+    public ReservaDto reservar(ReservaDto dto) {
+        this.validarCampos(dto);
+        this.findTipoQuartoAtivo(dto.getTipoQuartoId()); // 404 antes de criar a agenda de um ID que não existe
+
+        return agenda.travado(dto.getTipoQuartoId(), () -> {
+            // Relido com as escritas do tipo serializadas: pode ter sido inativado enquanto esperava
+            TipoQuarto tipoQuarto = this.findTipoQuartoAtivo(dto.getTipoQuartoId());
+            if (agenda.inativando(tipoQuarto.getId())) {
+                throw BusinessException.notFoundException("Tipo de quarto não encontrado");
+            }
+
+            if (dto.getHospedes() > tipoQuarto.getCapacidadeMaxima()) {
+                throw new BusinessException("O tipo de quarto comporta no máximo " + tipoQuarto.getCapacidadeMaxima()
+                        + " hóspedes.", HttpStatus.BAD_REQUEST);
+            }
+
+            OptionalLong conflito = agenda.conflito(dto.getTipoQuartoId(), dto.getEntrada(), dto.getSaida());
+            if (conflito.isPresent()) {
+                throw new BusinessException("O tipo de quarto já está reservado no período (reserva "
+                        + conflito.getAsLong() + ").", HttpStatus.CONFLICT);
+            }
+
+            var entity = mapper.toEntity(dto);
+            entity.setNomeHospede(dto.getNomeHospede().strip());
+            entity.setStatus(Reserva.Status.ATIVA);
+            var salva = repository.save(entity);
+            agenda.registrar(salva);
+            disponibilidade.ocupar(salva);
+            return mapper.toDto(salva);
+        });
+    }
+
+    public ReservaDto findById(Long id) {
+        return mapper.toDto(this.findEntityById(id));
+    }
+
+    /**
+     * Reservas ativas em andamento ou futuras do tipo de quarto, ordenadas pela entrada.
+     */
+    public List<ReservaDto> findAtivasPorTipoQuarto(Long tipoQuartoId) {
+        return repository.findAtivasPorTipoQuarto(tipoQuartoId, LocalDate.now()).stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Cancela a reserva e libera o período. Cancelar de novo não tem efeito.
+     */
+    public void cancelar(Long id) {
+        Reserva existente = this.findEntityById(id);
+
+        agenda.travado(existente.getTipoQuartoId(), () -> {
+            // Relido com as escritas do tipo serializadas: outro cancelamento pode ter chegado antes
+            Reserva reserva = this.findEntityById(id);
+            if (reserva.isAtiva()) {
+                reserva.setStatus(Reserva.Status.CANCELADA);
+                repository.save(reserva);
+                agenda.remover(reserva);
+                disponibilidade.liberar(reserva);
+            }
+            return null;
+        });
+    }
+
+    private void validarCampos(ReservaDto dto) {
+        if (dto.getTipoQuartoId() == null || dto.getEntrada() == null || dto.getSaida() == null
+                || dto.getHospedes() == null || dto.getNomeHospede() == null || dto.getNomeHospede().isBlank()) {
+            throw new BusinessException("Todos os campos (tipo de quarto, entrada, saída, hóspedes, nome do hóspede) são obrigatórios.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (dto.getHospedes() <= 0) {
+            throw new BusinessException("A reserva deve ter ao menos um hóspede.", HttpStatus.BAD_REQUEST);
+        }
+        if (!dto.getEntrada().isBefore(dto.getSaida())) {
+            throw new BusinessException("A saída deve ser depois da entrada.", HttpStatus.BAD_REQUEST);
+        }
+        if (dto.getEntrada().isBefore(LocalDate.now())) {
+            throw new BusinessException("A entrada não pode ser no passado.", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(dto.getEntrada(), dto.getSaida()) > DIARIAS_MAXIMAS) {
+            throw new BusinessException("A reserva pode ter no máximo " + DIARIAS_MAXIMAS + " diárias.", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private TipoQuarto findTipoQuartoAtivo(Long id) {
+        return tipoQuartoRepository.findById(id)
+                .filter(TipoQuarto::isAtivo)
+                .orElseThrow(() -> BusinessException.notFoundException("Tipo de quarto não encontrado"));
+    }
+
+    private Reserva findEntityById(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> BusinessException.notFoundException("Reserva não encontrada"));
+    }
+}
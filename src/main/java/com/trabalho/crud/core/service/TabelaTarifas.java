@@ -0,0 +1,218 @@
+package com.trabalho.crud.core.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Regras de preço por data aplicadas sobre a tarifa padrão, em aritmética inteira: valores em
+ * centavos (long) e ajustes em pontos-base (1% = 100). Nada de Double no cálculo, então a soma das
+ * noites é sempre exatamente o total e não há erro de arredondamento acumulado.
+ *
+ * O ajuste de cada noite (fim de semana + temporada) é calculado uma vez, na construção, para
+ * todos os dias de {@link #PRIMEIRO_DIA} a {@link #ULTIMO_DIA} (um int por dia). Uma cotação só
+ * lê esse vetor e multiplica: não cria LocalDate, não faz boxing e não aloca nada além do vetor
+ * de noites que o chamador fornece (e pode reaproveitar).
+ *
+ * Valor da noite = tarifa x (100% + ajuste do dia) x (100% - desconto por estadia), arredondado
+ * para o centavo (metade para cima). Ajustes de fim de semana e temporada se somam; o desconto
+ * por estadia é o da maior faixa que a estadia atinge.
+ */
+public class TabelaTarifas {
+
+    public static final LocalDate PRIMEIRO_DIA = LocalDate.of(2000, 1, 1);
+    public static final LocalDate ULTIMO_DIA = LocalDate.of(2100, 1, 1); // exclusivo
+
+    /**
+     * Maior tarifa padrão aceita na gravação. Com ela, tarifa x ajustes x desconto ainda cabe com
+     * folga num long de centavos; acima disso (ou NaN/infinito) a cotação não teria como calcular.
+     */
+    public static final double TARIFA_MAXIMA = 1_000_000.0;
+
+    static final int CEM_POR_CENTO = 10_000;
+    private static final long ESCALA = (long) CEM_POR_CENTO * CEM_POR_CENTO;
+
+    /**
+     * Ajuste de uma temporada entre {@code inicio} e {@code fim} (inclusivos; pode virar o ano).
+     */
+    public record Temporada(MonthDay inicio, MonthDay fim, int ajuste) {
+
+        boolean contem(MonthDay dia) {
+            return inicio.isAfter(fim)
+                    ? !dia.isBefore(inicio) || !dia.isAfter(fim)
+                    : !dia.isBefore(inicio) && !dia.isAfter(fim);
+        }
+    }
+
+    /**
+     * Desconto para estadias de {@code minimoDiarias} ou mais.
+     */
+    public record DescontoEstadia(int minimoDiarias, int desconto) {
+    }
+
+    private final long origem = PRIMEIRO_DIA.toEpochDay();
+    private final int[] fatorPorDia;
+    private final int[] minimosDiarias;
+    private final int[] descontos;
+
+    public TabelaTarifas(Set<DayOfWeek> fimDeSemana, int ajusteFimDeSemana, List<Temporada> temporadas,
+            List<DescontoEstadia> descontosEstadia) {
+        int dias = (int) (ULTIMO_DIA.toEpochDay() - origem);
+        this.fatorPorDia = new int[dias];
+        LocalDate dia = PRIMEIRO_DIA;
+        for (int i = 0; i < dias; i++, dia = dia.plusDays(1)) {
+            int fator = CEM_POR_CENTO;
+            if (fimDeSemana.contains(dia.getDayOfWeek())) {
+                fator += ajusteFimDeSemana;
+            }
+            MonthDay mesDia = MonthDay.from(dia);
+            for (Temporada temporada : temporadas) {
+                if (temporada.contem(mesDia)) {
+                    fator += temporada.ajuste();
+                    break;
+                }
+            }
+            if (fator < 0) {
+                throw new IllegalArgumentException("Os ajustes deixam a noite de " + dia + " com valor negativo.");
+            }
+            fatorPorDia[i] = fator;
+        }
+
+        List<DescontoEstadia> ordenados = descontosEstadia.stream()
+                .sorted(Comparator.comparingInt(DescontoEstadia::minimoDiarias))
+                .toList();
+        this.minimosDiarias = new int[ordenados.size()];
+        this.descontos = new int[ordenados.size()];
+        for (int i = 0; i < ordenados.size(); i++) {
+            DescontoEstadia faixa = ordenados.get(i);
+            if (faixa.minimoDiarias() <= 0 || faixa.desconto() < 0 || faixa.desconto() > CEM_POR_CENTO) {
+                throw new IllegalArgumentException("Faixa de desconto inválida: " + faixa);
+            }
+            minimosDiarias[i] = faixa.minimoDiarias();
+            descontos[i] = faixa.desconto();
+        }
+    }
+
+    /**
+     * Cota a estadia [entrada, saida) (LocalDate.toEpochDay) e devolve o total em centavos.
+     * Se {@code porNoite} não for nulo, recebe o valor de cada noite a partir da posição 0
+     * (precisa ter ao menos saida - entrada posições).
+     *
+     * @throws ArithmeticException se o valor não couber em um long (tarifa absurda)
+     */
+    public long cotar(long tarifaCentavos, long entrada, long saida, long[] porNoite) {
+        if (entrada < origem || saida > origem + fatorPorDia.length || entrada >= saida || tarifaCentavos < 0) {
+            throw new IllegalArgumentException("Estadia fora da tabela de tarifas.");
+        }
+        int primeiro = (int) (entrada - origem);
+        int diarias = (int) (saida - entrada);
+        long comDesconto = Math.multiplyExact(tarifaCentavos, CEM_POR_CENTO - this.descontoEstadia(diarias));
+
+        long total = 0;
+        for (int i = 0; i < diarias; i++) {
+            long noite = (Math.multiplyExact(comDesconto, fatorPorDia[primeiro + i]) + ESCALA / 2) / ESCALA;
+            if (porNoite != null) {
+                porNoite[i] = noite;
+            }
+            total += noite;
+        }
+        return total;
+    }
+
+    /**
+     * Desconto (em pontos-base) da maior faixa que a estadia atinge; 0 se nenhuma.
+     */
+    public int descontoEstadia(int diarias) {
+        int desconto = 0;
+        for (int i = 0; i < minimosDiarias.length && minimosDiarias[i] <= diarias; i++) {
+            desconto = descontos[i];
+        }
+        return desconto;
+    }
+
+    /**
+     * Tarifa em centavos (metade para cima), a partir do valor decimal gravado no tipo de quarto.
+     * BigDecimal.valueOf parte da representação decimal mais curta do double: 1.005 vira 101 centavos,
+     * enquanto Math.round(1.005 * 100) daria 100.
+     */
+    public static long centavos(Double tarifa) {
+        if (!Double.isFinite(tarifa)) {
+            throw new ArithmeticException("Tarifa não finita: " + tarifa);
+        }
+        return BigDecimal.valueOf(tarifa).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Valor em centavos como decimal com duas casas, para a resposta da API.
+     */
+    public static BigDecimal decimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Percentual da configuração (ex.: "12.5") em pontos-base (1250). Aceita até duas casas decimais.
+     */
+    public static int pontosBase(String percentual) {
+        return new BigDecimal(percentual.strip()).movePointRight(2).intValueExact();
+    }
+
+    /**
+     * Dias da semana separados por vírgula (ex.: "FRIDAY,SATURDAY"); vazio = nenhum.
+     */
+    public static Set<DayOfWeek> diasDaSemana(String dias) {
+        Set<DayOfWeek> resultado = EnumSet.noneOf(DayOfWeek.class);
+        for (String dia : dias.split(",")) {
+            if (!dia.isBlank()) {
+                resultado.add(DayOfWeek.valueOf(dia.strip().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Temporadas no formato "MM-dd..MM-dd=percentual", separadas por vírgula
+     * (ex.: "12-20..01-05=40, 07-01..07-31=25"); vazio = nenhuma.
+     */
+    public static List<Temporada> temporadas(String temporadas) {
+        List<Temporada> resultado = new ArrayList<>();
+        for (String item : temporadas.split(",")) {
+            if (item.isBlank()) {
+                continue;
+            }
+            String[] periodoAjuste = item.split("=");
+            String[] periodo = periodoAjuste[0].split("\\.\\.");
+            if (periodoAjuste.length != 2 || periodo.length != 2) {
+                throw new IllegalArgumentException("Temporada inválida: '" + item.strip() + "' (use MM-dd..MM-dd=percentual)");
+            }
+            resultado.add(new Temporada(MonthDay.parse("--" + periodo[0].strip()), MonthDay.parse("--" + periodo[1].strip()),
+                    pontosBase(periodoAjuste[1])));
+        }
+        return resultado;
+    }
+
+    /**
+     * Descontos por estadia no formato "diarias=percentual", separados por vírgula (ex.: "7=10, 14=15").
+     */
+    public static List<DescontoEstadia> descontosEstadia(String descontos) {
+        List<DescontoEstadia> resultado = new ArrayList<>();
+        for (String item : descontos.split(",")) {
+            if (item.isBlank()) {
+                continue;
+            }
+            String[] partes = item.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Desconto por estadia inválido: '" + item.strip() + "' (use diarias=percentual)");
+            }
+            resultado.add(new DescontoEstadia(Integer.parseInt(partes[0].strip()), pontosBase(partes[1])));
+        }
+        return resultado;
+    }
+}
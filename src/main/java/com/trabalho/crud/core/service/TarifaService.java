@@ -0,0 +1,178 @@
+package com.trabalho.crud.core.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.trabalho.crud.core.dto.CotacaoDto;
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class TarifaService {
+
+    static final int LOTE_MAXIMO = 10_000;
+
+    private final TipoQuartoRepository tipoQuartoRepository;
+    private final TabelaTarifas tabela;
+    private final ForkJoinPool pool;
+    private final CotadorLote cotadorLote;
+    private final Semaphore lotesEmAndamento;
+
+    public TarifaService(TipoQuartoRepository tipoQuartoRepository,
+            @Value("${hotel.tarifas.fim-de-semana.dias:FRIDAY,SATURDAY}") String diasFimDeSemana,
+            @Value("${hotel.tarifas.fim-de-semana.ajuste:0}") String ajusteFimDeSemana,
+            @Value("${hotel.tarifas.temporadas:}") String temporadas,
+            @Value("${hotel.tarifas.descontos-estadia:}") String descontosEstadia,
+            @Value("${hotel.cotacoes.paralelismo:0}") int paralelismo,
+            @Value("${hotel.cotacoes.lotes-simultaneos:4}") int lotesSimultaneos) {
+        this.tipoQuartoRepository = tipoQuartoRepository;
+        this.tabela = new TabelaTarifas(TabelaTarifas.diasDaSemana(diasFimDeSemana),
+                TabelaTarifas.pontosBase(ajusteFimDeSemana), TabelaTarifas.temporadas(temporadas),
+                TabelaTarifas.descontosEstadia(descontosEstadia));
+
+        // Pool próprio: cotações em lote não disputam o commonPool com parallel streams de outras partes
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("cotacao-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+        this.cotadorLote = new CotadorLote(pool, tabela);
+        this.lotesEmAndamento = new Semaphore(lotesSimultaneos);
+    }
+
+    /**
+     * Cota uma estadia de um tipo de quarto ativo: o valor de cada noite, com as regras da
+     * {@link TabelaTarifas} aplicadas sobre a tarifa padrão, e o total (a soma exata das noites).
+     */
+    public CotacaoDto cotar(Long tipoQuartoId, LocalDate entrada, LocalDate saida) {
+        this.validarPeriodo(tipoQuartoId, entrada, saida);
+        TipoQuarto tipoQuarto = tipoQuartoRepository.findById(tipoQuartoId)
+                .filter(TipoQuarto::isAtivo)
+                .orElseThrow(() -> BusinessException.notFoundException("Tipo de quarto não encontrado"));
+
+        long tarifa;
+        try {
+            tarifa = TabelaTarifas.centavos(tipoQuarto.getTarifaPadrao());
+        } catch (ArithmeticException ex) {
+            // Tarifa gravada antes da validação de TabelaTarifas.TARIFA_MAXIMA
+            throw new BusinessException("Tarifa fora do intervalo suportado.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        int diarias = (int) ChronoUnit.DAYS.between(entrada, saida);
+        long[] porNoite = new long[diarias];
+        long total = tabela.cotar(tarifa, entrada.toEpochDay(), saida.toEpochDay(), porNoite);
+
+        List<CotacaoDto.Noite> noites = new ArrayList<>(diarias);
+        for (int i = 0; i < diarias; i++) {
+            noites.add(new CotacaoDto.Noite(entrada.plusDays(i), TabelaTarifas.decimal(porNoite[i])));
+        }
+
+        var cotacao = new CotacaoDto();
+        cotacao.setTipoQuartoId(tipoQuartoId);
+        cotacao.setEntrada(entrada);
+        cotacao.setSaida(saida);
+        cotacao.setDiarias(diarias);
+        cotacao.setTarifaPadrao(TabelaTarifas.decimal(tarifa));
+        cotacao.setDescontoEstadia(TabelaTarifas.decimal(tabela.descontoEstadia(diarias)));
+        cotacao.setNoites(noites);
+        cotacao.setTotal(TabelaTarifas.decimal(total));
+        return cotacao;
+    }
+
+    /**
+     * Cota até {@link #LOTE_MAXIMO} combinações de uma vez. Os tipos de quarto envolvidos são lidos
+     * numa única consulta; o cálculo começa na hora, no pool de cotações, e os resultados são
+     * recebidos pelo {@link CotadorLote.Execucao#entregar} à medida que ficam prontos. Pedidos
+     * inválidos não derrubam o lote: cada um recebe o seu status.
+     *
+     * A resposta é assíncrona e fica fora do controle de admissão da API, então o número de lotes
+     * em cálculo tem limite próprio ({@code hotel.cotacoes.lotes-simultaneos}): acima dele, 503.
+     * A vaga só é devolvida quando o cálculo acaba (ou é cancelado), não quando o controller retorna.
+     */
+    public CotadorLote.Execucao cotarLote(List<PedidoCotacaoDto> pedidos) {
+        if (pedidos == null || pedidos.isEmpty()) {
+            throw new BusinessException("O lote deve ter ao menos um pedido.", HttpStatus.BAD_REQUEST);
+        }
+        if (pedidos.size() > LOTE_MAXIMO) {
+            throw new BusinessException("O lote pode ter no máximo " + LOTE_MAXIMO + " pedidos.", HttpStatus.BAD_REQUEST);
+        }
+        if (pedidos.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("O lote não pode ter pedidos nulos.", HttpStatus.BAD_REQUEST);
+        }
+
+        if (!lotesEmAndamento.tryAcquire()) {
+            throw new BusinessException("Limite de cotações em lote simultâneas atingido. Tente novamente em instantes.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return cotadorLote.iniciar(pedidos, this.tarifados(pedidos), LocalDate.now().toEpochDay(),
+                    lotesEmAndamento::release);
+        } catch (RuntimeException ex) {
+            lotesEmAndamento.release();
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    // Tarifa e capacidade dos tipos ativos citados no lote, numa única consulta. Uma tarifa gravada
+    // que não cabe em centavos (ex.: 1e300, anterior à validação na escrita) marca só aquele tipo
+    private Map<Long, CotadorLote.Tarifado> tarifados(List<PedidoCotacaoDto> pedidos) {
+        List<Long> ids = pedidos.stream()
+                .map(PedidoCotacaoDto::getTipoQuartoId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, CotadorLote.Tarifado> tipos = new HashMap<>();
+        for (TipoQuarto tipoQuarto : tipoQuartoRepository.findAllById(ids)) {
+            if (tipoQuarto.isAtivo()) {
+                long tarifa;
+                try {
+                    tarifa = TabelaTarifas.centavos(tipoQuarto.getTarifaPadrao());
+                } catch (ArithmeticException ex) {
+                    tarifa = CotadorLote.Tarifado.FORA_DO_INTERVALO;
+                }
+                tipos.put(tipoQuarto.getId(), new CotadorLote.Tarifado(tarifa, tipoQuarto.getCapacidadeMaxima()));
+            }
+        }
+        return tipos;
+    }
+
+    private void validarPeriodo(Long tipoQuartoId, LocalDate entrada, LocalDate saida) {
+        if (tipoQuartoId == null || entrada == null || saida == null) {
+            throw new BusinessException("Tipo de quarto, entrada e saída são obrigatórios.", HttpStatus.BAD_REQUEST);
+        }
+        if (!entrada.isBefore(saida)) {
+            throw new BusinessException("A saída deve ser depois da entrada.", HttpStatus.BAD_REQUEST);
+        }
+        if (entrada.isBefore(LocalDate.now())) {
+            throw new BusinessException("A entrada não pode ser no passado.", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(entrada, saida) > ReservaService.DIARIAS_MAXIMAS) {
+            throw new BusinessException("A cotação pode ter no máximo " + ReservaService.DIARIAS_MAXIMAS + " diárias.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (saida.isAfter(TabelaTarifas.ULTIMO_DIA)) {
+            throw new BusinessException("A saída deve ser até " + TabelaTarifas.ULTIMO_DIA + ".", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,88 +1,527 @@
 package com.trabalho.crud.core.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.AlteracoesDto;
+import com.trabalho.crud.core.dto.OperacaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.PaginaDto;
+import com.trabalho.crud.core.dto.ResultadoLoteDto;
+import com.trabalho.crud.core.dto.ResultadoOperacaoDto;
 import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.entity.BusinessException;
 import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.evento.TipoQuartoAlteradoEvento;
 import com.trabalho.crud.core.mapper.TipoQuartoMapper;
 import com.trabalho.crud.core.repository.TipoQuartoRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class TipoQuartoService {
 
+    static final int LIMITE_PADRAO = 50;
+    static final int LIMITE_MAXIMO = 500;
+    static final int LOTE_MAXIMO = 1000;
+
+    private enum Operacao { CRIAR, ALTERAR, INATIVAR, BUSCAR }
+
     private final TipoQuartoRepository repository;
     private final TipoQuartoMapper mapper;
+    private final VersaoCatalogo versaoCatalogo;
+    private final ApplicationEventPublisher eventos;
+    private final AgendaReservas agendaReservas;
+    private final Duration atrasoAlteracoes;
+    private final TransactionTemplate leitura;
+    private final CargaUnica<Boolean, List<TipoQuartoDto>> cargaLista;
+    private final CargaUnica<Long, TipoQuartoDto> cargaPorId;
 
-    public TipoQuartoService(TipoQuartoRepository repository, TipoQuartoMapper mapper) {
+    public TipoQuartoService(TipoQuartoRepository repository, TipoQuartoMapper mapper, VersaoCatalogo versaoCatalogo,
+            ApplicationEventPublisher eventos, AgendaReservas agendaReservas,
+            @Value("${hotel.alteracoes.atraso:2s}") Duration atrasoAlteracoes,
+            PlatformTransactionManager transactionManager, MeterRegistry registry,
+            @Value("${hotel.carga-unica.espera-maxima:2s}") Duration esperaMaxima) {
         this.repository = repository;
         this.mapper = mapper;
+        this.versaoCatalogo = versaoCatalogo;
+        this.eventos = eventos;
+        this.agendaReservas = agendaReservas;
+        this.atrasoAlteracoes = atrasoAlteracoes;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.cargaLista = new CargaUnica<>("lista", versaoCatalogo::atual, esperaMaxima, registry);
+        this.cargaPorId = new CargaUnica<>("porId", versaoCatalogo::atual, esperaMaxima, registry);
     }
 
     /**
      * Retorna uma lista de todos os tipos de quarto ATIVOS.
      * Tipos de quarto inativados não são retornados aqui.
+     * Lê direto como DTO, em transação somente leitura (sem flush nem dirty checking).
+     * Chamadas simultâneas compartilham uma única consulta (ver {@link CargaUnica}); a lista
+     * devolvida é imutável.
      */
     public List<TipoQuartoDto> findAll() {
-        return repository.findAll().stream()
-                .filter(TipoQuarto::isAtivo)
-                .map(mapper::toDto)
-                .toList();
+        return this.lerUmaVez(cargaLista, Boolean.TRUE,
+                () -> List.copyOf(this.lerSomente(repository::findAtivosDto)));
+    }
+
+    /**
+     * Retorna uma página de tipos de quarto ATIVOS usando paginação por keyset.
+     * Sem cursor, começa do início na ordenação pedida ("id" ou "nome"); com cursor,
+     * continua a partir do último item da página anterior.
+     */
+    public PaginaDto<TipoQuartoDto> findPage(String cursor, Integer limite, String ordenacao) {
+        int tamanho = this.resolveLimite(limite);
+        CursorPaginacao.Ordenacao ordem = this.resolveOrdenacao(ordenacao);
+
+        CursorPaginacao atual = cursor == null || cursor.isBlank()
+                ? CursorPaginacao.inicio(ordem)
+                : CursorPaginacao.decode(cursor);
+
+        if (ordenacao != null && atual.getOrdenacao() != ordem) {
+            throw new BusinessException("O cursor informado pertence a outra ordenação.", HttpStatus.BAD_REQUEST);
+        }
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<TipoQuarto> encontrados = atual.getOrdenacao() == CursorPaginacao.Ordenacao.ID
+                ? repository.findAtivosAposId(atual.getUltimoId(), tamanho + 1)
+                : repository.findAtivosAposNome(atual.getUltimoNome(), atual.getUltimoId(), tamanho + 1);
+
+        boolean temProxima = encontrados.size() > tamanho;
+        List<TipoQuarto> pagina = temProxima ? encontrados.subList(0, tamanho) : encontrados;
+
+        String proximoCursor = temProxima
+                ? CursorPaginacao.apos(atual.getOrdenacao(), pagina.get(pagina.size() - 1)).encode()
+                : null;
+
+        return new PaginaDto<>(pagina.stream().map(mapper::toDto).toList(), proximoCursor);
+    }
+
+    /**
+     * Entrega, um a um, todos os tipos de quarto ATIVOS ao consumidor (ex.: exportação),
+     * lendo do banco por cursor, sem montar a lista inteira em memória.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<TipoQuartoDto> consumidor) {
+        try (Stream<TipoQuarto> ativos = repository.streamAtivos()) {
+            ativos.map(mapper::toDto).forEach(consumidor);
+        }
+    }
+
+    /**
+     * Feed de alterações para réplicas: devolve, em ordem de (dataAtualizacao, id), os tipos de quarto
+     * criados, alterados ou inativados depois do cursor, inclusive os inativos (com ativo = false).
+     * Sem cursor, começa do início e entrega o catálogo inteiro. O cursor da resposta sempre vem
+     * preenchido e é o ponto de partida da próxima chamada, mesmo quando não houve alteração.
+     *
+     * Alterações mais recentes que o atraso configurado ficam para a próxima chamada: uma transação
+     * que carimbou a data antes e fez commit depois de outra não pode cair atrás de um cursor já entregue.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesDto alteracoes(String cursor, Integer limite) {
+        int tamanho = this.resolveLimite(limite);
+
+        CursorAlteracoes atual = cursor == null || cursor.isBlank()
+                ? CursorAlteracoes.inicio()
+                : CursorAlteracoes.decode(cursor);
+
+        LocalDateTime ate = LocalDateTime.now().minus(atrasoAlteracoes);
+
+        // Busca um item a mais só para saber se ainda há alterações depois desta página
+        List<AlteracaoTipoQuartoDto> encontradas = repository.findAlteracoes(
+                atual.getUltimaData(), atual.getUltimoId(), ate, tamanho + 1);
+
+        boolean temMais = encontradas.size() > tamanho;
+        List<AlteracaoTipoQuartoDto> itens = temMais ? encontradas.subList(0, tamanho) : encontradas;
+
+        CursorAlteracoes proximo = itens.isEmpty() ? atual : CursorAlteracoes.apos(itens.get(itens.size() - 1));
+
+        return new AlteracoesDto(itens, proximo.encode(), temMais);
     }
 
     /**
-     * Busca um tipo de quarto pelo ID.
+     * Versão atual do catálogo, para o GET condicional das listagens (ETag / If-None-Match).
+     */
+    public String versaoCatalogo() {
+        return versaoCatalogo.atual();
+    }
+
+    /**
+     * Busca um tipo de quarto pelo ID, como DTO e em transação somente leitura (a projeção só vale
+     * com o cache desligado: com ele, a falha carrega a entidade para o cache).
+     * Buscas simultâneas pelo mesmo ID compartilham uma única consulta (e o mesmo 404).
      */
     public TipoQuartoDto findById(Long id) {
-        return repository.findById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> BusinessException.notFoundException("Tipo de quarto não encontrado"));
+        return this.lerUmaVez(cargaPorId, id, () -> this.lerSomente(() -> repository.findDtoById(id))
+                .orElseThrow(() -> BusinessException.notFoundException("Tipo de quarto não encontrado")));
     }
 
     /**
      * Salva um novo tipo de quarto, aplicando as regras de negócio.
+     * O nome duplicado é detectado pelo índice único do banco (um único INSERT).
      */
     public TipoQuartoDto save(TipoQuartoDto tipoQuartoDto) {
-        this.validateSave(tipoQuartoDto);
+        this.validateCommonRules(tipoQuartoDto);
 
         var entity = mapper.toEntity(tipoQuartoDto);
 
         entity.setAtivo(true);
 
-        var savedEntity = repository.save(entity);
-        return mapper.toDto(savedEntity);
+        var savedEntity = this.comNomeUnico(() -> repository.save(entity));
+        versaoCatalogo.registrarAlteracao();
+
+        var salvo = mapper.toDto(savedEntity);
+        eventos.publishEvent(new TipoQuartoAlteradoEvento(TipoQuartoAlteradoEvento.Tipo.CRIADO, salvo));
+        return salvo;
     }
 
     /**
      * Atualiza um tipo de quarto existente.
+     * Emite um UPDATE direto dos campos editáveis, sem carregar a entidade antes.
      */
     public TipoQuartoDto update(Long id, TipoQuartoDto tipoQuartoDto) {
-        TipoQuarto existingEntity = this.findEntityById(id);
-        this.validateUpdate(id, tipoQuartoDto);
+        this.validateCommonRules(tipoQuartoDto);
 
         var entityToUpdate = mapper.toEntity(tipoQuartoDto);
-
         entityToUpdate.setId(id);
-        entityToUpdate.setAtivo(existingEntity.isAtivo());
-        entityToUpdate.setDataCriacao(existingEntity.getDataCriacao());
 
-        var updatedEntity = repository.save(entityToUpdate);
-        return mapper.toDto(updatedEntity);
+        int atualizados = this.comNomeUnico(() -> repository.atualizar(entityToUpdate));
+        if (atualizados == 0) {
+            throw BusinessException.notFoundException("Tipo de quarto não encontrado");
+        }
+        versaoCatalogo.registrarAlteracao();
+
+        var atualizado = mapper.toDto(entityToUpdate);
+        eventos.publishEvent(new TipoQuartoAlteradoEvento(TipoQuartoAlteradoEvento.Tipo.ALTERADO, atualizado));
+        return atualizado;
+    }
+
+    /**
+     * Cria (itens sem ID) ou atualiza (itens com ID) vários tipos de quarto de uma vez.
+     * Valida o lote inteiro numa passada, incluindo nomes repetidos dentro do próprio lote,
+     * consulta o banco com duas consultas IN e grava os itens válidos num único flush em batch.
+     * Itens inválidos não impedem os demais; cada item recebe seu próprio resultado.
+     */
+    @Transactional
+    public List<ResultadoLoteDto> saveAll(List<TipoQuartoDto> dtos) {
+        if (dtos == null || dtos.isEmpty() || dtos.size() > LOTE_MAXIMO) {
+            throw new BusinessException("O lote deve ter entre 1 e " + LOTE_MAXIMO + " itens.", HttpStatus.BAD_REQUEST);
+        }
+
+        var resultados = new ResultadoLoteDto[dtos.size()];
+        var indicePorNome = new HashMap<String, Integer>();
+        var idsParaAtualizar = new HashSet<Long>();
+
+        // 1. Regras de cada item e colisões dentro do próprio lote
+        for (int i = 0; i < dtos.size(); i++) {
+            TipoQuartoDto dto = dtos.get(i);
+            try {
+                this.validateCommonRules(dto);
+            } catch (BusinessException ex) {
+                resultados[i] = erroLote(i, dto, ex.getMessage(), ex.getStatus());
+                continue;
+            }
+
+            Integer anterior = indicePorNome.putIfAbsent(TipoQuarto.normalizarNome(dto.getNome()), i);
+            if (anterior != null) {
+                resultados[i] = erroLote(i, dto, "Nome repetido no lote (item " + anterior + ").", HttpStatus.CONFLICT);
+            } else if (dto.getId() != null && !idsParaAtualizar.add(dto.getId())) {
+                resultados[i] = erroLote(i, dto, "ID repetido no lote.", HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        // 2. Uma consulta para os nomes já usados e outra para os registros que serão atualizados
+        Map<String, TipoQuarto> existentesPorNome = repository.findByNomeNormalizadoIn(indicePorNome.keySet()).stream()
+                .collect(Collectors.toMap(TipoQuarto::getNomeNormalizado, Function.identity()));
+        Map<Long, TipoQuarto> existentesPorId = idsParaAtualizar.isEmpty()
+                ? Map.of()
+                : repository.findAllById(idsParaAtualizar).stream()
+                        .collect(Collectors.toMap(TipoQuarto::getId, Function.identity()));
+
+        // 3. Monta as entidades: novas para criação, as gerenciadas (já carregadas) para atualização
+        List<TipoQuarto> paraSalvar = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (resultados[i] != null) {
+                continue;
+            }
+            TipoQuartoDto dto = dtos.get(i);
+            TipoQuarto dono = existentesPorNome.get(TipoQuarto.normalizarNome(dto.getNome()));
+
+            if (dono != null && !dono.getId().equals(dto.getId())) {
+                resultados[i] = erroLote(i, dto, "Já existe um tipo de quarto com este nome.", HttpStatus.CONFLICT);
+                continue;
+            }
+
+            TipoQuarto entity;
+            if (dto.getId() == null) {
+                entity = mapper.toEntity(dto);
+                entity.setAtivo(true);
+            } else {
+                entity = existentesPorId.get(dto.getId());
+                if (entity == null) {
+                    resultados[i] = erroLote(i, dto, "Tipo de quarto não encontrado", HttpStatus.NOT_FOUND);
+                    continue;
+                }
+                entity.setNome(dto.getNome());
+                entity.setDescricao(dto.getDescricao());
+                entity.setCapacidadeMaxima(dto.getCapacidadeMaxima());
+                entity.setTarifaPadrao(dto.getTarifaPadrao());
+            }
+            paraSalvar.add(entity);
+            indices.add(i);
+        }
+
+        // 4. Um flush só: os INSERTs e UPDATEs saem em batch JDBC
+        if (!paraSalvar.isEmpty()) {
+            List<TipoQuarto> salvos = this.comNomeUnico(() -> repository.saveAllAndFlush(paraSalvar));
+            versaoCatalogo.registrarAlteracao();
+            for (int j = 0; j < salvos.size(); j++) {
+                int i = indices.get(j);
+                HttpStatus status = dtos.get(i).getId() == null ? HttpStatus.CREATED : HttpStatus.OK;
+                resultados[i] = new ResultadoLoteDto(i, salvos.get(j).getId(), status.toString(), null);
+                // Transacional: os eventos só saem no commit do lote
+                eventos.publishEvent(new TipoQuartoAlteradoEvento(status == HttpStatus.CREATED
+                        ? TipoQuartoAlteradoEvento.Tipo.CRIADO
+                        : TipoQuartoAlteradoEvento.Tipo.ALTERADO, mapper.toDto(salvos.get(j))));
+            }
+        }
+
+        return Arrays.asList(resultados);
     }
 
     /**
-     * Inativa um tipo de quarto.
+     * Executa, em ordem e numa única transação, uma lista de operações sobre tipos de quarto:
+     * "criar", "alterar", "inativar" e "buscar" (por ID). Os IDs citados no lote são lidos numa
+     * consulta IN e os nomes usados em outra; as operações mexem nas entidades gerenciadas desse
+     * contexto de persistência e tudo é gravado num único flush no fim. Uma busca vê o efeito das
+     * operações anteriores do lote.
+     * Operações inválidas não impedem as demais; cada uma recebe seu status e mensagem, no mesmo
+     * formato do ExceptionResponse, e o tipo de quarto resultante quando houver.
+     *
+     * Um nome só pode ser usado se estava livre antes do lote: renomear um tipo não libera o nome
+     * antigo para outra operação do mesmo lote, porque o flush não grava na ordem das operações.
+     */
+    @Transactional
+    public List<ResultadoOperacaoDto> executar(List<OperacaoTipoQuartoDto> operacoes) {
+        if (operacoes == null || operacoes.isEmpty() || operacoes.size() > LOTE_MAXIMO) {
+            throw new BusinessException("O lote deve ter entre 1 e " + LOTE_MAXIMO + " operações.", HttpStatus.BAD_REQUEST);
+        }
+
+        var resultados = new ResultadoOperacaoDto[operacoes.size()];
+        var tipos = new Operacao[operacoes.size()];
+        var ids = new HashSet<Long>();
+        var nomes = new HashSet<String>();
+
+        // 1. Regras de cada operação, sem ir ao banco
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoTipoQuartoDto operacao = operacoes.get(i);
+            try {
+                tipos[i] = this.validarOperacao(operacao);
+            } catch (BusinessException ex) {
+                resultados[i] = erroOperacao(i, operacao, ex);
+                continue;
+            }
+            if (tipos[i] != Operacao.CRIAR) {
+                ids.add(operacao.getId());
+            }
+            if (tipos[i] == Operacao.CRIAR || tipos[i] == Operacao.ALTERAR) {
+                nomes.add(TipoQuarto.normalizarNome(operacao.getTipoQuarto().getNome()));
+            }
+        }
+
+        // 2. Uma consulta IN para os IDs e outra para os nomes; o nome atual de cada tipo citado também tem dono
+        Map<Long, TipoQuarto> porId = ids.isEmpty()
+                ? Map.of()
+                : repository.findAllById(ids).stream().collect(Collectors.toMap(TipoQuarto::getId, Function.identity()));
+        Map<String, Long> donoPorNome = new HashMap<>();
+        if (!nomes.isEmpty()) {
+            repository.findByNomeNormalizadoIn(nomes).forEach(tipo -> donoPorNome.put(tipo.getNomeNormalizado(), tipo.getId()));
+        }
+        porId.values().forEach(tipo -> donoPorNome.putIfAbsent(tipo.getNomeNormalizado(), tipo.getId()));
+
+        // 3. Aplica em ordem sobre as entidades gerenciadas; buscas guardam o estado daquele momento
+        var entidades = new TipoQuarto[operacoes.size()];
+        var paraGravar = new LinkedHashSet<TipoQuarto>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            if (resultados[i] != null) {
+                continue;
+            }
+            OperacaoTipoQuartoDto operacao = operacoes.get(i);
+            try {
+                TipoQuarto entity = tipos[i] == Operacao.CRIAR ? null : porId.get(operacao.getId());
+                if (tipos[i] != Operacao.CRIAR && entity == null) {
+                    throw BusinessException.notFoundException("Tipo de quarto não encontrado");
+                }
+                switch (tipos[i]) {
+                    case CRIAR -> {
+                        reivindicarNome(donoPorNome, operacao.getTipoQuarto().getNome(), null);
+                        entity = mapper.toEntity(operacao.getTipoQuarto());
+                        entity.setId(null);
+                        entity.setAtivo(true);
+                    }
+                    case ALTERAR -> {
+                        TipoQuartoDto dto = operacao.getTipoQuarto();
+                        reivindicarNome(donoPorNome, dto.getNome(), entity.getId());
+                        entity.setNome(dto.getNome());
+                        entity.setDescricao(dto.getDescricao());
+                        entity.setCapacidadeMaxima(dto.getCapacidadeMaxima());
+                        entity.setTarifaPadrao(dto.getTarifaPadrao());
+                    }
+                    case INATIVAR -> this.marcarInativo(entity);
+                    case BUSCAR -> resultados[i] = new ResultadoOperacaoDto(i, entity.getId(), HttpStatus.OK.toString(),
+                            null, mapper.toDto(entity));
+                }
+                if (tipos[i] != Operacao.BUSCAR) {
+                    entidades[i] = entity;
+                    paraGravar.add(entity);
+                }
+            } catch (BusinessException ex) {
+                resultados[i] = erroOperacao(i, operacao, ex);
+            }
+        }
+
+        // 4. Um flush só para todas as escritas; os eventos saem no commit
+        if (!paraGravar.isEmpty()) {
+            this.comNomeUnico(() -> repository.saveAllAndFlush(paraGravar));
+            versaoCatalogo.registrarAlteracao();
+            for (int i = 0; i < operacoes.size(); i++) {
+                if (entidades[i] == null) {
+                    continue;
+                }
+                var dto = mapper.toDto(entidades[i]);
+                resultados[i] = switch (tipos[i]) {
+                    case CRIAR -> new ResultadoOperacaoDto(i, dto.getId(), HttpStatus.CREATED.toString(), null, dto);
+                    case ALTERAR -> new ResultadoOperacaoDto(i, dto.getId(), HttpStatus.OK.toString(), null, dto);
+                    default -> new ResultadoOperacaoDto(i, dto.getId(), HttpStatus.NO_CONTENT.toString(), null, null);
+                };
+                eventos.publishEvent(new TipoQuartoAlteradoEvento(switch (tipos[i]) {
+                    case CRIAR -> TipoQuartoAlteradoEvento.Tipo.CRIADO;
+                    case ALTERAR -> TipoQuartoAlteradoEvento.Tipo.ALTERADO;
+                    default -> TipoQuartoAlteradoEvento.Tipo.INATIVADO;
+                }, dto));
+            }
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Inativa um tipo de quarto. Recusa (409) se ele tiver reservas ativas em andamento ou futuras;
+     * a verificação e a inativação acontecem com as reservas do tipo serializadas, então nenhuma
+     * reserva nova entra entre uma e outra.
      */
     public void deleteById(Long id) {
-        TipoQuarto entity = this.findEntityById(id);
+        this.findEntityById(id); // 404 antes de criar a agenda de um ID que não existe
+
+        agendaReservas.travado(id, () -> {
+            TipoQuarto entity = this.findEntityById(id);
+
+            if (agendaReservas.temReservasAtivas(id)) {
+                throw new BusinessException("O tipo de quarto possui reservas ativas e não pode ser inativado.",
+                        HttpStatus.CONFLICT);
+            }
+
+            entity.setAtivo(false);
+            repository.save(entity);
+            agendaReservas.marcarInativacao(id);
+            versaoCatalogo.registrarAlteracao();
+            eventos.publishEvent(new TipoQuartoAlteradoEvento(TipoQuartoAlteradoEvento.Tipo.INATIVADO, mapper.toDto(entity)));
+            return null;
+        });
+    }
+
+    private Operacao validarOperacao(OperacaoTipoQuartoDto operacao) {
+        if (operacao == null || operacao.getOperacao() == null) {
+            throw new BusinessException("A operação é obrigatória.", HttpStatus.BAD_REQUEST);
+        }
+        Operacao tipo = switch (operacao.getOperacao().toLowerCase(Locale.ROOT)) {
+            case "criar" -> Operacao.CRIAR;
+            case "alterar" -> Operacao.ALTERAR;
+            case "inativar" -> Operacao.INATIVAR;
+            case "buscar" -> Operacao.BUSCAR;
+            default -> throw new BusinessException("Operação inválida. Use 'criar', 'alterar', 'inativar' ou 'buscar'.",
+                    HttpStatus.BAD_REQUEST);
+        };
+        if (tipo != Operacao.CRIAR && operacao.getId() == null) {
+            throw new BusinessException("O ID é obrigatório para '" + operacao.getOperacao() + "'.", HttpStatus.BAD_REQUEST);
+        }
+        if (tipo == Operacao.CRIAR || tipo == Operacao.ALTERAR) {
+            if (operacao.getTipoQuarto() == null) {
+                throw new BusinessException("Os dados do tipo de quarto são obrigatórios para '" + operacao.getOperacao() + "'.",
+                        HttpStatus.BAD_REQUEST);
+            }
+            this.validateCommonRules(operacao.getTipoQuarto());
+        }
+        return tipo;
+    }
+
+    /**
+     * Inativação dentro do lote: a verificação de reservas e a marca de inativação acontecem com as
+     * reservas do tipo serializadas; a marca vale até o fim da transação do lote.
+     */
+    private void marcarInativo(TipoQuarto entity) {
+        agendaReservas.travado(entity.getId(), () -> {
+            if (agendaReservas.temReservasAtivas(entity.getId())) {
+                throw new BusinessException("O tipo de quarto possui reservas ativas e não pode ser inativado.",
+                        HttpStatus.CONFLICT);
+            }
+            entity.setAtivo(false);
+            agendaReservas.marcarInativacao(entity.getId());
+            return null;
+        });
+    }
 
-        // TODO: Implementar verificação de reservas ativas
+    // O nome é do tipo "id" (null = criado neste lote) se estava livre ou já era dele
+    private static void reivindicarNome(Map<String, Long> donoPorNome, String nome, Long id) {
+        String normalizado = TipoQuarto.normalizarNome(nome);
+        if (donoPorNome.containsKey(normalizado) && (id == null || !Objects.equals(donoPorNome.get(normalizado), id))) {
+            throw new BusinessException("Já existe um tipo de quarto com este nome.", HttpStatus.CONFLICT);
+        }
+        donoPorNome.put(normalizado, id);
+    }
+
+    /**
+     * Dentro de uma transação já aberta a leitura precisa ver o que a própria transação gravou,
+     * então não se junta à carga de outra requisição.
+     */
+    private <K, V> V lerUmaVez(CargaUnica<K, V> carga, K chave, Supplier<V> consulta) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return consulta.get();
+        }
+        return carga.carregar(chave, consulta);
+    }
 
-        entity.setAtivo(false);
-        repository.save(entity);
+    /**
+     * A transação é aberta só por quem de fato consulta: quem espera a carga de outra
+     * requisição não segura conexão do pool.
+     */
+    private <T> T lerSomente(Supplier<T> consulta) {
+        return leitura.execute(status -> consulta.get());
     }
 
     private void validateCommonRules(TipoQuartoDto dto) {
@@ -96,26 +535,65 @@ public class TipoQuartoService {
         if (dto.getCapacidadeMaxima() <= 0) {
             throw new BusinessException("Capacidade máxima deve ser maior que zero.", HttpStatus.BAD_REQUEST);
         }
+        // NaN e infinito chegam por CBOR, Smile e o formato colunar (doubles crus), e 1e300 pelo JSON
+        if (!Double.isFinite(dto.getTarifaPadrao())) {
+            throw new BusinessException("Tarifa padrão deve ser um número finito.", HttpStatus.BAD_REQUEST);
+        }
         if (dto.getTarifaPadrao() <= 0) {
             throw new BusinessException("Tarifa padrão deve ser maior que zero.", HttpStatus.BAD_REQUEST);
         }
+        if (dto.getTarifaPadrao() > TabelaTarifas.TARIFA_MAXIMA) {
+            throw new BusinessException("Tarifa padrão deve ser de no máximo "
+                    + TabelaTarifas.decimal(TabelaTarifas.centavos(TabelaTarifas.TARIFA_MAXIMA)) + ".", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Executa a escrita traduzindo a violação do índice único de nome para o 409 da API.
+     */
+    private <T> T comNomeUnico(Supplier<T> escrita) {
+        try {
+            return escrita.get();
+        } catch (DataIntegrityViolationException ex) {
+            if (isViolacaoNomeUnico(ex)) {
+                throw new BusinessException("Já existe um tipo de quarto com este nome.", HttpStatus.CONFLICT);
+            }
+            throw ex;
+        }
     }
 
-    private void validateSave(TipoQuartoDto dto) {
-        this.validateCommonRules(dto);
+    private static ResultadoLoteDto erroLote(int indice, TipoQuartoDto dto, String message, HttpStatus status) {
+        return new ResultadoLoteDto(indice, dto.getId(), status.toString(), message);
+    }
 
-        repository.findByNome(dto.getNome()).ifPresent(existing -> {
-            throw new BusinessException("Já existe um tipo de quarto com este nome.", HttpStatus.CONFLICT);
-        });
+    private static ResultadoOperacaoDto erroOperacao(int indice, OperacaoTipoQuartoDto operacao, BusinessException ex) {
+        return new ResultadoOperacaoDto(indice, operacao == null ? null : operacao.getId(), ex.getStatus().toString(),
+                ex.getMessage(), null);
     }
 
-    private void validateUpdate(Long id, TipoQuartoDto dto) {
-        this.validateCommonRules(dto);
+    private static boolean isViolacaoNomeUnico(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toUpperCase(Locale.ROOT).contains(TipoQuarto.UK_NOME_NORMALIZADO);
+    }
 
-        Optional<TipoQuarto> existing = repository.findByNome(dto.getNome());
-        if (existing.isPresent() && !existing.get().getId().equals(id)) {
-            throw new BusinessException("Já existe um tipo de quarto com este nome.", HttpStatus.CONFLICT);
+    private int resolveLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + LIMITE_MAXIMO + ".", HttpStatus.BAD_REQUEST);
+        }
+        return limite;
+    }
+
+    private CursorPaginacao.Ordenacao resolveOrdenacao(String ordenacao) {
+        if (ordenacao == null || ordenacao.equalsIgnoreCase("id")) {
+            return CursorPaginacao.Ordenacao.ID;
+        }
+        if (ordenacao.equalsIgnoreCase("nome")) {
+            return CursorPaginacao.Ordenacao.NOME;
         }
+        throw new BusinessException("Ordenação inválida. Use 'id' ou 'nome'.", HttpStatus.BAD_REQUEST);
     }
 
     private TipoQuarto findEntityById(Long id) {
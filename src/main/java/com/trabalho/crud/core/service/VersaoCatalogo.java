@@ -0,0 +1,60 @@
+package com.trabalho.crud.core.service;
+
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Versão do catálogo de tipos de quarto, incrementada a cada alteração feita pela {@link TipoQuartoService}.
+ * Vira o ETag das listagens: enquanto a versão não muda, o GET responde 304 sem consultar o banco.
+ *
+ * A versão leva um identificador desta instância, gerado na subida: após um restart, ou vinda de
+ * outra instância, nunca coincide com uma versão antiga. Alterações feitas fora da aplicação
+ * (ex.: pelo console do H2) não mudam a versão.
+ */
+@Component
+public class VersaoCatalogo {
+
+    private final String instancia = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Deve ser lida ANTES dos dados: se uma alteração entrar no meio, a resposta sai com a versão
+     * anterior e o próximo GET condicional simplesmente recebe 200.
+     */
+    public String atual() {
+        return instancia + "-" + versao.get();
+    }
+
+    /**
+     * Registra uma alteração. Dentro de uma transação, só incrementa ao término dela: incrementar
+     * antes do commit deixaria uma leitura concorrente guardar os dados antigos com a versão nova.
+     */
+    public void registrarAlteracao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versao.incrementAndGet();
+                }
+            });
+        } else {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * Versão de um único tipo de quarto, derivada da data da última atualização (ETag do GET por ID).
+     */
+    public static String daLinha(TipoQuartoDto dto) {
+        long micros = dto.getDataAtualizacao() == null ? 0
+                : dto.getDataAtualizacao().toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dto.getDataAtualizacao().getNano() / 1_000;
+        return dto.getId() + "-" + Long.toString(micros, 36);
+    }
+}
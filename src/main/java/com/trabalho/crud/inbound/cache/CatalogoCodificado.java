@@ -0,0 +1,120 @@
+package com.trabalho.crud.inbound.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resposta do GET /tipos-quarto já codificada: o JSON da lista de ativos (e uma cópia em gzip)
+ * guardado em ByteBuffers diretos, fora do heap. Enquanto a versão do catálogo não muda, a
+ * requisição não consulta o banco, não passa pelo mapper nem pelo Jackson e não aloca o corpo
+ * inteiro: os bytes são copiados do buffer direto para a resposta em blocos.
+ *
+ * A entrada é identificada pela {@link com.trabalho.crud.core.service.VersaoCatalogo}: qualquer
+ * escrita pela service muda a versão e a próxima leitura reconstrói tudo, trocando a entrada
+ * inteira de uma vez (JSON e gzip sempre da mesma versão). A memória da entrada antiga é
+ * liberada quando o GC coleta o ByteBuffer, depois que as respostas em andamento terminam.
+ */
+@Component
+public class CatalogoCodificado {
+
+    private record Entrada(String versao, ByteBuffer json, ByteBuffer gzip) {
+    }
+
+    private final TipoQuartoService service;
+    private final ObjectWriter jsonWriter;
+    private final int gzipMinimo;
+    private final AtomicReference<Entrada> atual = new AtomicReference<>();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private final Counter reconstrucoes;
+
+    public CatalogoCodificado(TipoQuartoService service, ObjectMapper objectMapper,
+            @Value("${hotel.cache.catalogo.gzip-minimo:1KB}") DataSize gzipMinimo,
+            MeterRegistry registry) {
+        this.service = service;
+        this.jsonWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TipoQuartoDto.class));
+        this.gzipMinimo = (int) gzipMinimo.toBytes();
+        this.reconstrucoes = registry.counter("hotel.cache.catalogo.reconstrucoes");
+        Gauge.builder("hotel.cache.catalogo.bytes", atual, CatalogoCodificado::bytes).register(registry);
+    }
+
+    /**
+     * Corpo da lista de ativos na versão atual do catálogo, em gzip se o cliente aceitar
+     * (e a lista for grande o bastante para valer a compressão).
+     */
+    public RespostaCodificada obter(boolean aceitaGzip) {
+        Entrada entrada = atual.get();
+        if (entrada == null || !entrada.versao().equals(service.versaoCatalogo())) {
+            entrada = this.reconstruir();
+        }
+
+        boolean gzip = aceitaGzip && entrada.gzip() != null;
+        // duplicate(): mesma memória, posição própria para cada resposta
+        ByteBuffer corpo = (gzip ? entrada.gzip() : entrada.json()).duplicate();
+        return new RespostaCodificada(corpo, gzip);
+    }
+
+    /**
+     * Uma reconstrução por vez: quem chega durante uma reconstrução espera e usa o resultado dela.
+     * A versão é lida antes dos dados, então os bytes nunca são mais antigos que a versão gravada.
+     */
+    private Entrada reconstruir() {
+        reconstrucao.lock();
+        try {
+            String versao = service.versaoCatalogo();
+            Entrada entrada = atual.get();
+            if (entrada != null && entrada.versao().equals(versao)) {
+                return entrada;
+            }
+
+            byte[] json = jsonWriter.writeValueAsBytes(service.findAll());
+            entrada = new Entrada(versao, direto(json), json.length >= gzipMinimo ? direto(gzip(json)) : null);
+            atual.set(entrada);
+            reconstrucoes.increment();
+            return entrada;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    private static ByteBuffer direto(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var saida = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gzip = new GZIPOutputStream(saida, 8192)) {
+            gzip.write(bytes);
+        }
+        return saida.toByteArray();
+    }
+
+    private static double bytes(AtomicReference<Entrada> atual) {
+        Entrada entrada = atual.get();
+        if (entrada == null) {
+            return 0;
+        }
+        return entrada.json().capacity() + (entrada.gzip() == null ? 0 : entrada.gzip().capacity());
+    }
+}
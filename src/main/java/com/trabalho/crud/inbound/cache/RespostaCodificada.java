@@ -0,0 +1,10 @@
+package com.trabalho.crud.inbound.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Corpo de resposta já codificado (JSON, possivelmente em gzip), pronto para ir ao socket.
+ * O buffer é uma visão própria desta resposta (posição independente) sobre a memória do cache.
+ */
+public record RespostaCodificada(ByteBuffer corpo, boolean gzip) {
+}
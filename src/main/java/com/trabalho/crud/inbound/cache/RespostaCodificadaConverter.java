@@ -0,0 +1,55 @@
+package com.trabalho.crud.inbound.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Escreve uma {@link RespostaCodificada} sem recodificar nada: os bytes do ByteBuffer direto são
+ * copiados em blocos para o stream da resposta, passando pelos filtros e embrulhos do container
+ * como qualquer outra resposta. Não há cópia completa do corpo no heap, mas cada bloco ainda passa
+ * por um byte[] e pelo buffer de saída do servidor antes do socket.
+ */
+public class RespostaCodificadaConverter extends AbstractHttpMessageConverter<RespostaCodificada> {
+
+    public RespostaCodificadaConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RespostaCodificada.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RespostaCodificada readInternal(Class<? extends RespostaCodificada> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Somente escrita.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(RespostaCodificada resposta, MediaType contentType) {
+        return (long) resposta.corpo().remaining();
+    }
+
+    @Override
+    protected void writeInternal(RespostaCodificada resposta, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer corpo = resposta.corpo();
+        // Sem fechar o canal: fecharia o stream da resposta, que é do container
+        WritableByteChannel saida = Channels.newChannel(outputMessage.getBody());
+        while (corpo.hasRemaining()) {
+            saida.write(corpo);
+        }
+    }
+}
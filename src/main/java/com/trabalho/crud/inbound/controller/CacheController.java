@@ -0,0 +1,32 @@
+package com.trabalho.crud.inbound.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.trabalho.crud.core.dto.CacheEstatisticasDto;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/cache")
+@ConditionalOnProperty(name = "hotel.cache.tipo-quarto.habilitado", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Cache", description = "Estatísticas do cache de tipos de quarto")
+public class CacheController {
+
+    private final CacheTipoQuartoRepository cache;
+
+    public CacheController(CacheTipoQuartoRepository cache) {
+        this.cache = cache;
+    }
+
+    @Operation(summary = "Estatísticas do cache de tipos de quarto", description = "Retorna tamanho, acertos, falhas e despejos do cache.")
+    @GetMapping("/tipos-quarto")
+    public ResponseEntity<CacheEstatisticasDto> getEstatisticasTiposQuarto() {
+        return ResponseEntity.ok(cache.estatisticas());
+    }
+}
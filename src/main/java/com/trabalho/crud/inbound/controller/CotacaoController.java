@@ -0,0 +1,111 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.trabalho.crud.core.dto.CotacaoDto;
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.dto.ResultadoCotacaoDto;
+import com.trabalho.crud.core.service.CotadorLote;
+import com.trabalho.crud.core.service.TarifaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/cotacoes")
+@Tag(name = "Cotações", description = "Preço de estadias a partir da tarifa padrão")
+public class CotacaoController {
+
+    private final TarifaService tarifaService;
+    private final ObjectWriter jsonWriter;
+
+    public CotacaoController(TarifaService tarifaService, ObjectMapper objectMapper) {
+        this.tarifaService = tarifaService;
+        // Como na exportação: o laço do lote decide quando descarregar o Writer
+        this.jsonWriter = objectMapper.writerFor(ResultadoCotacaoDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Operation(summary = "Cotar uma estadia", description = "Valor de cada noite de [entrada, saida) e o total, aplicando sobre a tarifa padrão os ajustes de fim de semana e temporada e o desconto por tamanho da estadia. Valores calculados em centavos, sem arredondamento acumulado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cotação calculada"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros ausentes, entrada no passado, saída não posterior à entrada ou mais de 90 diárias"),
+            @ApiResponse(responseCode = "404", description = "Tipo de quarto não encontrado ou inativo")
+    })
+    @GetMapping
+    public ResponseEntity<CotacaoDto> getCotacao(@RequestParam Long tipoQuartoId, @RequestParam LocalDate entrada,
+            @RequestParam LocalDate saida) {
+        return ResponseEntity.ok(tarifaService.cotar(tipoQuartoId, entrada, saida));
+    }
+
+    @Operation(summary = "Cotar em lote", description = "Cota até 10000 combinações (tipoQuartoId, entrada, diarias, hospedes) de uma vez. Os tipos de quarto são lidos numa única consulta e as combinações são avaliadas em paralelo; cada resultado é enviado em NDJSON (uma linha por pedido, com o índice dele) assim que fica pronto, fora da ordem do lote.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote aceito; cada linha traz o total ou o status do erro daquele pedido (400, 404)"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio, com pedidos nulos ou acima de 10000 pedidos"),
+            @ApiResponse(responseCode = "503", description = "Limite de lotes em cálculo simultâneo atingido")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<StreamingResponseBody> cotarLote(@RequestBody List<PedidoCotacaoDto> pedidos,
+            HttpServletRequest request) {
+        CotadorLote.Execucao execucao = tarifaService.cotarLote(pedidos);
+
+        // Timeout, erro ou fim da requisição (inclusive antes de a entrega começar): o pool para de calcular
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(CotacaoController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        execucao.cancelar();
+                    }
+                });
+
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            // Descarrega a cada bloco pronto: o cliente recebe as primeiras cotações antes do fim do lote
+            execucao.entregar(bloco -> {
+                try {
+                    for (ResultadoCotacaoDto resultado : bloco) {
+                        jsonWriter.writeValue(writer, resultado);
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ExportacaoTipoQuartoController.NDJSON)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,41 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.DisponibilidadeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/disponibilidade")
+@Tag(name = "Disponibilidade", description = "Busca de tipos de quarto livres por período e hóspedes")
+public class DisponibilidadeController {
+
+    private final DisponibilidadeService disponibilidadeService;
+
+    public DisponibilidadeController(DisponibilidadeService disponibilidadeService) {
+        this.disponibilidadeService = disponibilidadeService;
+    }
+
+    @Operation(summary = "Buscar tipos de quarto disponíveis", description = "Tipos de quarto ativos que comportam os hóspedes e estão livres em todos os dias de [entrada, saida), ordenados por ID. Respondido em memória, sem consultar o banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso (vazia se nada estiver livre)"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros ausentes, datas incoerentes, mais de 90 diárias ou período fora do horizonte")
+    })
+    @GetMapping
+    public ResponseEntity<List<TipoQuartoDto>> getDisponiveis(@RequestParam LocalDate entrada,
+            @RequestParam LocalDate saida, @RequestParam Integer hospedes) {
+        return ResponseEntity.ok(disponibilidadeService.buscar(entrada, saida, hospedes));
+    }
+}
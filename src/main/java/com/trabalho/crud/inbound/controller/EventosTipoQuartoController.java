@@ -0,0 +1,43 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.trabalho.crud.inbound.sse.TransmissorEventos;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/tipos-quarto/eventos")
+@Tag(name = "Tipos de Quarto", description = "API para gerenciamento de tipos de quarto")
+public class EventosTipoQuartoController {
+
+    private final TransmissorEventos transmissor;
+    private final long timeoutMillis;
+
+    public EventosTipoQuartoController(TransmissorEventos transmissor,
+            @Value("${hotel.eventos.timeout:30m}") Duration timeout) {
+        this.transmissor = transmissor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Operation(summary = "Acompanhar alterações em tempo real (SSE)", description = "Abre um stream text/event-stream com os eventos CRIADO, ALTERADO e INATIVADO (dados: o tipo de quarto em JSON), enviados após o commit. Ao reconectar, o navegador manda Last-Event-ID e recebe os eventos perdidos; se não for possível, recebe RESET e deve recarregar a lista.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream aberto"),
+            @ApiResponse(responseCode = "503", description = "Limite de conexões de eventos atingido")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(@RequestHeader(name = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return transmissor.assinar(new SseEmitter(timeoutMillis), ultimoEventoId);
+    }
+}
@@ -0,0 +1,123 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/tipos-quarto/exportacao")
+@Tag(name = "Tipos de Quarto", description = "API para gerenciamento de tipos de quarto")
+public class ExportacaoTipoQuartoController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    // Descarrega a cada N linhas para o cliente já ir recebendo os bytes
+    private static final int LINHAS_POR_FLUSH = 500;
+
+    private final TipoQuartoService tipoQuartoService;
+    private final ObjectWriter jsonWriter;
+
+    public ExportacaoTipoQuartoController(TipoQuartoService tipoQuartoService, ObjectMapper objectMapper) {
+        this.tipoQuartoService = tipoQuartoService;
+        // Não fecha nem descarrega o Writer a cada registro; quem controla é o laço da exportação
+        this.jsonWriter = objectMapper.writerFor(TipoQuartoDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Operation(summary = "Exportar tipos de quarto", description = "Exporta todos os tipos de quarto ATIVOS em NDJSON (uma linha JSON por registro) ou CSV, em streaming.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada; o corpo é enviado à medida que é lido do banco"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        boolean csv = switch (formato.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> false;
+            case "csv" -> true;
+            default -> throw new BusinessException("Formato inválido. Use 'ndjson' ou 'csv'.", HttpStatus.BAD_REQUEST);
+        };
+
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("id,nome,descricao,capacidadeMaxima,tarifaPadrao\n");
+            }
+
+            int[] linhas = {0};
+            tipoQuartoService.exportar(dto -> {
+                try {
+                    if (csv) {
+                        escreverCsv(writer, dto);
+                    } else {
+                        jsonWriter.writeValue(writer, dto);
+                        writer.write('\n');
+                    }
+                    // Descarrega logo após a primeira linha e depois a cada bloco
+                    if (++linhas[0] % LINHAS_POR_FLUSH == 1) {
+                        writer.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tipos-quarto." + (csv ? "csv" : "ndjson"))
+                .body(corpo);
+    }
+
+    private static void escreverCsv(Writer writer, TipoQuartoDto dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(campoCsv(dto.getNome()));
+        writer.write(',');
+        writer.write(campoCsv(dto.getDescricao()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getCapacidadeMaxima()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getTarifaPadrao()));
+        writer.write('\n');
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
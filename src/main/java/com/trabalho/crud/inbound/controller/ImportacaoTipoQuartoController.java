@@ -0,0 +1,78 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.trabalho.crud.core.dto.ImportacaoStatusDto;
+import com.trabalho.crud.core.service.ImportacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/tipos-quarto/importacoes")
+@Tag(name = "Tipos de Quarto", description = "API para gerenciamento de tipos de quarto")
+public class ImportacaoTipoQuartoController {
+
+    private final ImportacaoService importacaoService;
+
+    public ImportacaoTipoQuartoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    @Operation(summary = "Importar tipos de quarto", description = "Importa um arquivo NDJSON ou CSV (com cabeçalho) enviado no corpo da requisição. O formato vem do parâmetro 'formato' ou do Content-Type (application/x-ndjson ou text/csv).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Arquivo lido; a gravação termina em segundo plano. Acompanhe pelo status."),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "429", description = "Limite de importações simultâneas atingido")
+    })
+    @PostMapping
+    public ResponseEntity<ImportacaoStatusDto> importar(HttpServletRequest request,
+            @RequestParam(required = false) String formato) throws IOException {
+        // Lê direto do InputStream da requisição: o corpo nunca é carregado inteiro em memória
+        ImportacaoStatusDto status = importacaoService.importar(request.getInputStream(), resolverFormato(formato, request.getContentType()));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/tipos-quarto/importacoes/" + status.getId()))
+                .body(status);
+    }
+
+    @Operation(summary = "Status de uma importação", description = "Retorna o progresso e o relatório de erros (com o número da linha) de uma importação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retornado"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoStatusDto> getStatus(@PathVariable String id) {
+        return ResponseEntity.ok(importacaoService.status(id));
+    }
+
+    private static String resolverFormato(String formato, String contentType) {
+        if (formato != null) {
+            return formato;
+        }
+        if (contentType != null) {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            if (tipo.getSubtype().equals("csv")) {
+                return "csv";
+            }
+            if (tipo.getSubtype().equals("x-ndjson")) {
+                return "ndjson";
+            }
+        }
+        return null;
+    }
+}
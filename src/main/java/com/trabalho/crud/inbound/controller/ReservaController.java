@@ -0,0 +1,74 @@
+package com.trabalho.crud.inbound.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.service.ReservaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/reservas")
+@Tag(name = "Reservas", description = "API para reservas de tipos de quarto")
+public class ReservaController {
+
+    private final ReservaService reservaService;
+
+    public ReservaController(ReservaService reservaService) {
+        this.reservaService = reservaService;
+    }
+
+    @Operation(summary = "Reservar um tipo de quarto", description = "Cria uma reserva para o período [entrada, saida), com a saída exclusiva. O tipo de quarto precisa estar ativo, comportar os hóspedes e estar livre no período.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva criada"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos, datas incoerentes ou hóspedes acima da capacidade"),
+            @ApiResponse(responseCode = "404", description = "Tipo de quarto não encontrado ou inativo"),
+            @ApiResponse(responseCode = "409", description = "Já existe reserva ativa no período (Conflict)")
+    })
+    @PostMapping
+    public ResponseEntity<ReservaDto> createReserva(@RequestBody ReservaDto reservaDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservaService.reservar(reservaDto));
+    }
+
+    @Operation(summary = "Buscar reserva por ID", description = "Retorna a reserva, ativa ou cancelada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva encontrada"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservaDto> getReservaById(@PathVariable Long id) {
+        return ResponseEntity.ok(reservaService.findById(id));
+    }
+
+    @Operation(summary = "Listar reservas ativas de um tipo de quarto", description = "Reservas ativas em andamento ou futuras, ordenadas pela entrada.")
+    @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+    @GetMapping
+    public ResponseEntity<List<ReservaDto>> getReservasAtivas(@RequestParam Long tipoQuartoId) {
+        return ResponseEntity.ok(reservaService.findAtivasPorTipoQuarto(tipoQuartoId));
+    }
+
+    @Operation(summary = "Cancelar uma reserva", description = "Cancela a reserva e libera o período. Cancelar uma reserva já cancelada não tem efeito.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reserva cancelada"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelarReserva(@PathVariable Long id) {
+        reservaService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
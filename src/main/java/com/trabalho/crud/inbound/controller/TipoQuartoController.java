@@ -2,7 +2,11 @@ package com.trabalho.crud.inbound.controller;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,13 +15,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.trabalho.crud.core.dto.AlteracoesDto;
+import com.trabalho.crud.core.dto.PaginaDto;
+import com.trabalho.crud.core.dto.OperacaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.ResultadoLoteDto;
+import com.trabalho.crud.core.dto.ResultadoOperacaoDto;
 import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.service.TipoQuartoService;
+import com.trabalho.crud.core.service.VersaoCatalogo;
+import com.trabalho.crud.inbound.cache.CatalogoCodificado;
+import com.trabalho.crud.inbound.cache.RespostaCodificada;
+import com.trabalho.crud.inbound.formato.FormatosTipoQuarto;
 
 // Imports do Swagger
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,29 +45,114 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Tipos de Quarto", description = "API para gerenciamento de tipos de quarto")
 public class TipoQuartoController {
 
+    // O cliente pode guardar a resposta, mas revalida sempre (If-None-Match) antes de usá-la
+    private static final CacheControl REVALIDAR = CacheControl.noCache();
+
     private final TipoQuartoService tipoQuartoService;
+    private final CatalogoCodificado catalogoCodificado;
+    private final boolean catalogoEmCache;
 
-    public TipoQuartoController(TipoQuartoService tipoQuartoService) {
+    public TipoQuartoController(TipoQuartoService tipoQuartoService, CatalogoCodificado catalogoCodificado,
+            @Value("${hotel.cache.catalogo.habilitado:true}") boolean catalogoEmCache) {
         this.tipoQuartoService = tipoQuartoService;
+        this.catalogoCodificado = catalogoCodificado;
+        this.catalogoEmCache = catalogoEmCache;
     }
 
-    @Operation(summary = "Listar todos os tipos de quarto", description = "Retorna uma lista de todos os tipos de quarto ATIVOS.")
+    @Operation(summary = "Listar todos os tipos de quarto", description = "Retorna uma lista de todos os tipos de quarto ATIVOS. Além de JSON, responde em application/cbor, application/x-jackson-smile ou application/vnd.hotel.tipos-quarto.colunar conforme o Accept.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de tipos de quarto retornada com sucesso")
+            @ApiResponse(responseCode = "200", description = "Lista de tipos de quarto retornada com sucesso",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TipoQuartoDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag enviado em If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<List<TipoQuartoDto>> getAllTiposQuarto() {
-        return ResponseEntity.ok(tipoQuartoService.findAll());
+    public ResponseEntity<?> getAllTiposQuarto(WebRequest request) {
+        // Formatos binários (CBOR, Smile, colunar) são codificados a cada requisição; o cache de
+        // bytes guarda só o JSON, que é o que quase todo cliente pede
+        MediaType binario = FormatosTipoQuarto.binarioPreferido(request.getHeader(HttpHeaders.ACCEPT));
+        if (binario != null) {
+            String etag = tipoQuartoService.versaoCatalogo() + "-" + FormatosTipoQuarto.sufixo(binario);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(binario).body(tipoQuartoService.findAll());
+        }
+
+        String aceita = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean aceitaGzip = catalogoEmCache && aceita != null && aceita.contains("gzip");
+
+        // A versão é lida antes dos dados (ver VersaoCatalogo.atual). Para quem aceita gzip o ETag
+        // é fraco: vale para as duas codificações, e If-None-Match já compara de forma fraca
+        String versao = tipoQuartoService.versaoCatalogo();
+        String etag = aceitaGzip ? "W/\"" + versao + "\"" : versao;
+        if (request.checkNotModified(etag)) {
+            return null; // 304 já preparado, sem ir ao banco
+        }
+        if (!catalogoEmCache) {
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).varyBy(HttpHeaders.ACCEPT)
+                    .body(tipoQuartoService.findAll());
+        }
+
+        RespostaCodificada resposta = catalogoCodificado.obter(aceitaGzip);
+        var ok = ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (resposta.gzip()) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(resposta);
+    }
+
+    @Operation(summary = "Listar tipos de quarto paginados", description = "Retorna uma página de tipos de quarto ATIVOS. Use o 'proximoCursor' da resposta para buscar a página seguinte.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag enviado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor, limite ou ordenação inválidos")
+    })
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDto<TipoQuartoDto>> getPaginaTiposQuarto(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String ordenacao,
+            WebRequest request) {
+        // O ETag vale por URL (cursor, limite e ordenação inclusos), então a versão do catálogo basta
+        String versao = tipoQuartoService.versaoCatalogo();
+        if (request.checkNotModified(versao)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR)
+                .body(tipoQuartoService.findPage(cursor, limite, ordenacao));
+    }
+
+    @Operation(summary = "Listar alterações desde um cursor", description = "Feed incremental para réplicas: retorna os tipos de quarto criados, alterados ou inativados depois do cursor 'since' (inclusive os inativos). Sem 'since', retorna o catálogo inteiro. Guarde o 'cursor' da resposta e envie-o na próxima chamada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso (lista vazia se nada mudou)"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválidos")
+    })
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesDto> getAlteracoesTiposQuarto(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limite) {
+        // Sem ETag: a resposta depende do relógio (atraso do feed), não só da versão do catálogo
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore())
+                .body(tipoQuartoService.alteracoes(since, limite));
     }
 
     @Operation(summary = "Buscar tipo de quarto por ID", description = "Retorna um tipo de quarto específico pelo seu ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tipo de quarto encontrado"),
+            @ApiResponse(responseCode = "304", description = "Tipo de quarto inalterado desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Tipo de quarto não encontrado (via RequestHandler)")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TipoQuartoDto> getTipoQuartoById(@PathVariable Long id) {
-        return ResponseEntity.ok(tipoQuartoService.findById(id));
+    public ResponseEntity<TipoQuartoDto> getTipoQuartoById(@PathVariable Long id, WebRequest request) {
+        // Versão da própria linha: a busca por ID costuma sair do cache, sem ir ao banco
+        TipoQuartoDto dto = tipoQuartoService.findById(id);
+        String versao = VersaoCatalogo.daLinha(dto);
+        if (request.checkNotModified(versao)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR).body(dto);
     }
 
     @Operation(summary = "Criar um novo tipo de quarto", description = "Cria um novo tipo de quarto. O nome não pode ser duplicado.")
@@ -63,6 +166,28 @@ public class TipoQuartoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(tipoQuartoService.save(tipoQuartoDto));
     }
 
+    @Operation(summary = "Criar ou atualizar tipos de quarto em lote", description = "Recebe uma lista de tipos de quarto (JSON, CBOR, Smile ou colunar, conforme o Content-Type): itens sem ID são criados e itens com ID são atualizados. Retorna o resultado de cada item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; veja o status de cada item"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "409", description = "Conflito de nome detectado pelo banco durante a gravação")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoLoteDto>> saveLoteTiposQuarto(@RequestBody List<TipoQuartoDto> tiposQuarto) {
+        return ResponseEntity.ok(tipoQuartoService.saveAll(tiposQuarto));
+    }
+
+    @Operation(summary = "Executar operações em lote", description = "Recebe uma lista ordenada de operações ('criar', 'alterar', 'inativar', 'buscar') e executa todas numa única transação, com um único flush no fim. Os IDs citados são lidos numa só consulta. Retorna o status de cada operação (no formato das respostas de erro) e o tipo de quarto resultante.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; veja o status de cada operação"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo"),
+            @ApiResponse(responseCode = "409", description = "Conflito de nome detectado pelo banco durante a gravação")
+    })
+    @PostMapping("/operacoes")
+    public ResponseEntity<List<ResultadoOperacaoDto>> executarOperacoes(@RequestBody List<OperacaoTipoQuartoDto> operacoes) {
+        return ResponseEntity.ok(tipoQuartoService.executar(operacoes));
+    }
+
     @Operation(summary = "Atualizar um tipo de quarto", description = "Atualiza os dados de um tipo de quarto existente pelo seu ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tipo de quarto atualizado com sucesso"),
@@ -78,7 +203,8 @@ public class TipoQuartoController {
     @Operation(summary = "Inativar um tipo de quarto", description = "Realiza a inativação de um tipo de quarto. O registro não é apagado do banco de dados.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Tipo de quarto inativado com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Tipo de quarto não encontrado")
+            @ApiResponse(responseCode = "404", description = "Tipo de quarto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "O tipo de quarto tem reservas ativas (Conflict)")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTipoQuarto(@PathVariable Long id) {
@@ -0,0 +1,136 @@
+package com.trabalho.crud.inbound.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência que se ajusta pela latência observada (algoritmo de gradiente, no estilo
+ * do Gradient2 da Netflix), em vez de um número fixo escolhido no chute.
+ *
+ * São mantidas duas médias móveis do tempo de resposta: uma curta (o agora) e uma longa (a
+ * referência de quando o servidor estava folgado). Enquanto a curta fica dentro da tolerância
+ * da longa, o limite cresce devagar (gradiente 1 + uma pequena fila); quando as requisições
+ * passam a esperar por CPU, conexão ou lock, a curta sobe, o gradiente cai abaixo de 1 e o
+ * limite encolhe na mesma proporção. Uma requisição que termina em sobrecarga (5xx) corta o
+ * limite em 10% na hora (decréscimo multiplicativo do AIMD).
+ *
+ * O limite só cresce quando está de fato sendo usado: com pouca carga a latência não diz nada
+ * sobre a capacidade, e o limite ficaria inflado para o primeiro pico. Já a queda vale com
+ * qualquer ocupação: latência acima da tolerância é sinal de congestionamento (ex.: banco lento)
+ * mesmo com poucas vagas em uso.
+ */
+class LimiteAdaptativo {
+
+    enum Resultado {
+        /** Concluída: a latência entra na conta. */
+        SUCESSO,
+        /** Falhou por sobrecarga: o limite é cortado. */
+        SOBRECARGA,
+        /** A latência não representa o processamento (ex.: resposta assíncrona); só libera a vaga. */
+        IGNORAR
+    }
+
+    private static final double SUAVIZACAO = 0.2;
+    private static final double CORTE_SOBRECARGA = 0.9;
+    private static final int JANELA_CURTA = 10;
+    private static final int JANELA_LONGA = 500;
+    private static final int JANELA_LONGA_CONGESTIONADA = 50 * JANELA_LONGA;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final ReentrantLock ajuste = new ReentrantLock();
+
+    private volatile double limite;
+    private double rttCurto;
+    private double rttLongo;
+    private long amostras;
+
+    /**
+     * @param tolerancia quanto a latência recente pode superar a de referência antes de o limite
+     *        começar a cair (2.0 = até o dobro)
+     */
+    LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia) {
+        if (minimo < 1 || minimo > maximo || tolerancia < 1.0) {
+            throw new IllegalArgumentException("Limites inválidos: é preciso 1 <= mínimo <= máximo e tolerância >= 1.");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+    }
+
+    /**
+     * Ocupa uma vaga se houver, sem esperar.
+     */
+    boolean tentarEntrar() {
+        while (true) {
+            int atual = emVoo.get();
+            if (atual >= (int) limite) {
+                return false;
+            }
+            if (emVoo.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga ocupada em {@link #tentarEntrar()} e ajusta o limite com o resultado.
+     */
+    void sair(long rttNanos, Resultado resultado) {
+        int ocupadas = emVoo.getAndDecrement();
+        if (resultado == Resultado.IGNORAR) {
+            return;
+        }
+
+        ajuste.lock();
+        try {
+            if (resultado == Resultado.SOBRECARGA) {
+                limite = Math.max(minimo, limite * CORTE_SOBRECARGA);
+                return;
+            }
+            this.amostrar(Math.max(1, rttNanos), ocupadas);
+        } finally {
+            ajuste.unlock();
+        }
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emVoo() {
+        return emVoo.get();
+    }
+
+    private void amostrar(double rtt, int ocupadas) {
+        amostras++;
+        // Nas primeiras amostras as médias são a média simples, para não partir de zero
+        rttCurto = media(rttCurto, rtt, Math.min(amostras, JANELA_CURTA));
+        // Em congestionamento a referência quase não se move: senão, numa sobrecarga longa, ela
+        // alcançaria a latência ruim e o limite voltaria a subir justamente quando não deve
+        int janela = rttCurto > rttLongo * tolerancia ? JANELA_LONGA_CONGESTIONADA : JANELA_LONGA;
+        rttLongo = media(rttLongo, rtt, Math.min(amostras, janela));
+
+        // Depois de uma sobrecarga longa a referência fica alta demais; ela volta quando a carga alivia
+        if (rttLongo > rttCurto * 2) {
+            rttLongo *= 0.95;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttLongo / rttCurto));
+        double fila = Math.sqrt(limite);
+        double novo = limite * gradiente + fila;
+
+        // Com menos da metade das vagas em uso, a latência não mede a capacidade: não cresce
+        if (novo > limite && ocupadas < limite / 2) {
+            return;
+        }
+        limite = Math.max(minimo, Math.min(maximo, limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO));
+    }
+
+    private static double media(double anterior, double amostra, long janela) {
+        return anterior + (amostra - anterior) / janela;
+    }
+}
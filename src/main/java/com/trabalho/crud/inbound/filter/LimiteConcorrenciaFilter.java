@@ -0,0 +1,215 @@
+package com.trabalho.crud.inbound.filter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.entity.ExceptionResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controle de admissão da API (/tipos-quarto, /reservas, /disponibilidade e /cotacoes): limita quantas
+ * requisições são processadas ao mesmo tempo e recusa na hora, com 503 e Retry-After, as que passam do limite.
+ *
+ * Sem isso, numa sobrecarga as requisições se acumulam na fila do Tomcat e do pool de conexões até
+ * estourarem o timeout todas juntas: o servidor trabalha o tempo todo e quase nada sai a tempo.
+ * Recusando cedo (uma recusa custa microssegundos), as que entram continuam rápidas.
+ *
+ * O limite não é fixo: cada orçamento tem um {@link LimiteAdaptativo}, que cresce enquanto a
+ * latência se mantém e encolhe quando ela sobe. Leituras e escritas têm orçamentos separados,
+ * para que uma rajada de escritas (que disputam conexão e locks do banco) não derrube as leituras,
+ * servidas quase sempre pelo cache, e vice-versa.
+ *
+ * Com virtual threads não há o teto das 200 threads do Tomcat, e este filtro passa a ser o único
+ * limite (ver application-virtual.yaml). O stream de eventos e a importação ficam de fora: são
+ * conexões longas, com controle próprio, que ocupariam vagas e distorceriam a latência.
+ *
+ * Respostas assíncronas (como POST /cotacoes/lote) só devolvem a vaga quando terminam, mas não entram
+ * na medição de latência. A exportação, que segura um cursor do banco enquanto envia o corpo, tem um
+ * orçamento próprio e fixo ({@code hotel.concorrencia.exportacao.maximo}), também devolvido só no fim.
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.concorrencia.habilitado", havingValue = "true")
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private static final String[] API = {"/tipos-quarto", "/reservas", "/disponibilidade", "/cotacoes"};
+    private static final String[] FORA_DO_LIMITE = {"/tipos-quarto/eventos", "/tipos-quarto/importacoes"};
+    private static final String EXPORTACAO = "/tipos-quarto/exportacao";
+
+    private final LimiteAdaptativo leituras;
+    private final LimiteAdaptativo escritas;
+    private final Semaphore exportacoes;
+    private final ObjectMapper objectMapper;
+    private final Counter leiturasRejeitadas;
+    private final Counter escritasRejeitadas;
+    private final Counter exportacoesRejeitadas;
+
+    public LimiteConcorrenciaFilter(
+            @Value("${hotel.concorrencia.leitura.maximo:200}") int leituraMaximo,
+            @Value("${hotel.concorrencia.escrita.maximo:40}") int escritaMaximo,
+            @Value("${hotel.concorrencia.minimo:4}") int minimo,
+            @Value("${hotel.concorrencia.tolerancia:2.0}") double tolerancia,
+            @Value("${hotel.concorrencia.exportacao.maximo:4}") int exportacaoMaximo,
+            ObjectMapper objectMapper,
+            MeterRegistry registry) {
+        // Começa com um quarto do máximo e sobe sozinho se a latência permitir
+        this.leituras = new LimiteAdaptativo(leituraMaximo / 4, minimo, leituraMaximo, tolerancia);
+        this.escritas = new LimiteAdaptativo(escritaMaximo / 4, minimo, escritaMaximo, tolerancia);
+        this.exportacoes = new Semaphore(exportacaoMaximo);
+        this.objectMapper = objectMapper;
+        this.leiturasRejeitadas = registrar(registry, "leitura", leituras);
+        this.escritasRejeitadas = registrar(registry, "escrita", escritas);
+        Gauge.builder("hotel.concorrencia.limite", () -> exportacaoMaximo)
+                .description("Requisições simultâneas admitidas no momento")
+                .tag("orcamento", "exportacao").register(registry);
+        Gauge.builder("hotel.concorrencia.em_uso", exportacoes, vagas -> exportacaoMaximo - vagas.availablePermits())
+                .tag("orcamento", "exportacao").register(registry);
+        this.exportacoesRejeitadas = Counter.builder("hotel.concorrencia.rejeitadas")
+                .tag("orcamento", "exportacao").register(registry);
+    }
+
+    private static Counter registrar(MeterRegistry registry, String orcamento, LimiteAdaptativo limite) {
+        Gauge.builder("hotel.concorrencia.limite", limite, LimiteAdaptativo::limite)
+                .description("Requisições simultâneas admitidas no momento")
+                .tag("orcamento", orcamento).register(registry);
+        Gauge.builder("hotel.concorrencia.em_uso", limite, LimiteAdaptativo::emVoo)
+                .tag("orcamento", orcamento).register(registry);
+        return Counter.builder("hotel.concorrencia.rejeitadas")
+                .tag("orcamento", orcamento).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI();
+        for (String fora : FORA_DO_LIMITE) {
+            if (caminho.startsWith(fora)) {
+                return true;
+            }
+        }
+        for (String api : API) {
+            if (caminho.equals(api) || caminho.startsWith(api + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getRequestURI().startsWith(EXPORTACAO)) {
+            this.exportar(request, response, chain);
+            return;
+        }
+
+        boolean leitura = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        LimiteAdaptativo limite = leitura ? leituras : escritas;
+
+        if (!limite.tentarEntrar()) {
+            (leitura ? leiturasRejeitadas : escritasRejeitadas).increment();
+            this.recusar(response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        var resultado = LimiteAdaptativo.Resultado.SOBRECARGA;
+        boolean liberaAoConcluir = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // O tempo até o controller retornar não é a latência da resposta: não vira amostra
+                aoConcluir(request, () -> limite.sair(System.nanoTime() - inicio, LimiteAdaptativo.Resultado.IGNORAR));
+                liberaAoConcluir = true;
+            } else if (response.getStatus() < 500) {
+                resultado = LimiteAdaptativo.Resultado.SUCESSO;
+            }
+        } finally {
+            if (!liberaAoConcluir) {
+                limite.sair(System.nanoTime() - inicio, resultado);
+            }
+        }
+    }
+
+    private void exportar(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!exportacoes.tryAcquire()) {
+            exportacoesRejeitadas.increment();
+            this.recusar(response);
+            return;
+        }
+
+        boolean liberaAoConcluir = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                aoConcluir(request, exportacoes::release);
+                liberaAoConcluir = true;
+            }
+        } finally {
+            if (!liberaAoConcluir) {
+                exportacoes.release();
+            }
+        }
+    }
+
+    /**
+     * Roda {@code liberar} uma vez, quando a resposta assíncrona termina: o onComplete vem depois de
+     * concluir, expirar ou falhar, inclusive com o cliente desconectado.
+     */
+    private static void aoConcluir(HttpServletRequest request, Runnable liberar) {
+        request.getAsyncContext().addListener(new AsyncListener() {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                liberar.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Um novo ciclo assíncrono descarta os listeners: continua registrado para ele
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+        var corpo = ExceptionResponse.builder()
+                .message("Servidor sobrecarregado. Tente novamente em instantes.")
+                .status(HttpStatus.SERVICE_UNAVAILABLE.toString())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        // 1 ou 2 s: espalha as novas tentativas, para não voltarem todas no mesmo segundo
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(1 + ThreadLocalRandom.current().nextInt(2)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), corpo);
+    }
+}
@@ -0,0 +1,252 @@
+package com.trabalho.crud.inbound.formato;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Codificação colunar de listas de TipoQuartoDto (application/vnd.hotel.tipos-quarto.colunar).
+ * O esquema é fixo, então nenhum nome de campo vai no corpo; cada campo é gravado como uma coluna:
+ *
+ * <pre>
+ * "TQC1" | quantidade (varint)
+ * id:               presença | deltas em relação ao ID anterior (varint zigzag)
+ * nome, descricao:  presença | tamanho (varint) + UTF-8, por valor presente
+ * capacidadeMaxima: presença | varint zigzag
+ * tarifaPadrao:     presença | double IEEE 754, 8 bytes big-endian
+ * </pre>
+ *
+ * A presença é um bitmap com um bit por item (1 = valor não nulo); valores nulos não ocupam espaço
+ * na coluna. IDs em ordem crescente viram deltas de 1 byte.
+ */
+public final class CodecColunarTipoQuarto {
+
+    private static final byte[] ASSINATURA = {'T', 'Q', 'C', '1'};
+    private static final int COLUNAS = 5;
+
+    private CodecColunarTipoQuarto() {
+    }
+
+    public static byte[] escrever(List<TipoQuartoDto> dtos) {
+        var saida = new Saida(64 + dtos.size() * 96);
+        saida.bytes(ASSINATURA);
+        saida.varint(dtos.size());
+
+        saida.presenca(dtos, TipoQuartoDto::getId);
+        long anterior = 0;
+        for (TipoQuartoDto dto : dtos) {
+            if (dto.getId() != null) {
+                saida.zigzag(dto.getId() - anterior);
+                anterior = dto.getId();
+            }
+        }
+
+        escreverTexto(saida, dtos, TipoQuartoDto::getNome);
+        escreverTexto(saida, dtos, TipoQuartoDto::getDescricao);
+
+        saida.presenca(dtos, TipoQuartoDto::getCapacidadeMaxima);
+        for (TipoQuartoDto dto : dtos) {
+            if (dto.getCapacidadeMaxima() != null) {
+                saida.zigzag(dto.getCapacidadeMaxima());
+            }
+        }
+
+        saida.presenca(dtos, TipoQuartoDto::getTarifaPadrao);
+        for (TipoQuartoDto dto : dtos) {
+            if (dto.getTarifaPadrao() != null) {
+                saida.longo(Double.doubleToRawLongBits(dto.getTarifaPadrao()));
+            }
+        }
+        return saida.resultado();
+    }
+
+    /**
+     * @throws IllegalArgumentException se o conteúdo não estiver no formato (assinatura, tamanhos
+     *         ou quantidade incoerentes com o número de bytes recebidos)
+     */
+    public static List<TipoQuartoDto> ler(byte[] conteudo) {
+        try {
+            ByteBuffer entrada = ByteBuffer.wrap(conteudo);
+            byte[] assinatura = new byte[ASSINATURA.length];
+            entrada.get(assinatura);
+            if (!Arrays.equals(assinatura, ASSINATURA)) {
+                throw new IllegalArgumentException("Conteúdo colunar inválido: assinatura desconhecida.");
+            }
+
+            long quantidade = lerVarint(entrada);
+            // Cada coluna gasta ao menos o bitmap de presença: barra quantidades forjadas antes de alocar.
+            // Um varint de 10 bytes chega ao bit de sinal, então o valor lido pode ser negativo
+            if (quantidade < 0 || quantidade > (long) entrada.remaining() * 8 / COLUNAS) {
+                throw new IllegalArgumentException("Conteúdo colunar inválido: quantidade incoerente.");
+            }
+            int tamanho = (int) quantidade;
+            var dtos = new ArrayList<TipoQuartoDto>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                dtos.add(new TipoQuartoDto());
+            }
+
+            boolean[] presentes = lerPresenca(entrada, tamanho);
+            long anterior = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (presentes[i]) {
+                    anterior += lerZigzag(entrada);
+                    dtos.get(i).setId(anterior);
+                }
+            }
+
+            presentes = lerPresenca(entrada, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (presentes[i]) {
+                    dtos.get(i).setNome(lerTexto(entrada));
+                }
+            }
+            presentes = lerPresenca(entrada, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (presentes[i]) {
+                    dtos.get(i).setDescricao(lerTexto(entrada));
+                }
+            }
+
+            presentes = lerPresenca(entrada, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (presentes[i]) {
+                    dtos.get(i).setCapacidadeMaxima(Math.toIntExact(lerZigzag(entrada)));
+                }
+            }
+
+            presentes = lerPresenca(entrada, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (presentes[i]) {
+                    dtos.get(i).setTarifaPadrao(Double.longBitsToDouble(entrada.getLong()));
+                }
+            }
+
+            if (entrada.hasRemaining()) {
+                throw new IllegalArgumentException("Conteúdo colunar inválido: bytes sobrando no fim.");
+            }
+            return dtos;
+        } catch (BufferUnderflowException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Conteúdo colunar inválido: truncado ou corrompido.", ex);
+        }
+    }
+
+    private static void escreverTexto(Saida saida, List<TipoQuartoDto> dtos, Function<TipoQuartoDto, String> campo) {
+        saida.presenca(dtos, campo);
+        for (TipoQuartoDto dto : dtos) {
+            String valor = campo.apply(dto);
+            if (valor != null) {
+                byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+                saida.varint(utf8.length);
+                saida.bytes(utf8);
+            }
+        }
+    }
+
+    private static boolean[] lerPresenca(ByteBuffer entrada, int tamanho) {
+        var presentes = new boolean[tamanho];
+        for (int i = 0; i < tamanho; i += 8) {
+            int bits = entrada.get() & 0xFF;
+            for (int j = 0; j < 8 && i + j < tamanho; j++) {
+                presentes[i + j] = (bits & (1 << j)) != 0;
+            }
+        }
+        return presentes;
+    }
+
+    private static String lerTexto(ByteBuffer entrada) {
+        long tamanho = lerVarint(entrada);
+        if (tamanho < 0 || tamanho > entrada.remaining()) {
+            throw new IllegalArgumentException("Conteúdo colunar inválido: tamanho de texto incoerente.");
+        }
+        String valor = new String(entrada.array(), entrada.arrayOffset() + entrada.position(), (int) tamanho,
+                StandardCharsets.UTF_8);
+        entrada.position(entrada.position() + (int) tamanho);
+        return valor;
+    }
+
+    private static long lerZigzag(ByteBuffer entrada) {
+        long valor = lerVarint(entrada);
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static long lerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Conteúdo colunar inválido: varint longo demais.");
+    }
+
+    /**
+     * Buffer de escrita que cresce sob demanda.
+     */
+    private static final class Saida {
+
+        private byte[] buffer;
+        private int posicao;
+
+        Saida(int capacidadeInicial) {
+            this.buffer = new byte[capacidadeInicial];
+        }
+
+        void presenca(List<TipoQuartoDto> dtos, Function<TipoQuartoDto, ?> campo) {
+            int tamanho = dtos.size();
+            this.garantir((tamanho + 7) / 8);
+            for (int i = 0; i < tamanho; i += 8) {
+                int bits = 0;
+                for (int j = 0; j < 8 && i + j < tamanho; j++) {
+                    if (campo.apply(dtos.get(i + j)) != null) {
+                        bits |= 1 << j;
+                    }
+                }
+                buffer[posicao++] = (byte) bits;
+            }
+        }
+
+        void zigzag(long valor) {
+            this.varint((valor << 1) ^ (valor >> 63));
+        }
+
+        void varint(long valor) {
+            this.garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            buffer[posicao++] = (byte) valor;
+        }
+
+        void longo(long valor) {
+            this.garantir(8);
+            for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+                buffer[posicao++] = (byte) (valor >>> deslocamento);
+            }
+        }
+
+        void bytes(byte[] valor) {
+            this.garantir(valor.length);
+            System.arraycopy(valor, 0, buffer, posicao, valor.length);
+            posicao += valor.length;
+        }
+
+        byte[] resultado() {
+            return Arrays.copyOf(buffer, posicao);
+        }
+
+        private void garantir(int adicionais) {
+            if (posicao + adicionais > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicao + adicionais));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.trabalho.crud.inbound.formato;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+/**
+ * Lê e escreve List&lt;TipoQuartoDto&gt; no formato colunar ({@link CodecColunarTipoQuarto}).
+ * Não atende nenhum outro tipo: as demais respostas continuam em JSON (ou CBOR/Smile).
+ */
+public class ColunarTipoQuartoConverter extends AbstractGenericHttpMessageConverter<List<TipoQuartoDto>> {
+
+    public ColunarTipoQuartoConverter() {
+        super(FormatosTipoQuarto.COLUNAR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return listaDeTipoQuarto(type) && this.canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // ResponseEntity<?> não diz o tipo do corpo: aí vale a classe e a checagem na escrita
+        ResolvableType declarado = ResolvableType.forType(type != null ? type : clazz);
+        boolean generico = declarado.resolve() == null || declarado.resolve() == Object.class;
+        return (generico ? this.supports(clazz) : listaDeTipoQuarto(type)) && this.canWrite(mediaType);
+    }
+
+    @Override
+    public List<TipoQuartoDto> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return CodecColunarTipoQuarto.ler(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected List<TipoQuartoDto> readInternal(Class<? extends List<TipoQuartoDto>> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        return this.read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(List<TipoQuartoDto> dtos, Type type, HttpOutputMessage outputMessage) throws IOException {
+        for (Object item : dtos) {
+            if (!(item instanceof TipoQuartoDto)) {
+                throw new HttpMessageNotWritableException("Formato colunar só representa listas de tipos de quarto.");
+            }
+        }
+        outputMessage.getBody().write(CodecColunarTipoQuarto.escrever(dtos));
+    }
+
+    private static boolean listaDeTipoQuarto(Type type) {
+        ResolvableType tipo = ResolvableType.forType(type);
+        return tipo.resolve() != null && List.class.isAssignableFrom(tipo.resolve())
+                && tipo.asCollection().getGeneric(0).resolve() == TipoQuartoDto.class;
+    }
+}
@@ -0,0 +1,68 @@
+package com.trabalho.crud.inbound.formato;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos para listas de tipos de quarto, além do JSON (padrão). CBOR e Smile são
+ * escritos pelos conversores Jackson que o Spring MVC registra quando os módulos estão no
+ * classpath; o colunar, pelo {@link ColunarTipoQuartoConverter}.
+ */
+public final class FormatosTipoQuarto {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType COLUNAR = new MediaType("application", "vnd.hotel.tipos-quarto.colunar");
+
+    private static final List<MediaType> BINARIOS = List.of(CBOR, SMILE, COLUNAR);
+
+    private FormatosTipoQuarto() {
+    }
+
+    /**
+     * Formato binário preferido pelo cabeçalho Accept, ou null se o cliente prefere JSON (ou
+     * aceita qualquer coisa, ou não mandou Accept). Um tipo binário só ganha se vier, pela
+     * qualidade, antes de qualquer tipo que também aceite JSON.
+     */
+    public static MediaType binarioPreferido(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null; // O Spring responde ao Accept inválido na negociação normal
+        }
+        // Ordenação estável: com a mesma qualidade, vale a ordem do cabeçalho
+        aceitos.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            if (aceito.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            for (MediaType binario : BINARIOS) {
+                if (binario.equalsTypeAndSubtype(aceito)) {
+                    return binario;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sufixo do ETag por formato: o mesmo catálogo tem um corpo diferente em cada formato.
+     */
+    public static String sufixo(MediaType formato) {
+        if (COLUNAR.equalsTypeAndSubtype(formato)) {
+            return "colunar";
+        }
+        return SMILE.equalsTypeAndSubtype(formato) ? "smile" : "cbor";
+    }
+}
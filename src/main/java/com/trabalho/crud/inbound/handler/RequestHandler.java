@@ -4,16 +4,32 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.util.DisconnectedClientHelper;
 
 import com.trabalho.crud.core.entity.BusinessException;
 import com.trabalho.crud.core.entity.ExceptionResponse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RestControllerAdvice
 public class RequestHandler {
 
+	private final MeterRegistry registry;
+
+	public RequestHandler(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
 	@ExceptionHandler(Exception.class)
 	protected ResponseEntity<ExceptionResponse> handleException(Exception ex) {
+		// Cliente desconectou (ex.: fechou o stream de eventos): não há para quem responder
+		if (DisconnectedClientHelper.isClientDisconnectedException(ex)) {
+			return null;
+		}
+
 		final var message = ex.getMessage();
+		this.contar(HttpStatus.BAD_REQUEST, ex);
 
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
 			.body(ExceptionResponse.builder().message(message).status(HttpStatus.BAD_REQUEST.toString()).build());
@@ -22,9 +38,19 @@ public class RequestHandler {
 	@ExceptionHandler(BusinessException.class)
 	protected ResponseEntity<ExceptionResponse> handleBusinessException(BusinessException ex) {
 		final var message = ex.getMessage();
+		this.contar(ex.getStatus(), ex);
 
 		return ResponseEntity.status(ex.getStatus())
 			.body(ExceptionResponse.builder().message(message).status(ex.getStatus().toString()).build());
 	}
 
+	// Respostas de erro por status (404, 409, 400...) e tipo de exceção
+	private void contar(HttpStatus status, Exception ex) {
+		Counter.builder("hotel.respostas.erro")
+			.tag("status", String.valueOf(status.value()))
+			.tag("excecao", ex.getClass().getSimpleName())
+			.register(registry)
+			.increment();
+	}
+
 }
@@ -0,0 +1,50 @@
+package com.trabalho.crud.inbound.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffer circular com os últimos eventos transmitidos, para o cliente que reconecta com Last-Event-ID
+ * receber o que perdeu. Guarda só o JSON já serializado; o mais antigo é sobrescrito quando enche.
+ *
+ * Não é thread-safe: o {@link TransmissorEventos} só o acessa com o próprio lock.
+ */
+final class BufferEventos {
+
+    record Evento(long sequencia, String nome, String dados) {
+    }
+
+    private final Evento[] eventos;
+    private long ultimaSequencia;
+
+    BufferEventos(int capacidade) {
+        this.eventos = new Evento[capacidade];
+    }
+
+    Evento adicionar(String nome, String dados) {
+        var evento = new Evento(++ultimaSequencia, nome, dados);
+        eventos[(int) (evento.sequencia() % eventos.length)] = evento;
+        return evento;
+    }
+
+    long ultimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * Eventos posteriores à sequência informada, em ordem. Retorna null quando não dá para
+     * continuar dali: a sequência já saiu do buffer ou é de um evento que nunca existiu.
+     */
+    List<Evento> apos(long sequencia) {
+        long primeiraGuardada = Math.max(1, ultimaSequencia - eventos.length + 1);
+        if (sequencia > ultimaSequencia || sequencia < primeiraGuardada - 1) {
+            return null;
+        }
+
+        var perdidos = new ArrayList<Evento>((int) (ultimaSequencia - sequencia));
+        for (long s = sequencia + 1; s <= ultimaSequencia; s++) {
+            perdidos.add(eventos[(int) (s % eventos.length)]);
+        }
+        return perdidos;
+    }
+}
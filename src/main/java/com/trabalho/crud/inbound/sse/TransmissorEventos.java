@@ -0,0 +1,294 @@
+package com.trabalho.crud.inbound.sse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.evento.TipoQuartoAlteradoEvento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Transmite por SSE os eventos de tipo de quarto a todos os clientes conectados.
+ *
+ * Nenhuma conexão segura thread enquanto espera: o SseEmitter roda em modo assíncrono do Servlet.
+ * Cada assinante tem uma fila limitada, drenada por uma virtual thread que só existe enquanto
+ * há algo a enviar. Quem publica apenas enfileira, então um cliente lento não atrasa os demais;
+ * se a fila dele enche, a conexão é encerrada e o navegador reconecta com Last-Event-ID,
+ * recebendo do {@link BufferEventos} o que perdeu.
+ *
+ * O ID do evento leva um identificador desta instância: um Last-Event-ID de antes de um restart
+ * (ou já fora do buffer) recebe o evento RESET, avisando o cliente para recarregar a lista.
+ */
+@Component
+public class TransmissorEventos {
+
+    static final String EVENTO_RESET = "RESET";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransmissorEventos.class);
+    private static final BufferEventos.Evento ABERTURA = new BufferEventos.Evento(0, null, null);
+    private static final BufferEventos.Evento BATIMENTO = new BufferEventos.Evento(0, null, null);
+
+    private final String instancia = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final BufferEventos buffer;
+    private final int filaMaxima;
+    private final int maxAssinantes;
+    private final long reconexaoMillis;
+    private final ObjectWriter jsonWriter;
+    private final Executor envio;
+    private final Counter desconectadosLentos;
+    private ScheduledExecutorService batimento;
+
+    @Autowired
+    public TransmissorEventos(
+            @Value("${hotel.eventos.buffer:4096}") int tamanhoBuffer,
+            @Value("${hotel.eventos.fila-por-assinante:256}") int filaMaxima,
+            @Value("${hotel.eventos.max-assinantes:10000}") int maxAssinantes,
+            @Value("${hotel.eventos.reconexao:3s}") Duration reconexao,
+            @Value("${hotel.eventos.batimento:15s}") Duration intervaloBatimento,
+            ObjectMapper objectMapper,
+            MeterRegistry registry) {
+        this(tamanhoBuffer, filaMaxima, maxAssinantes, reconexao, objectMapper, registry,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("eventos-sse-", 0).factory()));
+
+        // Comentário periódico: mantém proxies com a conexão aberta e descobre clientes que já caíram
+        this.batimento = Executors.newSingleThreadScheduledExecutor(
+                tarefa -> Thread.ofPlatform().name("eventos-sse-batimento").daemon().unstarted(tarefa));
+        long intervalo = intervaloBatimento.toMillis();
+        batimento.scheduleAtFixedRate(this::enviarBatimento, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    TransmissorEventos(int tamanhoBuffer, int filaMaxima, int maxAssinantes, Duration reconexao,
+            ObjectMapper objectMapper, MeterRegistry registry, Executor envio) {
+        this.buffer = new BufferEventos(tamanhoBuffer);
+        this.filaMaxima = filaMaxima;
+        this.maxAssinantes = maxAssinantes;
+        this.reconexaoMillis = reconexao.toMillis();
+        this.jsonWriter = objectMapper.writerFor(TipoQuartoDto.class);
+        this.envio = envio;
+        this.desconectadosLentos = registry.counter("hotel.eventos.desconectados_lentos");
+        Gauge.builder("hotel.eventos.assinantes", assinantes, Set::size).register(registry);
+    }
+
+    /**
+     * Registra um novo assinante. Com Last-Event-ID, reenvia antes os eventos que ele perdeu;
+     * a reposição e a entrada na lista acontecem sob o mesmo lock da publicação, então nenhum
+     * evento se perde nem chega duas vezes.
+     */
+    public SseEmitter assinar(SseEmitter emitter, String ultimoEventoId) {
+        if (assinantes.size() >= maxAssinantes) {
+            throw new BusinessException("Limite de conexões de eventos atingido. Tente novamente em instantes.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        var assinante = new Assinante(emitter);
+        emitter.onCompletion(() -> this.remover(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> this.remover(assinante));
+
+        lock.lock();
+        try {
+            assinante.enfileirar(ABERTURA, false);
+            if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+                List<BufferEventos.Evento> perdidos = this.perdidosDesde(ultimoEventoId);
+                if (perdidos == null) {
+                    // Leva o ID atual: a próxima reconexão já continua daqui
+                    assinante.enfileirar(new BufferEventos.Evento(buffer.ultimaSequencia(), EVENTO_RESET, "{}"), false);
+                } else {
+                    perdidos.forEach(evento -> assinante.enfileirar(evento, false));
+                }
+            }
+            assinantes.add(assinante);
+        } finally {
+            lock.unlock();
+        }
+
+        assinante.agendar();
+        return emitter;
+    }
+
+    /**
+     * Recebe os eventos da service depois do commit (ou na hora, se a escrita não estava em transação).
+     * Serializa uma única vez e só enfileira: o envio a cada cliente acontece nas virtual threads.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(TipoQuartoAlteradoEvento evento) {
+        String dados;
+        try {
+            dados = jsonWriter.writeValueAsString(evento.getTipoQuarto());
+        } catch (JsonProcessingException ex) {
+            LOGGER.error("Evento {} do tipo de quarto {} não pôde ser serializado", evento.getTipo(),
+                    evento.getTipoQuarto().getId(), ex);
+            return;
+        }
+
+        lock.lock();
+        try {
+            var registrado = buffer.adicionar(evento.getTipo().name(), dados);
+            for (Assinante assinante : assinantes) {
+                this.entregar(assinante, registrado);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int assinantes() {
+        return assinantes.size();
+    }
+
+    void enviarBatimento() {
+        for (Assinante assinante : assinantes) {
+            this.entregar(assinante, BATIMENTO);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (batimento != null) {
+            batimento.shutdownNow();
+        }
+        for (Assinante assinante : assinantes) {
+            try {
+                assinante.emitter.complete();
+            } catch (IllegalStateException ex) {
+                // O servidor web já parou e reciclou a resposta
+            }
+        }
+        if (envio instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    private void entregar(Assinante assinante, BufferEventos.Evento evento) {
+        if (assinante.enfileirar(evento, true)) {
+            assinante.agendar();
+        } else {
+            // Fila cheia: o cliente não acompanha. Encerra; ele reconecta e se recupera pelo buffer
+            desconectadosLentos.increment();
+            this.remover(assinante);
+            assinante.emitter.complete();
+        }
+    }
+
+    private List<BufferEventos.Evento> perdidosDesde(String ultimoEventoId) {
+        int separador = ultimoEventoId.lastIndexOf('-');
+        if (separador < 0 || !ultimoEventoId.substring(0, separador).equals(instancia)) {
+            return null;
+        }
+        try {
+            return buffer.apos(Long.parseLong(ultimoEventoId.substring(separador + 1)));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinantes.remove(assinante);
+        assinante.encerrar();
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<BufferEventos.Evento> pendentes = new ArrayDeque<>();
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean encerrado;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean enfileirar(BufferEventos.Evento evento, boolean limitado) {
+            synchronized (pendentes) {
+                if (limitado && pendentes.size() >= filaMaxima) {
+                    return false;
+                }
+                pendentes.add(evento);
+                return true;
+            }
+        }
+
+        void agendar() {
+            if (!encerrado && agendado.compareAndSet(false, true)) {
+                envio.execute(this::drenar);
+            }
+        }
+
+        void encerrar() {
+            encerrado = true;
+            synchronized (pendentes) {
+                pendentes.clear();
+            }
+        }
+
+        private void drenar() {
+            try {
+                while (!encerrado) {
+                    BufferEventos.Evento evento;
+                    synchronized (pendentes) {
+                        evento = pendentes.poll();
+                    }
+                    if (evento == null) {
+                        agendado.set(false);
+                        // Algo pode ter chegado entre o poll vazio e o set(false)
+                        synchronized (pendentes) {
+                            if (pendentes.isEmpty() || !agendado.compareAndSet(false, true)) {
+                                return;
+                            }
+                        }
+                        continue;
+                    }
+                    this.enviar(evento);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Cliente desconectou (ou o emitter já foi encerrado)
+                remover(this);
+            }
+        }
+
+        private void enviar(BufferEventos.Evento evento) throws IOException {
+            if (evento == ABERTURA) {
+                emitter.send(SseEmitter.event().reconnectTime(reconexaoMillis).comment("conectado"));
+            } else if (evento == BATIMENTO) {
+                emitter.send(SseEmitter.event().comment("batimento"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(instancia + "-" + evento.sequencia())
+                        .name(evento.nome())
+                        .data(evento.dados()));
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.trabalho.crud.outbound.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.CacheEstatisticasDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Decorador do {@link TipoQuartoRepository} com cache em memória (Caffeine, política W-TinyLFU).
+ *
+ * As entidades ficam em um único cache por ID. A busca por nome usa um índice nome -> ID
+ * que sempre passa pelo cache por ID, então as duas consultas enxergam o mesmo registro.
+ * O cache guarda cópias: quem chama pode alterar a entidade recebida sem sujar o cache.
+ * A leitura por ID como DTO usa o mesmo cache: no acerto, o DTO sai da entidade cacheada; na falha,
+ * a entidade é carregada para preencher o cache. Com o cache ligado, a projeção do repositório
+ * decorado nunca é usada na leitura por ID, só com hotel.cache.tipo-quarto.habilitado=false.
+ * Listagens não são cacheadas e vão direto ao repositório decorado.
+ * Como {@link MeterBinder}, publica acertos, falhas e despejos no registry do Micrometer.
+ */
+public class CacheTipoQuartoRepository implements TipoQuartoRepository, MeterBinder {
+
+    private final TipoQuartoRepository delegate;
+    private final Cache<Long, TipoQuarto> porId;
+    private final Cache<String, Long> idPorNome;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CacheTipoQuartoRepository(TipoQuartoRepository delegate, long tamanhoMaximo, Duration ttl) {
+        this.delegate = delegate;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idPorNome = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public List<TipoQuarto> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TipoQuarto> findByAtivoTrueOrderByIdAsc() {
+        return delegate.findByAtivoTrueOrderByIdAsc();
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposId(Long ultimoId, int limite) {
+        return delegate.findAtivosAposId(ultimoId, limite);
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposNome(String ultimoNome, Long ultimoId, int limite) {
+        return delegate.findAtivosAposNome(ultimoNome, ultimoId, limite);
+    }
+
+    @Override
+    public List<AlteracaoTipoQuartoDto> findAlteracoes(LocalDateTime ultimaData, Long ultimoId, LocalDateTime ate, int limite) {
+        return delegate.findAlteracoes(ultimaData, ultimoId, ate, limite);
+    }
+
+    @Override
+    public Stream<TipoQuarto> streamAtivos() {
+        return delegate.streamAtivos();
+    }
+
+    @Override
+    public Optional<TipoQuarto> findById(Long id) {
+        TipoQuarto cached = porId.getIfPresent(id);
+        if (cached == null) {
+            // Carrega fora do cache: o get(chave, loader) do Caffeine segura o lock do bucket durante a
+            // carga, e uma carga esperando conexão do pool travava os saves que já tinham conexão e
+            // precisavam invalidar o mesmo bucket. Ausentes não ficam no cache.
+            long geracaoAntes = geracao.get();
+            Optional<TipoQuarto> carregado = delegate.findById(id);
+            if (carregado.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = copiar(carregado.get());
+            porId.asMap().putIfAbsent(id, cached);
+            // Houve invalidação durante a carga: o valor lido pode ser anterior a ela
+            if (geracao.get() != geracaoAntes) {
+                porId.asMap().remove(id, cached);
+            }
+        }
+        return Optional.of(copiar(cached));
+    }
+
+    @Override
+    public List<TipoQuartoDto> findAtivosDto() {
+        return delegate.findAtivosDto();
+    }
+
+    /**
+     * Na falha, carrega a entidade (e não a projeção) para preencher o cache, que também atende o findById.
+     */
+    @Override
+    public Optional<TipoQuartoDto> findDtoById(Long id) {
+        TipoQuarto cached = porId.getIfPresent(id);
+        if (cached == null) {
+            return this.findById(id).map(CacheTipoQuartoRepository::toDto);
+        }
+        return Optional.of(toDto(cached));
+    }
+
+    @Override
+    public Optional<TipoQuarto> findByNome(String nome) {
+        Long id = idPorNome.getIfPresent(nome);
+        if (id != null) {
+            Optional<TipoQuarto> encontrado = this.findById(id);
+            // O registro pode ter sido renomeado desde que o índice foi preenchido
+            if (encontrado.isPresent() && nome.equals(encontrado.get().getNome())) {
+                return encontrado;
+            }
+            idPorNome.invalidate(nome);
+        }
+
+        // Só o índice é preenchido aqui; a entidade entra no cache pelo carregamento por ID,
+        // evitando gravar no cache uma leitura que um save concorrente já tornou antiga
+        Optional<TipoQuarto> encontrado = delegate.findByNome(nome);
+        encontrado.ifPresent(entity -> idPorNome.put(nome, entity.getId()));
+        return encontrado;
+    }
+
+    /**
+     * Vai direto ao repositório: o chamador costuma alterar as entidades gerenciadas que recebe.
+     */
+    @Override
+    public List<TipoQuarto> findAllById(Iterable<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<TipoQuarto> findByNomeNormalizadoIn(Collection<String> nomesNormalizados) {
+        return delegate.findByNomeNormalizadoIn(nomesNormalizados);
+    }
+
+    @Override
+    public TipoQuarto save(TipoQuarto tipoQuarto) {
+        TipoQuarto salvo = delegate.save(tipoQuarto);
+        this.invalidar(salvo.getId(), tipoQuarto.getNome(), salvo.getNome());
+        return salvo;
+    }
+
+    @Override
+    public <S extends TipoQuarto> List<S> saveAllAndFlush(Iterable<S> tiposQuarto) {
+        List<S> salvos = delegate.saveAllAndFlush(tiposQuarto);
+        salvos.forEach(salvo -> this.invalidar(salvo.getId(), salvo.getNome()));
+        return salvos;
+    }
+
+    @Override
+    public int atualizar(TipoQuarto tipoQuarto) {
+        int atualizados = delegate.atualizar(tipoQuarto);
+        this.invalidar(tipoQuarto.getId(), tipoQuarto.getNome());
+        return atualizados;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        this.invalidar(id);
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public void limpar() {
+        geracao.incrementAndGet();
+        porId.invalidateAll();
+        idPorNome.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porId, "tipo_quarto");
+    }
+
+    public CacheEstatisticasDto estatisticas() {
+        CacheStats stats = porId.stats();
+
+        var dto = new CacheEstatisticasDto();
+        dto.setTamanho(porId.estimatedSize());
+        dto.setAcertos(stats.hitCount());
+        dto.setFalhas(stats.missCount());
+        dto.setDespejos(stats.evictionCount());
+        dto.setTaxaAcerto(stats.hitRate());
+        return dto;
+    }
+
+    /**
+     * Invalida o ID e os nomes informados, além do nome que estava no cache para o ID.
+     * Dentro de uma transação, invalida de novo após o término: uma leitura concorrente
+     * pode ter recarregado o valor antigo antes do commit.
+     */
+    private void invalidar(Long id, String... nomes) {
+        this.invalidarAgora(id, nomes);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidarAgora(id, nomes);
+                }
+            });
+        }
+    }
+
+    private void invalidarAgora(Long id, String... nomes) {
+        geracao.incrementAndGet(); // Antes da remoção: ver findById
+        TipoQuarto anterior = porId.asMap().remove(id);
+        if (anterior != null) {
+            idPorNome.invalidate(anterior.getNome());
+        }
+        for (String nome : nomes) {
+            if (nome != null) {
+                idPorNome.invalidate(nome);
+            }
+        }
+    }
+
+    // As entidades do cache nunca são alteradas, então o DTO pode sair delas sem cópia
+    private static TipoQuartoDto toDto(TipoQuarto entity) {
+        return new TipoQuartoDto(entity.getId(), entity.getNome(), entity.getDescricao(),
+                entity.getCapacidadeMaxima(), entity.getTarifaPadrao(), entity.getDataAtualizacao());
+    }
+
+    private static TipoQuarto copiar(TipoQuarto entity) {
+        return TipoQuarto.builder()
+                .id(entity.getId())
+                .nome(entity.getNome())
+                .descricao(entity.getDescricao())
+                .capacidadeMaxima(entity.getCapacidadeMaxima())
+                .tarifaPadrao(entity.getTarifaPadrao())
+                .ativo(entity.isAtivo())
+                .dataCriacao(entity.getDataCriacao())
+                .dataAtualizacao(entity.getDataAtualizacao())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.trabalho.crud.outbound.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.repository.ReservaRepository;
+
+@Repository
+@Profile("!test & !memoria")
+public interface JpaReservaRepository extends ReservaRepository, JpaRepository<Reserva, Long> {
+
+    // Usa o índice (tipoQuartoId, status, saida); roda uma vez por tipo de quarto, na carga da agenda
+    @Query("select r from Reserva r where r.tipoQuartoId = :tipoQuartoId"
+            + " and r.status = com.trabalho.crud.core.entity.Reserva.Status.ATIVA and r.saida > :saidaApos"
+            + " order by r.entrada")
+    @Override
+    List<Reserva> findAtivasPorTipoQuarto(@Param("tipoQuartoId") Long tipoQuartoId,
+            @Param("saidaApos") LocalDate saidaApos);
+
+    // Uma vez por dia, na montagem do calendário de disponibilidade
+    @Query("select r from Reserva r where r.status = com.trabalho.crud.core.entity.Reserva.Status.ATIVA"
+            + " and r.saida > :saidaApos")
+    @Override
+    List<Reserva> findAtivas(@Param("saidaApos") LocalDate saidaApos);
+}
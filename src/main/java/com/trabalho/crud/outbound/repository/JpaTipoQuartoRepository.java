@@ -1,17 +1,106 @@
 package com.trabalho.crud.outbound.repository;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.entity.TipoQuarto;
 import com.trabalho.crud.core.repository.TipoQuartoRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 @Repository
-@Profile("!test")
-public interface JpaTipoQuartoRepository extends TipoQuartoRepository, JpaRepository<TipoQuarto, Long> {
+@Profile("!test & !memoria")
+public interface JpaTipoQuartoRepository extends TipoQuartoRepository, JpaRepository<TipoQuarto, Long>, JpaTipoQuartoRepositoryCustom {
     @Override
     Optional<TipoQuarto> findByNome(String nome);
-}
\ No newline at end of file
+
+    @Override
+    List<TipoQuarto> findByAtivoTrueOrderByIdAsc();
+
+    @Override
+    List<TipoQuarto> findByNomeNormalizadoIn(Collection<String> nomesNormalizados);
+
+    // Projeções do lado de leitura: o Hibernate monta o DTO direto da linha, sem entidade no contexto de
+    // persistência nem snapshot para dirty checking; flush MANUAL (o antigo NEVER) dispensa o auto-flush
+    @Query("select new com.trabalho.crud.core.dto.TipoQuartoDto(t.id, t.nome, t.descricao, t.capacidadeMaxima, t.tarifaPadrao,"
+            + " t.dataAtualizacao)"
+            + " from TipoQuarto t where t.ativo = true order by t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Override
+    List<TipoQuartoDto> findAtivosDto();
+
+    @Query("select new com.trabalho.crud.core.dto.TipoQuartoDto(t.id, t.nome, t.descricao, t.capacidadeMaxima, t.tarifaPadrao,"
+            + " t.dataAtualizacao)"
+            + " from TipoQuarto t where t.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Override
+    Optional<TipoQuartoDto> findDtoById(@Param("id") Long id);
+
+    @Query("select new com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto(t.id, t.nome, t.descricao, t.capacidadeMaxima,"
+            + " t.tarifaPadrao, t.ativo, t.dataAtualizacao) from TipoQuarto t"
+            + " where (t.dataAtualizacao > :ultimaData or (t.dataAtualizacao = :ultimaData and t.id > :ultimoId))"
+            + " and t.dataAtualizacao < :ate"
+            + " order by t.dataAtualizacao, t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    List<AlteracaoTipoQuartoDto> findAlteracoes(@Param("ultimaData") LocalDateTime ultimaData, @Param("ultimoId") Long ultimoId,
+            @Param("ate") LocalDateTime ate, Limit limite);
+
+    @Query("select t from TipoQuarto t where t.ativo = true and t.id > :ultimoId order by t.id")
+    List<TipoQuarto> findAtivosAposId(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    @Query("select t from TipoQuarto t where t.ativo = true"
+            + " and (t.nome > :ultimoNome or (t.nome = :ultimoNome and t.id > :ultimoId))"
+            + " order by t.nome, t.id")
+    List<TipoQuarto> findAtivosAposNome(@Param("ultimoNome") String ultimoNome, @Param("ultimoId") Long ultimoId, Limit limite);
+
+    @Modifying
+    @Transactional
+    @Query("update TipoQuarto t set t.nome = :nome, t.nomeNormalizado = :nomeNormalizado, t.descricao = :descricao,"
+            + " t.capacidadeMaxima = :capacidadeMaxima, t.tarifaPadrao = :tarifaPadrao, t.dataAtualizacao = :dataAtualizacao"
+            + " where t.id = :id")
+    int atualizarCampos(@Param("id") Long id, @Param("nome") String nome, @Param("nomeNormalizado") String nomeNormalizado,
+            @Param("descricao") String descricao, @Param("capacidadeMaxima") Integer capacidadeMaxima,
+            @Param("tarifaPadrao") Double tarifaPadrao, @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Override
+    default int atualizar(TipoQuarto tipoQuarto) {
+        // UPDATE em massa não passa pelo @UpdateTimestamp, então a data vai explícita, já na precisão
+        // da coluna (TIMESTAMP(6)) para a resposta levar o mesmo valor que a próxima leitura
+        tipoQuarto.setDataAtualizacao(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return atualizarCampos(tipoQuarto.getId(), tipoQuarto.getNome(), TipoQuarto.normalizarNome(tipoQuarto.getNome()),
+                tipoQuarto.getDescricao(), tipoQuarto.getCapacidadeMaxima(), tipoQuarto.getTarifaPadrao(),
+                tipoQuarto.getDataAtualizacao());
+    }
+
+    @Override
+    default List<AlteracaoTipoQuartoDto> findAlteracoes(LocalDateTime ultimaData, Long ultimoId, LocalDateTime ate, int limite) {
+        return findAlteracoes(ultimaData, ultimoId, ate, Limit.of(limite));
+    }
+
+    @Override
+    default List<TipoQuarto> findAtivosAposId(Long ultimoId, int limite) {
+        return findAtivosAposId(ultimoId, Limit.of(limite));
+    }
+
+    @Override
+    default List<TipoQuarto> findAtivosAposNome(String ultimoNome, Long ultimoId, int limite) {
+        return findAtivosAposNome(ultimoNome, ultimoId, Limit.of(limite));
+    }
+}
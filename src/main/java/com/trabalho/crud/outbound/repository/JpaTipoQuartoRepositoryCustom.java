@@ -0,0 +1,14 @@
+package com.trabalho.crud.outbound.repository;
+
+import java.util.stream.Stream;
+
+import com.trabalho.crud.core.entity.TipoQuarto;
+
+/**
+ * Consultas do {@link JpaTipoQuartoRepository} que precisam do EntityManager diretamente.
+ */
+public interface JpaTipoQuartoRepositoryCustom {
+
+    Stream<TipoQuarto> streamAtivos();
+
+}
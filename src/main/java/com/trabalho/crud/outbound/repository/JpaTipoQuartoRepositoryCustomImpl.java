@@ -0,0 +1,32 @@
+package com.trabalho.crud.outbound.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.trabalho.crud.core.entity.TipoQuarto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class JpaTipoQuartoRepositoryCustomImpl implements JpaTipoQuartoRepositoryCustom {
+
+    static final int TAMANHO_FETCH = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Cursor "forward-only" (ScrollableResults do Hibernate) lendo {@value #TAMANHO_FETCH} linhas por vez.
+     * Cada entidade é desanexada ao ser entregue, então a memória não cresce com o tamanho da tabela.
+     */
+    @Override
+    public Stream<TipoQuarto> streamAtivos() {
+        return entityManager
+                .createQuery("select t from TipoQuarto t where t.ativo = true order by t.id", TipoQuarto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_FETCH)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+}
@@ -0,0 +1,65 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import com.trabalho.crud.core.entity.Reserva;
+
+/**
+ * Formato binário das reservas no diário e no snapshot.
+ *
+ * Registro do diário: a reserva inteira, como ficou depois da gravação (criação ou mudança de status).
+ * Reservas não são removidas, então não há outra operação.
+ */
+final class CodecReserva {
+
+    private CodecReserva() {
+    }
+
+    static byte[] gravacao(Reserva reserva) {
+        return CodecTipoQuarto.serializar(out -> escrever(out, reserva));
+    }
+
+    static Reserva aplicar(ByteBuffer registro) {
+        byte[] bytes = new byte[registro.remaining()];
+        registro.get(bytes);
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return ler(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Registro do diário inválido", ex);
+        }
+    }
+
+    static void escrever(DataOutput out, Reserva reserva) throws IOException {
+        out.writeLong(reserva.getId());
+        out.writeLong(reserva.getTipoQuartoId());
+        out.writeLong(reserva.getEntrada().toEpochDay());
+        out.writeLong(reserva.getSaida().toEpochDay());
+        out.writeInt(reserva.getHospedes());
+        CodecTipoQuarto.escreverTexto(out, reserva.getNomeHospede());
+        CodecTipoQuarto.escreverTexto(out, reserva.getStatus().name());
+        CodecTipoQuarto.escreverData(out, reserva.getDataCriacao());
+        CodecTipoQuarto.escreverData(out, reserva.getDataAtualizacao());
+    }
+
+    static Reserva ler(DataInput in) throws IOException {
+        var reserva = Reserva.builder()
+                .id(in.readLong())
+                .tipoQuartoId(in.readLong())
+                .entrada(LocalDate.ofEpochDay(in.readLong()))
+                .saida(LocalDate.ofEpochDay(in.readLong()))
+                .hospedes(in.readInt())
+                .nomeHospede(CodecTipoQuarto.lerTexto(in))
+                .status(Reserva.Status.valueOf(CodecTipoQuarto.lerTexto(in)))
+                .build();
+        reserva.setDataCriacao(CodecTipoQuarto.lerData(in));
+        reserva.setDataAtualizacao(CodecTipoQuarto.lerData(in));
+        return reserva;
+    }
+}
@@ -0,0 +1,151 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.trabalho.crud.core.entity.TipoQuarto;
+
+/**
+ * Formato binário dos tipos de quarto no diário e no snapshot.
+ *
+ * Registro do diário: [operação (byte)][quantidade (int)] seguido dos tipos de quarto (GRAVAR)
+ * ou dos IDs (REMOVER). Um lote inteiro vai num único registro, então é aplicado por inteiro ou não é.
+ */
+final class CodecTipoQuarto {
+
+    static final byte GRAVAR = 1;
+    static final byte REMOVER = 2;
+
+    private CodecTipoQuarto() {
+    }
+
+    static byte[] gravacao(Collection<TipoQuarto> tiposQuarto) {
+        return serializar(out -> {
+            out.writeByte(GRAVAR);
+            out.writeInt(tiposQuarto.size());
+            for (TipoQuarto tipoQuarto : tiposQuarto) {
+                escrever(out, tipoQuarto);
+            }
+        });
+    }
+
+    static byte[] remocao(long id) {
+        return serializar(out -> {
+            out.writeByte(REMOVER);
+            out.writeInt(1);
+            out.writeLong(id);
+        });
+    }
+
+    /**
+     * Decodifica um registro do diário, entregando cada tipo de quarto gravado ou ID removido.
+     */
+    static void aplicar(ByteBuffer registro, Consumer<TipoQuarto> gravar, LongConsumer remover) {
+        byte[] bytes = new byte[registro.remaining()];
+        registro.get(bytes);
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte operacao = in.readByte();
+            int quantidade = in.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                switch (operacao) {
+                    case GRAVAR -> gravar.accept(ler(in));
+                    case REMOVER -> remover.accept(in.readLong());
+                    default -> throw new IllegalStateException("Operação desconhecida no diário: " + operacao);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Registro do diário inválido", ex);
+        }
+    }
+
+    static void escrever(DataOutput out, TipoQuarto tipoQuarto) throws IOException {
+        out.writeLong(tipoQuarto.getId());
+        escreverTexto(out, tipoQuarto.getNome());
+        escreverTexto(out, tipoQuarto.getDescricao());
+        out.writeBoolean(tipoQuarto.getCapacidadeMaxima() != null);
+        if (tipoQuarto.getCapacidadeMaxima() != null) {
+            out.writeInt(tipoQuarto.getCapacidadeMaxima());
+        }
+        out.writeBoolean(tipoQuarto.getTarifaPadrao() != null);
+        if (tipoQuarto.getTarifaPadrao() != null) {
+            out.writeDouble(tipoQuarto.getTarifaPadrao());
+        }
+        out.writeBoolean(tipoQuarto.isAtivo());
+        escreverData(out, tipoQuarto.getDataCriacao());
+        escreverData(out, tipoQuarto.getDataAtualizacao());
+    }
+
+    static TipoQuarto ler(DataInput in) throws IOException {
+        long id = in.readLong();
+        String nome = lerTexto(in);
+        String descricao = lerTexto(in);
+        Integer capacidadeMaxima = in.readBoolean() ? in.readInt() : null;
+        Double tarifaPadrao = in.readBoolean() ? in.readDouble() : null;
+        boolean ativo = in.readBoolean();
+        return new TipoQuarto(id, nome, descricao, capacidadeMaxima, tarifaPadrao, ativo, lerData(in), lerData(in));
+    }
+
+    // Tamanho em int + UTF-8: o writeUTF do DataOutput limita o texto a 64 KB
+    static void escreverTexto(DataOutput out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String lerTexto(DataInput in) throws IOException {
+        int tamanho = in.readInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void escreverData(DataOutput out, LocalDateTime data) throws IOException {
+        out.writeBoolean(data != null);
+        if (data != null) {
+            out.writeLong(data.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(data.getNano());
+        }
+    }
+
+    static LocalDateTime lerData(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    static byte[] serializar(Escrita escrita) {
+        var bytes = new ByteArrayOutputStream(256);
+        try (var out = new DataOutputStream(bytes)) {
+            escrita.escrever(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // Não acontece em memória
+        }
+        return bytes.toByteArray();
+    }
+
+    @FunctionalInterface
+    interface Escrita {
+        void escrever(DataOutputStream out) throws IOException;
+    }
+}
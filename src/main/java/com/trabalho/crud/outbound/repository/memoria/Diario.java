@@ -0,0 +1,197 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diário (write-ahead log) só de acréscimo, em segmentos de tamanho fixo mapeados em memória.
+ *
+ * Cada registro é [tamanho (int)][CRC32C (int)][conteúdo]. O arquivo do segmento nasce com o tamanho
+ * final e zerado, então um tamanho 0 marca o fim; um registro cortado por uma queda (tamanho além do
+ * fim ou CRC diferente) também encerra a leitura e é descartado.
+ *
+ * Escrever no buffer mapeado já põe o registro no page cache do SO, o que sobrevive à queda do processo.
+ * Com {@code sincronizar}, cada registro também é forçado para o disco (sobrevive à queda da máquina).
+ * Não é thread-safe: quem grava precisa serializar as chamadas.
+ */
+final class Diario implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Diario.class);
+    private static final String PREFIXO = "diario-";
+    private static final String SUFIXO = ".wal";
+    private static final int CABECALHO = Integer.BYTES * 2;
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final boolean sincronizar;
+    private final CRC32C crc = new CRC32C();
+
+    private long segmento;
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Abre o diário começando um segmento novo ({@code primeiroSegmento}); os existentes são só lidos.
+     */
+    Diario(Path diretorio, long primeiroSegmento, int tamanhoSegmento, boolean sincronizar) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizar = sincronizar;
+        this.abrir(primeiroSegmento, tamanhoSegmento);
+    }
+
+    long segmentoAtual() {
+        return segmento;
+    }
+
+    void gravar(byte[] conteudo) {
+        int necessario = CABECALHO + conteudo.length;
+        if (buffer.remaining() < necessario) {
+            this.abrir(segmento + 1, Math.max(tamanhoSegmento, necessario + Integer.BYTES));
+        }
+
+        crc.reset();
+        crc.update(conteudo);
+        int inicio = buffer.position();
+        // O tamanho vai por último: até ele ser escrito, o registro continua parecendo o fim do diário
+        buffer.position(inicio + Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(conteudo);
+        buffer.putInt(inicio, conteudo.length);
+
+        if (sincronizar) {
+            buffer.force(inicio, necessario);
+        }
+    }
+
+    /**
+     * Fecha o segmento atual e começa o próximo. Retorna o número do novo segmento.
+     */
+    long rotacionar() {
+        this.abrir(segmento + 1, tamanhoSegmento);
+        return segmento;
+    }
+
+    /**
+     * Apaga os segmentos anteriores a {@code segmento} (já cobertos por um snapshot).
+     */
+    void apagarAnteriores(long segmento) {
+        for (Path arquivo : segmentos(diretorio)) {
+            if (numero(arquivo) < segmento) {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException ex) {
+                    LOGGER.warn("Não foi possível apagar o segmento antigo {}", arquivo, ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.fecharSegmento();
+    }
+
+    /**
+     * Entrega, em ordem, o conteúdo de cada registro válido dos segmentos a partir de {@code aPartirDe}.
+     * Retorna o maior número de segmento encontrado (ou {@code aPartirDe - 1} se não houver nenhum).
+     */
+    static long reproduzir(Path diretorio, long aPartirDe, Consumer<ByteBuffer> aplicar) {
+        long ultimo = aPartirDe - 1;
+        var crc = new CRC32C();
+
+        for (Path arquivo : segmentos(diretorio)) {
+            long numero = numero(arquivo);
+            if (numero < aPartirDe) {
+                continue;
+            }
+            ultimo = numero;
+
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                ByteBuffer leitura = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                while (leitura.remaining() >= CABECALHO) {
+                    int tamanho = leitura.getInt();
+                    int esperado = leitura.getInt();
+                    if (tamanho == 0) {
+                        break; // Fim do que foi escrito
+                    }
+                    if (tamanho < 0 || tamanho > leitura.remaining()) {
+                        LOGGER.warn("Registro incompleto no fim de {}; descartado", arquivo.getFileName());
+                        break;
+                    }
+                    ByteBuffer conteudo = leitura.slice(leitura.position(), tamanho);
+                    crc.reset();
+                    crc.update(conteudo.duplicate());
+                    if ((int) crc.getValue() != esperado) {
+                        LOGGER.warn("Registro corrompido em {} (CRC); o restante do segmento foi descartado", arquivo.getFileName());
+                        break;
+                    }
+                    aplicar.accept(conteudo);
+                    leitura.position(leitura.position() + tamanho);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Falha ao ler o diário " + arquivo, ex);
+            }
+        }
+        return ultimo;
+    }
+
+    private void abrir(long numero, int tamanho) {
+        this.fecharSegmento();
+        Path arquivo = diretorio.resolve(PREFIXO + String.format("%020d", numero) + SUFIXO);
+        try {
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            segmento = numero;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao criar o segmento do diário " + arquivo, ex);
+        }
+    }
+
+    private void fecharSegmento() {
+        if (canal == null) {
+            return;
+        }
+        try {
+            buffer.force();
+            canal.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao fechar o segmento do diário", ex);
+        }
+        canal = null;
+        buffer = null;
+    }
+
+    private static List<Path> segmentos(Path diretorio) {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(arquivo -> {
+                        String nome = arquivo.getFileName().toString();
+                        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao listar o diário em " + diretorio, ex);
+        }
+    }
+
+    private static long numero(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+}
@@ -0,0 +1,219 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.repository.ReservaRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reservas no profile "memoria", com a mesma durabilidade do MemoriaTipoQuartoRepository: cada
+ * gravação vai para o diário (WAL) antes de aparecer nas leituras, o estado é compactado em
+ * snapshots e, na subida, o snapshot e o diário posterior são reaplicados. Usa o subdiretório
+ * {@code reservas} de {@code hotel.memoria.diretorio}.
+ *
+ * Os valores guardados nunca são alterados, só substituídos; quem chama recebe cópias.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaReservaRepository implements ReservaRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoriaReservaRepository.class);
+
+    private final Path diretorio;
+    private final Diario diario;
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantLock compactacao = new ReentrantLock();
+    private final ScheduledExecutorService agendador;
+
+    private final Map<Long, Reserva> porId = new ConcurrentHashMap<>();
+
+    // Protegidos pelo lock de escrita
+    private long proximoId = 1;
+    private long gravacoesDesdeSnapshot;
+
+    public MemoriaReservaRepository(
+            @Value("${hotel.memoria.diretorio:./data/memoria}") Path diretorio,
+            @Value("${hotel.memoria.tamanho-segmento:64MB}") DataSize tamanhoSegmento,
+            @Value("${hotel.memoria.sincronizar:true}") boolean sincronizar,
+            @Value("${hotel.memoria.snapshot-intervalo:5m}") Duration intervaloSnapshot) {
+        this.diretorio = diretorio.resolve("reservas");
+        try {
+            Files.createDirectories(this.diretorio);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível criar o diretório " + this.diretorio, ex);
+        }
+
+        long inicio = System.nanoTime();
+        long primeiroSegmento = 1;
+        Optional<Snapshot.Conteudo<Reserva>> snapshot = Snapshot.ler(this.diretorio, CodecReserva::ler);
+        if (snapshot.isPresent()) {
+            snapshot.get().itens().forEach(reserva -> porId.put(reserva.getId(), reserva));
+            proximoId = snapshot.get().proximoId();
+            primeiroSegmento = snapshot.get().segmento();
+        }
+        long ultimoSegmento = Diario.reproduzir(this.diretorio, primeiroSegmento,
+                registro -> this.reaplicar(CodecReserva.aplicar(registro)));
+        LOGGER.info("Reservas em memória recuperadas de {}: {} reservas em {} ms",
+                this.diretorio, porId.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        // Sempre num segmento novo: o último pode terminar num registro cortado pela queda
+        this.diario = new Diario(this.diretorio, ultimoSegmento + 1, Math.toIntExact(tamanhoSegmento.toBytes()), sincronizar);
+
+        this.agendador = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("memoria-snapshot-reservas").daemon().factory());
+        long intervalo = intervaloSnapshot.toMillis();
+        agendador.scheduleWithFixedDelay(this::snapshotAgendado, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        return Optional.ofNullable(porId.get(id)).map(MemoriaReservaRepository::copia);
+    }
+
+    @Override
+    public List<Reserva> findAtivasPorTipoQuarto(Long tipoQuartoId, LocalDate saidaApos) {
+        return porId.values().stream()
+                .filter(reserva -> reserva.getTipoQuartoId().equals(tipoQuartoId) && reserva.isAtiva()
+                        && reserva.getSaida().isAfter(saidaApos))
+                .sorted(Comparator.comparing(Reserva::getEntrada))
+                .map(MemoriaReservaRepository::copia)
+                .toList();
+    }
+
+    @Override
+    public List<Reserva> findAtivas(LocalDate saidaApos) {
+        return porId.values().stream()
+                .filter(reserva -> reserva.isAtiva() && reserva.getSaida().isAfter(saidaApos))
+                .map(MemoriaReservaRepository::copia)
+                .toList();
+    }
+
+    /**
+     * Grava no diário e só então publica a reserva. O ID e as datas gerados são preenchidos na
+     * própria entidade recebida, como no JPA.
+     */
+    @Override
+    public Reserva save(Reserva reserva) {
+        escrita.lock();
+        try {
+            var salva = copia(reserva);
+            if (salva.getId() == null) {
+                salva.setId(proximoId);
+            }
+            Reserva anterior = porId.get(salva.getId());
+            LocalDateTime agora = LocalDateTime.now();
+            salva.setDataCriacao(anterior != null ? anterior.getDataCriacao() : agora);
+            salva.setDataAtualizacao(agora);
+
+            diario.gravar(CodecReserva.gravacao(salva));
+            proximoId = Math.max(proximoId, salva.getId() + 1);
+            gravacoesDesdeSnapshot++;
+            porId.put(salva.getId(), salva);
+
+            reserva.setId(salva.getId());
+            reserva.setDataCriacao(salva.getDataCriacao());
+            reserva.setDataAtualizacao(salva.getDataAtualizacao());
+            return copia(salva);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Grava um snapshot com o estado atual e apaga os segmentos do diário que ele tornou desnecessários.
+     */
+    public void snapshot() {
+        compactacao.lock();
+        try {
+            Snapshot.Conteudo<Reserva> conteudo;
+            escrita.lock();
+            try {
+                long segmento = diario.rotacionar();
+                conteudo = new Snapshot.Conteudo<>(segmento, proximoId, new ArrayList<>(porId.values()));
+                gravacoesDesdeSnapshot = 0;
+            } finally {
+                escrita.unlock();
+            }
+
+            Snapshot.gravar(diretorio, conteudo, CodecReserva::escrever);
+            diario.apagarAnteriores(conteudo.segmento());
+        } finally {
+            compactacao.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void fechar() {
+        agendador.shutdownNow();
+        this.snapshot();
+        escrita.lock();
+        try {
+            diario.close();
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private void snapshotAgendado() {
+        try {
+            escrita.lock();
+            try {
+                if (gravacoesDesdeSnapshot == 0) {
+                    return;
+                }
+            } finally {
+                escrita.unlock();
+            }
+            this.snapshot();
+        } catch (RuntimeException ex) {
+            // Sem snapshot o diário só cresce, mas nada se perde; tenta de novo no próximo intervalo
+            LOGGER.error("Falha ao gravar o snapshot das reservas em memória", ex);
+        }
+    }
+
+    private void reaplicar(Reserva reserva) {
+        proximoId = Math.max(proximoId, reserva.getId() + 1);
+        porId.put(reserva.getId(), reserva);
+    }
+
+    // Quem chama recebe cópias: alterar a entidade devolvida não muda o que está guardado
+    private static Reserva copia(Reserva reserva) {
+        var copia = Reserva.builder()
+                .id(reserva.getId())
+                .tipoQuartoId(reserva.getTipoQuartoId())
+                .entrada(reserva.getEntrada())
+                .saida(reserva.getSaida())
+                .hospedes(reserva.getHospedes())
+                .nomeHospede(reserva.getNomeHospede())
+                .status(reserva.getStatus())
+                .build();
+        copia.setDataCriacao(reserva.getDataCriacao());
+        copia.setDataAtualizacao(reserva.getDataAtualizacao());
+        return copia;
+    }
+}
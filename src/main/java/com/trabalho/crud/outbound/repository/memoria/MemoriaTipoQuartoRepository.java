@@ -0,0 +1,449 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.repository.TipoQuartoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Repositório em memória para rodar sem banco (profile "memoria"), com durabilidade em disco.
+ *
+ * Leituras não usam lock: cada índice é um mapa concorrente (ID, nome normalizado, ativos por ID,
+ * ativos por nome e todos por data de atualização) e os valores guardados nunca são alterados, só substituídos; quem chama recebe cópias.
+ * Escritas são serializadas por um único lock: validam, gravam no diário (WAL) e só então atualizam
+ * os índices. Um lote vai num único registro do diário, então é recuperado por inteiro ou não é.
+ *
+ * Periodicamente o estado é compactado num snapshot e os segmentos anteriores do diário são apagados.
+ * Na subida, carrega o snapshot e reaplica o diário a partir dele.
+ *
+ * Diferente do JPA, não há transação: cada chamada é atômica por si, e o rollback de uma transação
+ * da service não desfaz o que já foi gravado aqui.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaTipoQuartoRepository implements TipoQuartoRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoriaTipoQuartoRepository.class);
+
+    private final Path diretorio;
+    private final Diario diario;
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantLock compactacao = new ReentrantLock();
+    private final ScheduledExecutorService agendador;
+
+    private final Map<Long, TipoQuarto> porId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idPorNomeNormalizado = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, TipoQuarto> ativosPorId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ChaveNome, TipoQuarto> ativosPorNome = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ChaveAlteracao, TipoQuarto> porAlteracao = new ConcurrentSkipListMap<>();
+
+    // Protegidos pelo lock de escrita
+    private long proximoId = 1;
+    private long gravacoesDesdeSnapshot;
+
+    public MemoriaTipoQuartoRepository(
+            @Value("${hotel.memoria.diretorio:./data/memoria}") Path diretorio,
+            @Value("${hotel.memoria.tamanho-segmento:64MB}") DataSize tamanhoSegmento,
+            @Value("${hotel.memoria.sincronizar:true}") boolean sincronizar,
+            @Value("${hotel.memoria.snapshot-intervalo:5m}") Duration intervaloSnapshot) {
+        this.diretorio = diretorio;
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível criar o diretório " + diretorio, ex);
+        }
+
+        long inicio = System.nanoTime();
+        long primeiroSegmento = 1;
+        Optional<Snapshot.Conteudo<TipoQuarto>> snapshot = Snapshot.ler(diretorio, CodecTipoQuarto::ler);
+        if (snapshot.isPresent()) {
+            snapshot.get().itens().forEach(this::indexar);
+            proximoId = snapshot.get().proximoId();
+            primeiroSegmento = snapshot.get().segmento();
+        }
+        long ultimoSegmento = Diario.reproduzir(diretorio, primeiroSegmento,
+                registro -> CodecTipoQuarto.aplicar(registro, this::reaplicar, this::desindexar));
+        LOGGER.info("Repositório em memória recuperado de {}: {} tipos de quarto em {} ms",
+                diretorio, porId.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        // Sempre num segmento novo: o último pode terminar num registro cortado pela queda
+        this.diario = new Diario(diretorio, ultimoSegmento + 1, Math.toIntExact(tamanhoSegmento.toBytes()), sincronizar);
+
+        this.agendador = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("memoria-snapshot").daemon().factory());
+        long intervalo = intervaloSnapshot.toMillis();
+        agendador.scheduleWithFixedDelay(this::snapshotAgendado, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<TipoQuarto> findAll() {
+        return porId.values().stream().map(MemoriaTipoQuartoRepository::copiar).toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findByAtivoTrueOrderByIdAsc() {
+        return ativosPorId.values().stream().map(MemoriaTipoQuartoRepository::copiar).toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposId(Long ultimoId, int limite) {
+        return ativosPorId.tailMap(ultimoId, false).values().stream()
+                .limit(limite)
+                .map(MemoriaTipoQuartoRepository::copiar)
+                .toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposNome(String ultimoNome, Long ultimoId, int limite) {
+        return ativosPorNome.tailMap(new ChaveNome(ultimoNome, ultimoId), false).values().stream()
+                .limit(limite)
+                .map(MemoriaTipoQuartoRepository::copiar)
+                .toList();
+    }
+
+    /**
+     * Percorre o índice de ativos sem copiá-lo: o que for alterado durante a leitura pode ou não aparecer.
+     */
+    @Override
+    public Stream<TipoQuarto> streamAtivos() {
+        return ativosPorId.values().stream().map(MemoriaTipoQuartoRepository::copiar);
+    }
+
+    @Override
+    public Optional<TipoQuarto> findById(Long id) {
+        return Optional.ofNullable(porId.get(id)).map(MemoriaTipoQuartoRepository::copiar);
+    }
+
+    /**
+     * O DTO sai direto do valor guardado, sem a cópia intermediária da entidade.
+     */
+    @Override
+    public List<TipoQuartoDto> findAtivosDto() {
+        return ativosPorId.values().stream().map(MemoriaTipoQuartoRepository::toDto).toList();
+    }
+
+    @Override
+    public Optional<TipoQuartoDto> findDtoById(Long id) {
+        return Optional.ofNullable(porId.get(id)).map(MemoriaTipoQuartoRepository::toDto);
+    }
+
+    @Override
+    public List<AlteracaoTipoQuartoDto> findAlteracoes(LocalDateTime ultimaData, Long ultimoId, LocalDateTime ate, int limite) {
+        return porAlteracao.subMap(new ChaveAlteracao(ultimaData, ultimoId), false, new ChaveAlteracao(ate, 0L), false)
+                .values().stream()
+                .filter(tipoQuarto -> tipoQuarto.getDataAtualizacao().isBefore(ate))
+                .limit(limite)
+                .map(tipoQuarto -> new AlteracaoTipoQuartoDto(tipoQuarto.getId(), tipoQuarto.getNome(), tipoQuarto.getDescricao(),
+                        tipoQuarto.getCapacidadeMaxima(), tipoQuarto.getTarifaPadrao(), tipoQuarto.isAtivo(),
+                        tipoQuarto.getDataAtualizacao()))
+                .toList();
+    }
+
+    @Override
+    public Optional<TipoQuarto> findByNome(String nome) {
+        Long id = idPorNomeNormalizado.get(TipoQuarto.normalizarNome(nome));
+        TipoQuarto encontrado = id == null ? null : porId.get(id);
+        // O índice ignora caixa e espaços; a busca por nome é exata, como no banco
+        if (encontrado == null || !encontrado.getNome().equals(nome)) {
+            return Optional.empty();
+        }
+        return Optional.of(copiar(encontrado));
+    }
+
+    @Override
+    public List<TipoQuarto> findAllById(Iterable<Long> ids) {
+        List<TipoQuarto> encontrados = new ArrayList<>();
+        for (Long id : ids) {
+            TipoQuarto tipoQuarto = porId.get(id);
+            if (tipoQuarto != null) {
+                encontrados.add(copiar(tipoQuarto));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public List<TipoQuarto> findByNomeNormalizadoIn(Collection<String> nomesNormalizados) {
+        List<TipoQuarto> encontrados = new ArrayList<>();
+        for (String nomeNormalizado : nomesNormalizados) {
+            Long id = idPorNomeNormalizado.get(nomeNormalizado);
+            TipoQuarto tipoQuarto = id == null ? null : porId.get(id);
+            if (tipoQuarto != null) {
+                encontrados.add(copiar(tipoQuarto));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public TipoQuarto save(TipoQuarto tipoQuarto) {
+        this.saveAllAndFlush(List.of(tipoQuarto));
+        return tipoQuarto;
+    }
+
+    /**
+     * Grava o lote inteiro ou nada: a unicidade dos nomes é verificada antes de qualquer gravação.
+     * Os IDs e as datas gerados são preenchidos nas próprias entidades recebidas.
+     */
+    @Override
+    public <S extends TipoQuarto> List<S> saveAllAndFlush(Iterable<S> tiposQuarto) {
+        List<S> recebidos = new ArrayList<>();
+        tiposQuarto.forEach(recebidos::add);
+        if (recebidos.isEmpty()) {
+            return recebidos;
+        }
+
+        escrita.lock();
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            long id = proximoId;
+            List<TipoQuarto> novos = new ArrayList<>(recebidos.size());
+            for (S recebido : recebidos) {
+                Objects.requireNonNull(recebido.getNome(), "nome");
+                Long atual = recebido.getId() != null ? recebido.getId() : Long.valueOf(id++);
+                id = Math.max(id, atual + 1);
+                TipoQuarto anterior = porId.get(atual);
+                novos.add(new TipoQuarto(atual, recebido.getNome(), recebido.getDescricao(), recebido.getCapacidadeMaxima(),
+                        recebido.getTarifaPadrao(), recebido.isAtivo(), anterior != null ? anterior.getDataCriacao() : agora, agora));
+            }
+            this.verificarNomesUnicos(novos);
+
+            diario.gravar(CodecTipoQuarto.gravacao(novos));
+            proximoId = id;
+            gravacoesDesdeSnapshot++;
+            novos.forEach(this::indexar);
+
+            for (int i = 0; i < recebidos.size(); i++) {
+                S recebido = recebidos.get(i);
+                TipoQuarto novo = novos.get(i);
+                recebido.setId(novo.getId());
+                recebido.setDataCriacao(novo.getDataCriacao());
+                recebido.setDataAtualizacao(novo.getDataAtualizacao());
+            }
+        } finally {
+            escrita.unlock();
+        }
+        return recebidos;
+    }
+
+    @Override
+    public int atualizar(TipoQuarto tipoQuarto) {
+        escrita.lock();
+        try {
+            TipoQuarto anterior = porId.get(tipoQuarto.getId());
+            if (anterior == null) {
+                return 0;
+            }
+            Objects.requireNonNull(tipoQuarto.getNome(), "nome");
+            var novo = new TipoQuarto(anterior.getId(), tipoQuarto.getNome(), tipoQuarto.getDescricao(),
+                    tipoQuarto.getCapacidadeMaxima(), tipoQuarto.getTarifaPadrao(), anterior.isAtivo(),
+                    anterior.getDataCriacao(), LocalDateTime.now());
+            this.verificarNomesUnicos(List.of(novo));
+
+            diario.gravar(CodecTipoQuarto.gravacao(List.of(novo)));
+            gravacoesDesdeSnapshot++;
+            this.indexar(novo);
+            tipoQuarto.setDataAtualizacao(novo.getDataAtualizacao());
+            return 1;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        escrita.lock();
+        try {
+            if (!porId.containsKey(id)) {
+                return;
+            }
+            diario.gravar(CodecTipoQuarto.remocao(id));
+            gravacoesDesdeSnapshot++;
+            this.desindexar(id);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Grava um snapshot com o estado atual e apaga os segmentos do diário que ele tornou desnecessários.
+     * O lock de escrita só é segurado para virar o segmento e copiar as referências; o arquivo é
+     * escrito com as escritas já liberadas.
+     */
+    public void snapshot() {
+        compactacao.lock();
+        try {
+            Snapshot.Conteudo<TipoQuarto> conteudo;
+            escrita.lock();
+            try {
+                long segmento = diario.rotacionar();
+                conteudo = new Snapshot.Conteudo<>(segmento, proximoId, new ArrayList<>(porId.values()));
+                gravacoesDesdeSnapshot = 0;
+            } finally {
+                escrita.unlock();
+            }
+
+            Snapshot.gravar(diretorio, conteudo, CodecTipoQuarto::escrever);
+            diario.apagarAnteriores(conteudo.segmento());
+        } finally {
+            compactacao.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void fechar() {
+        agendador.shutdownNow();
+        this.snapshot();
+        escrita.lock();
+        try {
+            diario.close();
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private void snapshotAgendado() {
+        try {
+            escrita.lock();
+            try {
+                if (gravacoesDesdeSnapshot == 0) {
+                    return;
+                }
+            } finally {
+                escrita.unlock();
+            }
+            this.snapshot();
+        } catch (RuntimeException ex) {
+            // Sem snapshot o diário só cresce, mas nada se perde; tenta de novo no próximo intervalo
+            LOGGER.error("Falha ao gravar o snapshot do repositório em memória", ex);
+        }
+    }
+
+    /**
+     * Simula o índice único sobre o nome normalizado, considerando também os nomes do próprio lote
+     * e os registros do lote que estão deixando um nome livre.
+     */
+    private void verificarNomesUnicos(List<TipoQuarto> novos) {
+        Map<Long, String> nomesNoLote = new HashMap<>();
+        novos.forEach(novo -> nomesNoLote.put(novo.getId(), novo.getNomeNormalizado()));
+
+        Set<String> reservados = new HashSet<>();
+        for (TipoQuarto novo : novos) {
+            String nomeNormalizado = novo.getNomeNormalizado();
+            Long dono = idPorNomeNormalizado.get(nomeNormalizado);
+            boolean donoLiberaNome = dono != null && nomesNoLote.containsKey(dono)
+                    && !nomeNormalizado.equals(nomesNoLote.get(dono));
+            if (!reservados.add(nomeNormalizado) || (dono != null && !dono.equals(novo.getId()) && !donoLiberaNome)) {
+                throw new DataIntegrityViolationException("Unique index or primary key violation: " + TipoQuarto.UK_NOME_NORMALIZADO);
+            }
+        }
+    }
+
+    private void reaplicar(TipoQuarto tipoQuarto) {
+        proximoId = Math.max(proximoId, tipoQuarto.getId() + 1);
+        this.indexar(tipoQuarto);
+    }
+
+    private void indexar(TipoQuarto novo) {
+        Long id = novo.getId();
+        TipoQuarto anterior = porId.put(id, novo);
+        idPorNomeNormalizado.put(novo.getNomeNormalizado(), id);
+        porAlteracao.put(new ChaveAlteracao(novo.getDataAtualizacao(), id), novo);
+        if (novo.isAtivo()) {
+            ativosPorId.put(id, novo);
+            ativosPorNome.put(new ChaveNome(novo.getNome(), id), novo);
+        } else {
+            ativosPorId.remove(id);
+        }
+
+        if (anterior != null) {
+            if (!anterior.getDataAtualizacao().equals(novo.getDataAtualizacao())) {
+                porAlteracao.remove(new ChaveAlteracao(anterior.getDataAtualizacao(), id));
+            }
+            if (!anterior.getNomeNormalizado().equals(novo.getNomeNormalizado())) {
+                idPorNomeNormalizado.remove(anterior.getNomeNormalizado(), id);
+            }
+            if (anterior.isAtivo() && (!novo.isAtivo() || !anterior.getNome().equals(novo.getNome()))) {
+                ativosPorNome.remove(new ChaveNome(anterior.getNome(), id));
+            }
+        }
+    }
+
+    private void desindexar(long id) {
+        TipoQuarto anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        idPorNomeNormalizado.remove(anterior.getNomeNormalizado(), id);
+        ativosPorId.remove(id);
+        ativosPorNome.remove(new ChaveNome(anterior.getNome(), id));
+        porAlteracao.remove(new ChaveAlteracao(anterior.getDataAtualizacao(), id));
+    }
+
+    private static TipoQuartoDto toDto(TipoQuarto entity) {
+        return new TipoQuartoDto(entity.getId(), entity.getNome(), entity.getDescricao(),
+                entity.getCapacidadeMaxima(), entity.getTarifaPadrao(), entity.getDataAtualizacao());
+    }
+
+    private static TipoQuarto copiar(TipoQuarto entity) {
+        return new TipoQuarto(entity.getId(), entity.getNome(), entity.getDescricao(), entity.getCapacidadeMaxima(),
+                entity.getTarifaPadrao(), entity.isAtivo(), entity.getDataCriacao(), entity.getDataAtualizacao());
+    }
+
+    /**
+     * Chave do índice de ativos por nome: ordena por nome e, no empate, por ID (como o keyset da listagem).
+     */
+    private record ChaveNome(String nome, long id) implements Comparable<ChaveNome> {
+
+        @Override
+        public int compareTo(ChaveNome outra) {
+            int cmp = nome.compareTo(outra.nome);
+            return cmp != 0 ? cmp : Long.compare(id, outra.id);
+        }
+    }
+
+    /**
+     * Chave do índice do feed de alterações: data de atualização e, no empate, ID.
+     */
+    private record ChaveAlteracao(LocalDateTime data, long id) implements Comparable<ChaveAlteracao> {
+
+        @Override
+        public int compareTo(ChaveAlteracao outra) {
+            int cmp = data.compareTo(outra.data);
+            return cmp != 0 ? cmp : Long.compare(id, outra.id);
+        }
+    }
+}
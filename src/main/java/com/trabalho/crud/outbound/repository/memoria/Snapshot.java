@@ -0,0 +1,132 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot compactado: o estado completo de um repositório num arquivo, mais o número do primeiro
+ * segmento do diário que ainda precisa ser reaplicado sobre ele. Cada repositório usa o seu diretório
+ * e o seu codec para os itens.
+ *
+ * Gravado num arquivo temporário, forçado para o disco e renomeado por cima do anterior (rename
+ * atômico), então sempre existe um snapshot inteiro. Um CRC32C no fim detecta arquivos corrompidos.
+ */
+final class Snapshot {
+
+    static final String ARQUIVO = "snapshot.bin";
+    private static final String TEMPORARIO = ARQUIVO + ".tmp";
+    private static final int MAGICO = 0x54515331; // "TQS1"
+
+    /**
+     * @param segmento primeiro segmento do diário posterior ao snapshot
+     */
+    record Conteudo<T>(long segmento, long proximoId, List<T> itens) {
+    }
+
+    /** Grava um item no formato do seu codec (ex.: {@code CodecTipoQuarto::escrever}). */
+    @FunctionalInterface
+    interface Escritor<T> {
+        void escrever(DataOutput out, T item) throws IOException;
+    }
+
+    /** Lê um item gravado pelo {@link Escritor} correspondente. */
+    @FunctionalInterface
+    interface Leitor<T> {
+        T ler(DataInput in) throws IOException;
+    }
+
+    private Snapshot() {
+    }
+
+    static <T> void gravar(Path diretorio, Conteudo<T> conteudo, Escritor<T> escritor) {
+        Path temporario = diretorio.resolve(TEMPORARIO);
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var crc = new CRC32C();
+            var out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(canal), 64 * 1024), crc));
+            out.writeInt(MAGICO);
+            out.writeLong(conteudo.segmento());
+            out.writeLong(conteudo.proximoId());
+            out.writeInt(conteudo.itens().size());
+            for (T item : conteudo.itens()) {
+                escritor.escrever(out, item);
+            }
+            out.flush();
+            // O próprio CRC fica fora da soma
+            long soma = crc.getValue();
+            new DataOutputStream(Channels.newOutputStream(canal)).writeLong(soma);
+            canal.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar o snapshot em " + temporario, ex);
+        }
+
+        try {
+            Files.move(temporario, diretorio.resolve(ARQUIVO), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            sincronizarDiretorio(diretorio);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao publicar o snapshot em " + diretorio, ex);
+        }
+    }
+
+    static <T> Optional<Conteudo<T>> ler(Path diretorio, Leitor<T> leitor) {
+        Path arquivo = diretorio.resolve(ARQUIVO);
+        try {
+            Files.deleteIfExists(diretorio.resolve(TEMPORARIO)); // Sobra de uma gravação interrompida
+            if (!Files.exists(arquivo)) {
+                return Optional.empty();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try (var entrada = new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024)) {
+            var crc = new CRC32C();
+            var in = new DataInputStream(new CheckedInputStream(entrada, crc));
+            if (in.readInt() != MAGICO) {
+                throw new IllegalStateException("Snapshot inválido: " + arquivo);
+            }
+            long segmento = in.readLong();
+            long proximoId = in.readLong();
+            int quantidade = in.readInt();
+            List<T> itens = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                itens.add(leitor.ler(in));
+            }
+            long soma = crc.getValue();
+            if (new DataInputStream(entrada).readLong() != soma) {
+                throw new IllegalStateException("Snapshot corrompido (CRC): " + arquivo);
+            }
+            return Optional.of(new Conteudo<>(segmento, proximoId, itens));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao ler o snapshot " + arquivo, ex);
+        }
+    }
+
+    // Garante que o rename em si chegou ao disco (no Linux; em outros sistemas é ignorado)
+    private static void sincronizarDiretorio(Path diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException ex) {
+            // Sem suporte a abrir diretórios: o rename fica a cargo do sistema de arquivos
+        }
+    }
+}
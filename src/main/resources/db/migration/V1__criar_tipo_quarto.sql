@@ -0,0 +1,13 @@
+-- Esquema original do TIPO_QUARTO, como o ddl-auto: update o criava (ID por IDENTITY).
+-- Bancos que já existiam antes do Flyway entram com baseline nesta versão e não rodam este script.
+CREATE TABLE TIPO_QUARTO (
+    ID BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ATIVO BOOLEAN NOT NULL,
+    CAPACIDADE_MAXIMA INTEGER,
+    DATA_ATUALIZACAO TIMESTAMP(6),
+    DATA_CRIACAO TIMESTAMP(6),
+    DESCRICAO VARCHAR(255),
+    NOME VARCHAR(255),
+    TARIFA_PADRAO FLOAT(53),
+    PRIMARY KEY (ID)
+);
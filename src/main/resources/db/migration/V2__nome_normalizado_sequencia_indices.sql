@@ -0,0 +1,32 @@
+-- Tudo o que o ddl-auto: update acrescentou depois da V1. Os IF NOT EXISTS tornam o script seguro
+-- também em bancos onde o Hibernate já tinha criado parte disso.
+
+-- Nome normalizado (TipoQuarto.normalizarNome: sem espaços nas pontas, espaços repetidos viram um,
+-- minúsculas), preenchido nas linhas antigas antes de virar único
+ALTER TABLE TIPO_QUARTO ADD COLUMN IF NOT EXISTS NOME_NORMALIZADO VARCHAR(255);
+
+-- Nomes que só diferem em maiúsculas ou espaços (ex.: "Suíte" e "suíte ") violariam a restrição no
+-- preenchimento abaixo. Fica com o nome quem já tem NOME_NORMALIZADO (o Hibernate pode ter criado a
+-- coluna e a restrição antes) ou, entre os que não têm, o menor ID. Os demais ganham o ID no fim do
+-- nome, ex.: "suíte (12)"
+UPDATE TIPO_QUARTO T
+    SET NOME = LEFT(TRIM(NOME), 255 - CHAR_LENGTH(' (' || ID || ')')) || ' (' || ID || ')'
+    WHERE NOME_NORMALIZADO IS NULL AND NOME IS NOT NULL AND EXISTS (
+        SELECT 1 FROM TIPO_QUARTO O
+        WHERE O.ID <> T.ID
+          AND (O.NOME_NORMALIZADO = LOWER(TRIM(REGEXP_REPLACE(T.NOME, '\s+', ' ')))
+               OR (O.NOME_NORMALIZADO IS NULL AND O.ID < T.ID
+                   AND LOWER(TRIM(REGEXP_REPLACE(O.NOME, '\s+', ' '))) = LOWER(TRIM(REGEXP_REPLACE(T.NOME, '\s+', ' '))))));
+UPDATE TIPO_QUARTO SET NOME_NORMALIZADO = LOWER(TRIM(REGEXP_REPLACE(NOME, '\s+', ' ')))
+    WHERE NOME_NORMALIZADO IS NULL AND NOME IS NOT NULL;
+ALTER TABLE TIPO_QUARTO ADD CONSTRAINT IF NOT EXISTS UK_TIPO_QUARTO_NOME_NORMALIZADO UNIQUE (NOME_NORMALIZADO);
+
+-- Listagem paginada (keyset) de ativos por ID e por nome, e feed de alterações
+CREATE INDEX IF NOT EXISTS IDX_TIPO_QUARTO_ATIVO_ID ON TIPO_QUARTO (ATIVO, ID);
+CREATE INDEX IF NOT EXISTS IDX_TIPO_QUARTO_ATIVO_NOME_ID ON TIPO_QUARTO (ATIVO, NOME, ID);
+CREATE INDEX IF NOT EXISTS IDX_TIPO_QUARTO_ATUALIZACAO_ID ON TIPO_QUARTO (DATA_ATUALIZACAO, ID);
+
+-- IDs por sequência com otimizador "pooled" (allocationSize = 50): cada valor lido reserva os 50 IDs
+-- que terminam nele, então a sequência recomeça 50 acima do maior ID já gravado pela IDENTITY
+CREATE SEQUENCE IF NOT EXISTS TIPO_QUARTO_SEQ START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE TIPO_QUARTO_SEQ RESTART WITH (SELECT COALESCE(MAX(ID), 0) + 50 FROM TIPO_QUARTO);
@@ -0,0 +1,20 @@
+-- Reservas de tipos de quarto no período [ENTRADA, SAIDA), com a saída exclusiva.
+-- A sobreposição entre reservas ativas é verificada pela aplicação (AgendaReservas), não pelo banco.
+CREATE TABLE RESERVA (
+    ID BIGINT NOT NULL,
+    TIPO_QUARTO_ID BIGINT NOT NULL,
+    ENTRADA DATE NOT NULL,
+    SAIDA DATE NOT NULL,
+    HOSPEDES INTEGER NOT NULL,
+    NOME_HOSPEDE VARCHAR(255) NOT NULL,
+    STATUS VARCHAR(20) NOT NULL,
+    DATA_CRIACAO TIMESTAMP(6),
+    DATA_ATUALIZACAO TIMESTAMP(6),
+    PRIMARY KEY (ID),
+    CONSTRAINT FK_RESERVA_TIPO_QUARTO FOREIGN KEY (TIPO_QUARTO_ID) REFERENCES TIPO_QUARTO (ID),
+    CONSTRAINT CK_RESERVA_PERIODO CHECK (ENTRADA < SAIDA)
+);
+
+CREATE INDEX IDX_RESERVA_TIPO_STATUS_SAIDA ON RESERVA (TIPO_QUARTO_ID, STATUS, SAIDA);
+
+CREATE SEQUENCE RESERVA_SEQ START WITH 1 INCREMENT BY 50;
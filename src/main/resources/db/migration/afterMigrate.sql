@@ -0,0 +1,9 @@
+-- Roda depois de toda migração (callback do Flyway), inclusive quando não há versão nova.
+-- Garante que a TIPO_QUARTO_SEQ está acima do maior ID gravado: bancos que passaram pelo antigo
+-- ddl-auto: update (que criava a sequência começando em 1), cópias restauradas ou linhas inseridas
+-- com ID explícito deixariam o próximo INSERT colidir na chave primária. Só avança, nunca volta:
+-- valores já reservados por outra instância (pooled, 50 por leitura) continuam válidos.
+ALTER SEQUENCE TIPO_QUARTO_SEQ RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(ID), 0) + 50,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TIPO_QUARTO_SEQ'))
+    FROM TIPO_QUARTO);
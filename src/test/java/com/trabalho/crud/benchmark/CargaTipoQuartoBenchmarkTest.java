@@ -0,0 +1,213 @@
+package com.trabalho.crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Teste de carga da API /tipos-quarto: sobe a aplicação numa porta aleatória com H2 em memória,
+ * popula o catálogo e dispara um mix de leituras e escritas em taxas crescentes (modelo aberto).
+ * O relatório com p50/p99/p99.9 por endpoint e a maior taxa sustentável fica em target/carga/.
+ *
+ * Roda só com: mvn test -Pbenchmark -Dtest=CargaTipoQuartoBenchmarkTest
+ * Parâmetros (-D): carga.registros, carga.taxas (ex.: 200,400,800), carga.duracao (s),
+ * carga.p99-maximo (ms), carga.em-voo, carga.mix ("padrao" ou "listagem", quase só GET /tipos-quarto).
+ * Para comparar com o modo virtual threads, rodar de novo com -Dspring.profiles.active=virtual;
+ * para comparar com e sem o catálogo codificado, com -Dhotel.cache.catalogo.habilitado=false;
+ * para medir o custo do MetricasAspect (desligado por padrão), com -Dhotel.metricas.habilitado=true.
+ * Sobrecarga: com uma taxa de 2x a maior sustentável em carga.taxas, o goodput e o "p99 ok" mostram o
+ * efeito do controle de admissão; comparar com -Dhotel.concorrencia.habilitado=false (sem recusas,
+ * tudo entra na fila do Tomcat).
+ * A alocação no heap e o tempo de GC das rodadas medidas também vão para o relatório.
+ * O pico de RSS inclui o próprio gerador de carga, que roda na mesma JVM (igual nos dois modos).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:benchmark-carga")
+class CargaTipoQuartoBenchmarkTest {
+
+    private static final int REGISTROS = Integer.getInteger("carga.registros", 10_000);
+    private static final String TAXAS = System.getProperty("carga.taxas", "50,100,200,400");
+    private static final int DURACAO_SEGUNDOS = Integer.getInteger("carga.duracao", 20);
+    private static final double P99_MAXIMO_MS = Double.parseDouble(System.getProperty("carga.p99-maximo", "100"));
+    private static final int MAXIMO_EM_VOO = Integer.getInteger("carga.em-voo", 512);
+    private static final String MIX = System.getProperty("carga.mix", "padrao");
+    private static final Duration TIMEOUT_REQUISICAO = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private TipoQuartoService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${hotel.concorrencia.habilitado:false}")
+    private boolean controleAdmissao;
+
+    @Value("${hotel.metricas.habilitado:false}")
+    private boolean metricas;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final AtomicLong novos = new AtomicLong();
+
+    @Test
+    @DisplayName("Latência por endpoint e taxa máxima sustentável sob um mix de leitura e escrita")
+    void medirCarga() throws IOException, InterruptedException {
+        this.popular();
+
+        var gerador = new GeradorCarga(MIX.equals("listagem")
+                ? List.of(
+                        new GeradorCarga.Operacao("listar", 90, () -> this.get("/tipos-quarto")),
+                        new GeradorCarga.Operacao("porId", 9, () -> this.get("/tipos-quarto/" + this.idAleatorio())),
+                        new GeradorCarga.Operacao("atualizar", 1, this::atualizar))
+                : List.of(
+                        new GeradorCarga.Operacao("porId", 58, () -> this.get("/tipos-quarto/" + this.idAleatorio())),
+                        new GeradorCarga.Operacao("pagina", 25, () -> this.get("/tipos-quarto/pagina?limite=50")),
+                        new GeradorCarga.Operacao("listar", 2, () -> this.get("/tipos-quarto")),
+                        new GeradorCarga.Operacao("criar", 10, this::criar),
+                        new GeradorCarga.Operacao("atualizar", 5, this::atualizar)), MAXIMO_EM_VOO);
+
+        int[] taxas = Arrays.stream(TAXAS.split(",")).map(String::strip).mapToInt(Integer::parseInt).toArray();
+
+        // Aquecimento (JIT, pool de conexões) na menor taxa, fora do relatório
+        gerador.executar(taxas[0], Duration.ofSeconds(Math.max(5, DURACAO_SEGUNDOS / 4)));
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        Processo.zerarPicoRss();
+        long alocadosAntes = Processo.bytesAlocados();
+        long[] gcAntes = Processo.coletas();
+
+        List<GeradorCarga.Rodada> rodadas = new ArrayList<>();
+        for (int taxa : taxas) {
+            GeradorCarga.Rodada rodada = gerador.executar(taxa, Duration.ofSeconds(DURACAO_SEGUNDOS));
+            rodadas.add(rodada);
+            System.out.printf("[benchmark] carga: %d req/s -> vazão %.0f/s | goodput %.0f/s | p99 %.2f ms | erros %d (%d recusadas)%n",
+                    taxa, rodada.vazao(), rodada.aproveitamento(P99_MAXIMO_MS),
+                    rodada.total().getValueAtPercentile(99) / 1000.0, rodada.erros(), rodada.recusadas());
+            if (controleAdmissao) {
+                System.out.printf("[benchmark] limite de concorrência ao fim da rodada: leitura %.0f | escrita %.0f%n",
+                        this.limite("leitura"), this.limite("escrita"));
+            }
+        }
+
+        long alocadosMb = (Processo.bytesAlocados() - alocadosAntes) / (1024 * 1024);
+        long[] gcDepois = Processo.coletas();
+
+        String cabecalho = ("Teste de carga /tipos-quarto (%s, mix %s, controle de admissão %s, métricas %s): "
+                + "%d registros, %d s por taxa, até %d requisições em voo%n"
+                + "Pico de threads de plataforma: %d | pico de RSS: %s%n"
+                + "Alocado no heap: %d MB | coletas de GC: %d (%d ms)")
+                .formatted(virtualThreads ? "virtual threads" : "threads de plataforma", MIX,
+                        controleAdmissao ? "ligado" : "desligado", metricas ? "ligadas" : "desligadas", REGISTROS, DURACAO_SEGUNDOS,
+                        MAXIMO_EM_VOO, threads.getPeakThreadCount(), Processo.picoRss(),
+                        alocadosMb, gcDepois[0] - gcAntes[0], gcDepois[1] - gcAntes[1]);
+        Path relatorio = GeradorCarga.gravarRelatorio(Path.of("target", "carga"), rodadas, P99_MAXIMO_MS, cabecalho);
+        System.out.println("[benchmark] relatório: " + relatorio.toAbsolutePath());
+
+        assertTrue(Files.size(relatorio) > 0);
+        assertTrue(rodadas.stream().allMatch(rodada -> rodada.concluidas() == rodada.planejadas()));
+    }
+
+    private double limite(String orcamento) {
+        Gauge limite = meterRegistry.find("hotel.concorrencia.limite").tag("orcamento", orcamento).gauge();
+        return limite == null ? Double.NaN : limite.value();
+    }
+
+    private void popular() {
+        List<TipoQuartoDto> lote = new ArrayList<>();
+        for (int i = 0; i < REGISTROS; i++) {
+            lote.add(this.dto("Quarto carga " + i, 150.0));
+            if (lote.size() == 500 || i == REGISTROS - 1) {
+                service.saveAll(lote).forEach(resultado -> ids.add(resultado.getId()));
+                lote.clear();
+            }
+        }
+    }
+
+    private long idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String caminho) {
+        return this.requisicao(caminho).GET().build();
+    }
+
+    private HttpRequest criar() {
+        String corpo = this.json(this.dto("Quarto novo " + novos.incrementAndGet(), 200.0));
+        return this.requisicao("/tipos-quarto")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    // Mantém o nome do registro sorteado e muda só a tarifa, para não gerar conflitos de nome
+    private HttpRequest atualizar() {
+        int indice = ThreadLocalRandom.current().nextInt(ids.size());
+        String corpo = this.json(this.dto("Quarto carga " + indice, 100.0 + ThreadLocalRandom.current().nextInt(400)));
+        return this.requisicao("/tipos-quarto/" + ids.get(indice))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    // Com timeout: uma requisição presa conta como erro em vez de travar a rodada
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(TIMEOUT_REQUISICAO);
+    }
+
+    private TipoQuartoDto dto(String nome, double tarifa) {
+        var dto = new TipoQuartoDto();
+        dto.setNome(nome);
+        dto.setDescricao("Descrição do " + nome);
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(tarifa);
+        return dto;
+    }
+
+    private String json(TipoQuartoDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
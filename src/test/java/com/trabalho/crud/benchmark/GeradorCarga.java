@@ -0,0 +1,262 @@
+package com.trabalho.crud.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Gerador de carga HTTP em modelo aberto: as requisições partem numa taxa constante, cada uma
+ * no seu horário planejado, tenham as anteriores respondido ou não.
+ *
+ * A latência é medida a partir do horário planejado, e não do envio efetivo: quando o servidor
+ * (ou o limite de requisições em voo) atrasa o envio, a espera entra na medida em vez de sumir
+ * do histograma (omissão coordenada). Latências em microssegundos.
+ */
+final class GeradorCarga {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * Tipo de requisição do mix; {@code peso} é a participação relativa no tráfego.
+     */
+    record Operacao(String nome, int peso, Supplier<HttpRequest> requisicao) {
+    }
+
+    /**
+     * Medições de uma operação numa rodada.
+     */
+    static final class Medicao {
+
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        private final Histogram atendidas = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        private final AtomicLong erros = new AtomicLong();
+        private final AtomicLong recusadas = new AtomicLong();
+
+        private void registrar(long latenciaNanos, int status) {
+            long latencia = Math.min(TimeUnit.NANOSECONDS.toMicros(latenciaNanos), LATENCIA_MAXIMA_US);
+            latencias.recordValue(latencia);
+            if (status > 0 && status < 400) {
+                atendidas.recordValue(latencia);
+                return;
+            }
+            erros.incrementAndGet();
+            if (status == 429 || status == 503) {
+                recusadas.incrementAndGet();
+            }
+        }
+
+        Histogram latencias() {
+            return latencias;
+        }
+
+        /**
+         * Latências só das requisições respondidas com sucesso (sem as recusadas pelo controle de admissão).
+         */
+        Histogram atendidas() {
+            return atendidas;
+        }
+
+        long erros() {
+            return erros.get();
+        }
+
+        /**
+         * Erros que foram recusas rápidas por sobrecarga (429/503); também contam em {@link #erros()}.
+         */
+        long recusadas() {
+            return recusadas.get();
+        }
+    }
+
+    /**
+     * Resultado de uma rodada numa taxa fixa.
+     */
+    record Rodada(int taxa, long planejadas, long concluidas, double vazao, double segundos,
+            Map<String, Medicao> porOperacao) {
+
+        Histogram total() {
+            var total = new Histogram(LATENCIA_MAXIMA_US, 3);
+            porOperacao.values().forEach(medicao -> total.add(medicao.latencias()));
+            return total;
+        }
+
+        Histogram totalAtendidas() {
+            var total = new Histogram(LATENCIA_MAXIMA_US, 3);
+            porOperacao.values().forEach(medicao -> total.add(medicao.atendidas()));
+            return total;
+        }
+
+        long erros() {
+            return porOperacao.values().stream().mapToLong(Medicao::erros).sum();
+        }
+
+        long recusadas() {
+            return porOperacao.values().stream().mapToLong(Medicao::recusadas).sum();
+        }
+
+        /**
+         * Respostas de sucesso por segundo que saíram dentro do prazo (goodput), usando o limite de p99
+         * como prazo: o que chega atrasado não serve ao cliente, mesmo com status 200.
+         */
+        double aproveitamento(double p99MaximoMs) {
+            Histogram atendidas = totalAtendidas();
+            long noPrazo = atendidas.getCountBetweenValues(0, (long) (p99MaximoMs * 1000));
+            return noPrazo / segundos;
+        }
+
+        /**
+         * A taxa é sustentável se o servidor acompanhou a chegada (vazão >= 95% da taxa),
+         * com menos de 1% de erros e p99 dentro do limite.
+         */
+        boolean sustentavel(double p99MaximoMs) {
+            return concluidas == planejadas
+                    && vazao >= taxa * 0.95
+                    && erros() < concluidas * 0.01
+                    && total().getValueAtPercentile(99) / 1000.0 <= p99MaximoMs;
+        }
+    }
+
+    private final HttpClient client;
+    private final List<Operacao> operacoes;
+    private final int pesoTotal;
+    private final int maximoEmVoo;
+
+    GeradorCarga(List<Operacao> operacoes, int maximoEmVoo) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.operacoes = operacoes;
+        this.pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        this.maximoEmVoo = maximoEmVoo;
+    }
+
+    /**
+     * Dispara {@code taxa} requisições por segundo durante {@code duracao} e espera as respostas.
+     */
+    Rodada executar(int taxa, Duration duracao) throws InterruptedException {
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        operacoes.forEach(operacao -> medicoes.put(operacao.nome(), new Medicao()));
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long planejadas = taxa * duracao.toSeconds();
+        var emVoo = new Semaphore(maximoEmVoo);
+        var concluidas = new AtomicLong();
+        long inicio = System.nanoTime();
+
+        for (long i = 0; i < planejadas; i++) {
+            long planejado = inicio + i * intervalo;
+            long espera = planejado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Operacao operacao = this.sortear();
+            Medicao medicao = medicoes.get(operacao.nome());
+            // Bloquear aqui não distorce a medida: a latência continua contando do horário planejado
+            emVoo.acquire();
+            client.sendAsync(operacao.requisicao().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        medicao.registrar(System.nanoTime() - planejado, erro == null ? resposta.statusCode() : 0);
+                        concluidas.incrementAndGet();
+                        emVoo.release();
+                    });
+        }
+
+        emVoo.tryAcquire(maximoEmVoo, 1, TimeUnit.MINUTES);
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        return new Rodada(taxa, planejadas, concluidas.get(), concluidas.get() / segundos, segundos, medicoes);
+    }
+
+    private Operacao sortear() {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Mix de operações vazio.");
+    }
+
+    /**
+     * Grava o resumo das rodadas em {@code relatorio.txt} e a distribuição completa de cada
+     * operação (formato .hgrm do HdrHistogram, em ms) ao lado.
+     */
+    static Path gravarRelatorio(Path diretorio, List<Rodada> rodadas, double p99MaximoMs, String cabecalho)
+            throws IOException {
+        Files.createDirectories(diretorio);
+        try (var antigos = Files.newDirectoryStream(diretorio, "*.hgrm")) {
+            for (Path antigo : antigos) {
+                Files.delete(antigo); // De execuções anteriores, possivelmente com outras taxas
+            }
+        }
+        Path relatorio = diretorio.resolve("relatorio.txt");
+
+        try (var out = new PrintStream(Files.newOutputStream(relatorio), true, StandardCharsets.UTF_8)) {
+            out.println(cabecalho);
+            out.printf("Critério de sustentação: vazão >= 95%% da taxa, erros < 1%%, p99 <= %.0f ms%n%n", p99MaximoMs);
+            out.println("recusadas: 429/503 do controle de admissão (já contadas em erros); "
+                    + "p99 ok: só as respondidas com sucesso; goodput: sucessos por segundo dentro do prazo de p99");
+            out.printf("%-8s %-12s %10s %8s %9s %9s %9s %9s %9s %9s %9s %9s%n", "taxa", "operacao", "requisicoes",
+                    "erros", "recusadas", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "p99 ok ms", "vazao/s", "goodput/s");
+
+            Integer maximaSustentavel = null;
+            for (Rodada rodada : rodadas) {
+                for (Map.Entry<String, Medicao> entrada : rodada.porOperacao().entrySet()) {
+                    Medicao medicao = entrada.getValue();
+                    linha(out, rodada.taxa(), entrada.getKey(), medicao.latencias(), medicao.atendidas(),
+                            medicao.erros(), medicao.recusadas(), "", "");
+                    gravarDistribuicao(diretorio.resolve(rodada.taxa() + "-" + entrada.getKey() + ".hgrm"),
+                            entrada.getValue().latencias());
+                }
+                linha(out, rodada.taxa(), "TOTAL", rodada.total(), rodada.totalAtendidas(), rodada.erros(),
+                        rodada.recusadas(), "%.0f".formatted(rodada.vazao()),
+                        "%.0f".formatted(rodada.aproveitamento(p99MaximoMs)));
+                out.println();
+
+                if (rodada.sustentavel(p99MaximoMs)) {
+                    maximaSustentavel = rodada.taxa();
+                }
+            }
+            out.println("Maior taxa sustentável: " + (maximaSustentavel == null ? "nenhuma" : maximaSustentavel + " req/s"));
+        }
+        return relatorio;
+    }
+
+    private static void linha(PrintStream out, int taxa, String operacao, Histogram latencias, Histogram atendidas,
+            long erros, long recusadas, String vazao, String aproveitamento) {
+        out.printf("%-8d %-12s %10d %8d %9d %9.2f %9.2f %9.2f %9.2f %9.2f %9s %9s%n",
+                taxa, operacao, latencias.getTotalCount(), erros, recusadas,
+                latencias.getValueAtPercentile(50) / 1000.0,
+                latencias.getValueAtPercentile(99) / 1000.0,
+                latencias.getValueAtPercentile(99.9) / 1000.0,
+                latencias.getMaxValue() / 1000.0,
+                atendidas.getValueAtPercentile(99) / 1000.0,
+                vazao, aproveitamento);
+    }
+
+    private static void gravarDistribuicao(Path arquivo, Histogram latencias) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(arquivo), true, StandardCharsets.UTF_8)) {
+            latencias.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
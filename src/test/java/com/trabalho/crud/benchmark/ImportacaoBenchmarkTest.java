@@ -0,0 +1,92 @@
+package com.trabalho.crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.trabalho.crud.core.dto.ImportacaoStatusDto;
+import com.trabalho.crud.core.service.ImportacaoService;
+
+/**
+ * Mede a vazão e o pico de memória da importação de um arquivo NDJSON grande gerado na hora.
+ * Roda só com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+// Banco em arquivo: com H2 em memória as linhas importadas ocupariam o próprio heap medido
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./target/benchmark/importacao-${random.uuid}")
+class ImportacaoBenchmarkTest {
+
+    private static final int LINHAS = 300_000;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Test
+    @DisplayName("Importação de arquivo grande com memória limitada")
+    void importarArquivoGrande() throws IOException, InterruptedException {
+        Path arquivo = gerarArquivo();
+        long tamanhoMb = Files.size(arquivo) / (1024 * 1024);
+
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        long inicio = System.nanoTime();
+
+        String id;
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(arquivo))) {
+            id = importacaoService.importar(entrada, "ndjson").getId();
+        }
+        ImportacaoStatusDto status = aguardarFim(id);
+
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        System.out.printf("[benchmark] importacao: %d MB, %d linhas em %.1f s (%.0f linhas/s) | pico heap: %d MB | pico RSS: %s%n",
+                tamanhoMb, status.getGravados(), segundos, status.getGravados() / segundos,
+                picoHeapMb(), Processo.picoRss());
+
+        assertEquals("CONCLUIDA", status.getEstado());
+        assertEquals(LINHAS, status.getGravados());
+        Files.deleteIfExists(arquivo);
+    }
+
+    private static Path gerarArquivo() throws IOException {
+        Path arquivo = Files.createTempFile("importacao-benchmark", ".ndjson");
+        try (BufferedWriter writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LINHAS; i++) {
+                writer.write("{\"nome\":\"Quarto importado " + i + "\",\"descricao\":\"Descrição do quarto " + i
+                        + " com um texto mais longo para simular um catálogo real de parceiro\","
+                        + "\"capacidadeMaxima\":" + (1 + i % 6) + ",\"tarifaPadrao\":" + (100 + i % 900) + ".5}\n");
+            }
+        }
+        return arquivo;
+    }
+
+    private ImportacaoStatusDto aguardarFim(String id) throws InterruptedException {
+        while (true) {
+            ImportacaoStatusDto status = importacaoService.status(id);
+            if (!status.getEstado().equals("EM_ANDAMENTO")) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static long picoHeapMb() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum() / (1024 * 1024);
+    }
+}
@@ -0,0 +1,143 @@
+package com.trabalho.crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tempo até a primeira resposta: sobe a aplicação empacotada em processos separados (JVM nova a
+ * cada vez) e mede do início do processo até o primeiro 200 do GET /tipos-quarto, com e sem AOT
+ * e CDS. O relatório fica em target/inicio/relatorio.txt; o log de cada subida (com a linha do
+ * tempo do RelatorioInicializacao), ao lado.
+ *
+ * Precisa do build do profile inicio-rapido:
+ *   mvn package -Pinicio-rapido -DskipTests
+ *   mvn test -Pbenchmark -Dtest=InicializacaoBenchmarkTest
+ * Parâmetros (-D): inicio.repeticoes (subidas por configuração), inicio.timeout (s).
+ */
+@Tag("benchmark")
+class InicializacaoBenchmarkTest {
+
+    private static final Path DIRETORIO = Path.of("target", "inicio-rapido");
+    private static final Path ARQUIVO_CDS = DIRETORIO.resolve("crud.jsa");
+    private static final int REPETICOES = Integer.getInteger("inicio.repeticoes", 3);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("inicio.timeout", 120));
+    private static final Pattern INICIADO = Pattern.compile("Started CrudApplication in ([\\d.]+) seconds");
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private record Medida(long primeiraRespostaMs, double iniciadoSegundos) {
+    }
+
+    @Test
+    @DisplayName("Tempo até a primeira requisição atendida, com e sem AOT e CDS")
+    void medirInicializacao() throws IOException, InterruptedException {
+        Path jar = this.jarExtraido();
+        Assumptions.assumeTrue(jar != null && Files.exists(ARQUIVO_CDS),
+                "Rode antes: mvn package -Pinicio-rapido -DskipTests");
+
+        Map<String, List<String>> configuracoes = new LinkedHashMap<>();
+        configuracoes.put("padrao", List.of());
+        configuracoes.put("aot", List.of("-Dspring.aot.enabled=true"));
+        configuracoes.put("cds", List.of("-XX:SharedArchiveFile=" + ARQUIVO_CDS));
+        configuracoes.put("aot+cds", List.of("-XX:SharedArchiveFile=" + ARQUIVO_CDS, "-Dspring.aot.enabled=true"));
+
+        Path saida = Files.createDirectories(Path.of("target", "inicio"));
+        var relatorio = new StringBuilder(String.format(
+                "Tempo até a primeira resposta (GET /tipos-quarto, H2 em memória), mediana de %d subidas, %d CPU(s)%n%n"
+                        + "%-10s %18s %18s %14s%n", REPETICOES, Runtime.getRuntime().availableProcessors(),
+                "config", "1ª resposta (ms)", "Started (s)", "melhor (ms)"));
+
+        for (var configuracao : configuracoes.entrySet()) {
+            List<Medida> medidas = new ArrayList<>();
+            for (int i = 0; i < REPETICOES; i++) {
+                Path log = saida.resolve(configuracao.getKey().replace('+', '-') + "-" + i + ".log");
+                medidas.add(this.subir(jar, configuracao.getValue(), log));
+            }
+            medidas.sort((a, b) -> Long.compare(a.primeiraRespostaMs(), b.primeiraRespostaMs()));
+            Medida mediana = medidas.get(medidas.size() / 2);
+            relatorio.append(String.format("%-10s %18d %18.2f %14d%n", configuracao.getKey(),
+                    mediana.primeiraRespostaMs(), mediana.iniciadoSegundos(), medidas.get(0).primeiraRespostaMs()));
+            System.out.printf("[benchmark] inicio %s: %d ms até a 1ª resposta%n",
+                    configuracao.getKey(), mediana.primeiraRespostaMs());
+        }
+
+        Path arquivo = saida.resolve("relatorio.txt");
+        Files.writeString(arquivo, relatorio);
+        System.out.println(relatorio);
+        System.out.println("[benchmark] relatório: " + arquivo.toAbsolutePath());
+        assertTrue(Files.size(arquivo) > 0);
+    }
+
+    private Medida subir(Path jar, List<String> opcoesJvm, Path log) throws IOException, InterruptedException {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoesJvm);
+        comando.addAll(List.of("-jar", jar.toString(),
+                "--server.port=" + porta,
+                "--spring.datasource.url=jdbc:h2:mem:inicio"));
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/tipos-quarto"))
+                    .timeout(Duration.ofSeconds(5)).build();
+            while (System.nanoTime() - inicio < TIMEOUT.toNanos()) {
+                assertTrue(processo.isAlive(), () -> "A aplicação terminou na subida; veja " + log);
+                try {
+                    if (cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long ms = (System.nanoTime() - inicio) / 1_000_000;
+                        return new Medida(ms, iniciado(log));
+                    }
+                } catch (IOException ex) {
+                    // Porta ainda fechada
+                }
+                Thread.sleep(10);
+            }
+            return fail("Sem resposta em " + TIMEOUT + "; veja " + log);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private Path jarExtraido() throws IOException {
+        if (!Files.isDirectory(DIRETORIO)) {
+            return null;
+        }
+        try (var arquivos = Files.list(DIRETORIO)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static double iniciado(Path log) throws IOException {
+        Matcher matcher = INICIADO.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private static int portaLivre() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
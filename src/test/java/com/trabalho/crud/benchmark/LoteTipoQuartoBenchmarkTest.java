@@ -0,0 +1,80 @@
+package com.trabalho.crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.trabalho.crud.core.dto.ResultadoLoteDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Compara linhas/segundo do POST unitário com o POST em lote, usando o JPA de verdade (H2 em memória).
+ * Roda só com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:benchmark-lote")
+class LoteTipoQuartoBenchmarkTest {
+
+    private static final int LINHAS = 5_000;
+    private static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private TipoQuartoService service;
+
+    private TipoQuartoDto criarDto(String nome) {
+        var dto = new TipoQuartoDto();
+        dto.setNome(nome);
+        dto.setDescricao("Descricao " + nome);
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(100.0);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Lote deve gravar mais linhas por segundo que o caminho unitário")
+    void compararUnitarioComLote() {
+        // Aquecimento dos dois caminhos (JIT, pool de conexões, statements)
+        for (int i = 0; i < 200; i++) {
+            service.save(criarDto("aquecimento-unitario-" + i));
+        }
+        service.saveAll(gerarLote("aquecimento-lote-", 0, TAMANHO_LOTE));
+
+        long inicioUnitario = System.nanoTime();
+        for (int i = 0; i < LINHAS; i++) {
+            service.save(criarDto("unitario-" + i));
+        }
+        double unitarioPorSegundo = LINHAS / segundosDesde(inicioUnitario);
+
+        long inicioLote = System.nanoTime();
+        for (int i = 0; i < LINHAS; i += TAMANHO_LOTE) {
+            List<ResultadoLoteDto> resultados = service.saveAll(gerarLote("lote-", i, TAMANHO_LOTE));
+            assertTrue(resultados.stream().allMatch(r -> r.getStatus().startsWith("201")));
+        }
+        double lotePorSegundo = LINHAS / segundosDesde(inicioLote);
+
+        System.out.printf("[benchmark] unitario: %.0f linhas/s | lote (%d itens): %.0f linhas/s | ganho: %.1fx%n",
+                unitarioPorSegundo, TAMANHO_LOTE, lotePorSegundo, lotePorSegundo / unitarioPorSegundo);
+
+        assertTrue(lotePorSegundo > unitarioPorSegundo);
+    }
+
+    private List<TipoQuartoDto> gerarLote(String prefixo, int inicio, int tamanho) {
+        var lote = new ArrayList<TipoQuartoDto>(tamanho);
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            lote.add(criarDto(prefixo + i));
+        }
+        return lote;
+    }
+
+    private static double segundosDesde(long inicio) {
+        return (System.nanoTime() - inicio) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.trabalho.crud.benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Leituras de memória do processo usadas nos relatórios dos benchmarks (RSS só existe no Linux).
+ */
+final class Processo {
+
+    private static final Path STATUS = Path.of("/proc/self/status");
+
+    private Processo() {
+    }
+
+    /**
+     * VmHWM: pico do resident set size do processo.
+     */
+    static String picoRss() throws IOException {
+        if (!Files.exists(STATUS)) {
+            return "n/d";
+        }
+        return Files.readAllLines(STATUS).stream()
+                .filter(linha -> linha.startsWith("VmHWM"))
+                .map(linha -> linha.replace("VmHWM:", "").strip())
+                .findFirst()
+                .orElse("n/d");
+    }
+
+    /**
+     * Zera o VmHWM (escrevendo 5 em /proc/self/clear_refs), para medir o pico a partir de agora.
+     * Sem permissão, o pico continua contando desde o início do processo.
+     */
+    static void zerarPicoRss() {
+        try {
+            Files.writeString(Path.of("/proc/self/clear_refs"), "5");
+        } catch (IOException | UnsupportedOperationException ex) {
+            // Fora do Linux ou sem permissão: segue com o pico acumulado
+        }
+    }
+
+    /**
+     * Total alocado no heap por todas as threads desde a subida da JVM (inclui as que já terminaram).
+     */
+    static long bytesAlocados() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    /**
+     * Coletas de GC até agora: {quantidade, tempo total em ms}, somando todos os coletores.
+     */
+    static long[] coletas() {
+        long quantidade = 0;
+        long tempo = 0;
+        for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans()) {
+            quantidade += Math.max(0, coletor.getCollectionCount());
+            tempo += Math.max(0, coletor.getCollectionTime());
+        }
+        return new long[] {quantidade, tempo};
+    }
+}
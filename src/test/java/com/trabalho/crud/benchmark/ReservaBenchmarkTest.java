@@ -0,0 +1,151 @@
+package com.trabalho.crud.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.service.ReservaService;
+import com.trabalho.crud.core.service.TipoQuartoService;
+
+/**
+ * Reservas/segundo com muitas threads disputando poucos tipos de quarto, usando o JPA de verdade
+ * (H2 em memória). Cada rodada cria tipos novos, dispara reservas de períodos aleatórios e confere
+ * que nenhuma reserva ativa gravada se sobrepõe a outra do mesmo tipo.
+ * Roda só com: mvn test -Pbenchmark (-Dreservas.threads=16 -Dreservas.tentativas=500)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:benchmark-reservas")
+class ReservaBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("reservas.threads", 16);
+    private static final int TENTATIVAS = Integer.getInteger("reservas.tentativas", 500);
+    private static final int HORIZONTE_DIAS = 365;
+    private static final Path RELATORIO = Path.of("target", "reservas", "relatorio.txt");
+
+    @Autowired
+    private ReservaService service;
+
+    @Autowired
+    private TipoQuartoService tipoQuartoService;
+
+    private record Rodada(int tipos, int aceitas, int conflitos, double segundos) {
+
+        double tentativasPorSegundo() {
+            return (aceitas + conflitos) / segundos;
+        }
+    }
+
+    @Test
+    @DisplayName("Reservas concorrentes em 1 e em 10 tipos de quarto, sem sobreposição")
+    void medirDisputa() throws Exception {
+        this.rodar(criarTipos(2), 200); // Aquecimento (JIT, pool de conexões, statements)
+
+        var rodadas = List.of(this.rodar(criarTipos(1), TENTATIVAS), this.rodar(criarTipos(10), TENTATIVAS));
+
+        var relatorio = new StringBuilder(String.format("threads: %d | tentativas por thread: %d%n", THREADS, TENTATIVAS));
+        relatorio.append(String.format("%-6s %10s %10s %14s%n", "tipos", "aceitas", "conflitos", "tentativas/s"));
+        for (Rodada rodada : rodadas) {
+            relatorio.append(String.format("%-6d %10d %10d %14.0f%n", rodada.tipos(), rodada.aceitas(),
+                    rodada.conflitos(), rodada.tentativasPorSegundo()));
+        }
+        System.out.print("[benchmark] reservas\n" + relatorio);
+        Files.createDirectories(RELATORIO.getParent());
+        Files.writeString(RELATORIO, relatorio, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private List<Long> criarTipos(int quantidade) {
+        var ids = new ArrayList<Long>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            var dto = new TipoQuartoDto();
+            dto.setNome("Benchmark " + System.nanoTime());
+            dto.setDescricao("Tipo para o benchmark de reservas");
+            dto.setCapacidadeMaxima(4);
+            dto.setTarifaPadrao(200.0);
+            ids.add(tipoQuartoService.save(dto).getId());
+        }
+        return ids;
+    }
+
+    private Rodada rodar(List<Long> tipos, int tentativas) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        var largada = new CountDownLatch(1);
+        var tarefas = new ArrayList<Future<int[]>>();
+        for (int t = 0; t < THREADS; t++) {
+            var aleatorio = new SplittableRandom(t);
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                int[] contagem = new int[2]; // aceitas, conflitos
+                for (int i = 0; i < tentativas; i++) {
+                    try {
+                        service.reservar(criarReserva(tipos.get(aleatorio.nextInt(tipos.size())), aleatorio));
+                        contagem[0]++;
+                    } catch (BusinessException ex) {
+                        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                        contagem[1]++;
+                    }
+                }
+                return contagem;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        int aceitas = 0;
+        int conflitos = 0;
+        for (Future<int[]> tarefa : tarefas) {
+            int[] contagem = tarefa.get(5, TimeUnit.MINUTES);
+            aceitas += contagem[0];
+            conflitos += contagem[1];
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        executor.shutdown();
+
+        for (Long tipo : tipos) {
+            this.verificarSemSobreposicao(tipo);
+        }
+        return new Rodada(tipos.size(), aceitas, conflitos, segundos);
+    }
+
+    private static ReservaDto criarReserva(Long tipoQuartoId, SplittableRandom aleatorio) {
+        var dto = new ReservaDto();
+        dto.setTipoQuartoId(tipoQuartoId);
+        dto.setEntrada(LocalDate.now().plusDays(aleatorio.nextInt(HORIZONTE_DIAS)));
+        dto.setSaida(dto.getEntrada().plusDays(1 + aleatorio.nextInt(7)));
+        dto.setHospedes(2);
+        dto.setNomeHospede("Hóspede");
+        return dto;
+    }
+
+    private void verificarSemSobreposicao(Long tipoQuartoId) {
+        List<ReservaDto> ativas = service.findAtivasPorTipoQuarto(tipoQuartoId).stream()
+                .sorted(Comparator.comparing(ReservaDto::getEntrada))
+                .toList();
+        for (int i = 1; i < ativas.size(); i++) {
+            assertFalse(ativas.get(i).getEntrada().isBefore(ativas.get(i - 1).getSaida()),
+                    "Sobreposição entre as reservas " + ativas.get(i - 1).getId() + " e " + ativas.get(i).getId());
+        }
+    }
+}
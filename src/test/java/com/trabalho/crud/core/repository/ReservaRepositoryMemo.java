@@ -0,0 +1,83 @@
+package com.trabalho.crud.core.repository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.trabalho.crud.core.entity.Reserva;
+
+@Repository
+@Profile("test") // Usado no lugar do JPA quando o profile "test" está ativo, como o TipoQuartoRepositoryMemo
+public class ReservaRepositoryMemo implements ReservaRepository {
+
+    // Concorrente: os testes de reserva simultânea gravam de várias threads
+    private final Map<Long, Reserva> reservas = new ConcurrentHashMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1);
+
+    /**
+     * Limpa o repositório em memória (no @BeforeEach dos testes).
+     */
+    public void deleteAll() {
+        reservas.clear();
+        idCounter.set(1);
+    }
+
+    /**
+     * Todas as reservas gravadas, inclusive as canceladas (para as verificações dos testes).
+     */
+    public List<Reserva> findAll() {
+        return reservas.values().stream().map(ReservaRepositoryMemo::copia).toList();
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        return Optional.ofNullable(reservas.get(id)).map(ReservaRepositoryMemo::copia);
+    }
+
+    @Override
+    public List<Reserva> findAtivasPorTipoQuarto(Long tipoQuartoId, LocalDate saidaApos) {
+        return reservas.values().stream()
+                .filter(reserva -> reserva.getTipoQuartoId().equals(tipoQuartoId) && reserva.isAtiva()
+                        && reserva.getSaida().isAfter(saidaApos))
+                .sorted(Comparator.comparing(Reserva::getEntrada))
+                .map(ReservaRepositoryMemo::copia)
+                .toList();
+    }
+
+    @Override
+    public List<Reserva> findAtivas(LocalDate saidaApos) {
+        return reservas.values().stream()
+                .filter(reserva -> reserva.isAtiva() && reserva.getSaida().isAfter(saidaApos))
+                .map(ReservaRepositoryMemo::copia)
+                .toList();
+    }
+
+    @Override
+    public Reserva save(Reserva reserva) {
+        var salva = copia(reserva);
+        if (salva.getId() == null) {
+            salva.setId(idCounter.getAndIncrement()); // Simula a sequência do banco
+        }
+        reservas.put(salva.getId(), salva);
+        return copia(salva);
+    }
+
+    private static Reserva copia(Reserva reserva) {
+        return Reserva.builder()
+                .id(reserva.getId())
+                .tipoQuartoId(reserva.getTipoQuartoId())
+                .entrada(reserva.getEntrada())
+                .saida(reserva.getSaida())
+                .hospedes(reserva.getHospedes())
+                .nomeHospede(reserva.getNomeHospede())
+                .status(reserva.getStatus())
+                .build();
+    }
+}
@@ -1,13 +1,21 @@
 package com.trabalho.crud.core.repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.entity.TipoQuarto;
 
 @Repository
@@ -31,6 +39,55 @@ public class TipoQuartoRepositoryMemo implements TipoQuartoRepository {
         return new ArrayList<>(tiposQuarto); // Retorna uma cópia para evitar modificações externas
     }
 
+    @Override
+    public List<TipoQuarto> findByAtivoTrueOrderByIdAsc() {
+        return tiposQuarto.stream()
+                .filter(TipoQuarto::isAtivo)
+                .sorted(Comparator.comparing(TipoQuarto::getId))
+                .toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposId(Long ultimoId, int limite) {
+        return tiposQuarto.stream()
+                .filter(quarto -> quarto.isAtivo() && quarto.getId() > ultimoId)
+                .sorted(Comparator.comparing(TipoQuarto::getId))
+                .limit(limite)
+                .toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findAtivosAposNome(String ultimoNome, Long ultimoId, int limite) {
+        return tiposQuarto.stream()
+                .filter(TipoQuarto::isAtivo)
+                .filter(quarto -> {
+                    int cmp = quarto.getNome().compareTo(ultimoNome);
+                    return cmp > 0 || (cmp == 0 && quarto.getId() > ultimoId);
+                })
+                .sorted(Comparator.comparing(TipoQuarto::getNome).thenComparing(TipoQuarto::getId))
+                .limit(limite)
+                .toList();
+    }
+
+    @Override
+    public List<AlteracaoTipoQuartoDto> findAlteracoes(LocalDateTime ultimaData, Long ultimoId, LocalDateTime ate, int limite) {
+        return tiposQuarto.stream()
+                .filter(quarto -> {
+                    int cmp = quarto.getDataAtualizacao().compareTo(ultimaData);
+                    return (cmp > 0 || (cmp == 0 && quarto.getId() > ultimoId)) && quarto.getDataAtualizacao().isBefore(ate);
+                })
+                .sorted(Comparator.comparing(TipoQuarto::getDataAtualizacao).thenComparing(TipoQuarto::getId))
+                .limit(limite)
+                .map(quarto -> new AlteracaoTipoQuartoDto(quarto.getId(), quarto.getNome(), quarto.getDescricao(),
+                        quarto.getCapacidadeMaxima(), quarto.getTarifaPadrao(), quarto.isAtivo(), quarto.getDataAtualizacao()))
+                .toList();
+    }
+
+    @Override
+    public Stream<TipoQuarto> streamAtivos() {
+        return this.findByAtivoTrueOrderByIdAsc().stream();
+    }
+
     @Override
     public Optional<TipoQuarto> findById(Long id) {
         return tiposQuarto.stream()
@@ -38,6 +95,23 @@ public class TipoQuartoRepositoryMemo implements TipoQuartoRepository {
                 .findFirst();
     }
 
+    @Override
+    public List<TipoQuartoDto> findAtivosDto() {
+        return this.findByAtivoTrueOrderByIdAsc().stream()
+                .map(TipoQuartoRepositoryMemo::toDto)
+                .toList();
+    }
+
+    @Override
+    public Optional<TipoQuartoDto> findDtoById(Long id) {
+        return this.findById(id).map(TipoQuartoRepositoryMemo::toDto);
+    }
+
+    private static TipoQuartoDto toDto(TipoQuarto quarto) {
+        return new TipoQuartoDto(quarto.getId(), quarto.getNome(), quarto.getDescricao(),
+                quarto.getCapacidadeMaxima(), quarto.getTarifaPadrao(), quarto.getDataAtualizacao());
+    }
+
     @Override
     public Optional<TipoQuarto> findByNome(String nome) {
         return tiposQuarto.stream()
@@ -45,8 +119,37 @@ public class TipoQuartoRepositoryMemo implements TipoQuartoRepository {
                 .findFirst();
     }
 
+    @Override
+    public List<TipoQuarto> findAllById(Iterable<Long> ids) {
+        var procurados = new HashSet<Long>();
+        ids.forEach(procurados::add);
+        return tiposQuarto.stream()
+                .filter(quarto -> procurados.contains(quarto.getId()))
+                .toList();
+    }
+
+    @Override
+    public List<TipoQuarto> findByNomeNormalizadoIn(Collection<String> nomesNormalizados) {
+        return tiposQuarto.stream()
+                .filter(quarto -> nomesNormalizados.contains(quarto.getNomeNormalizado()))
+                .toList();
+    }
+
+    @Override
+    public <S extends TipoQuarto> List<S> saveAllAndFlush(Iterable<S> novosTiposQuarto) {
+        var salvos = new ArrayList<S>();
+        novosTiposQuarto.forEach(quarto -> {
+            this.save(quarto);
+            salvos.add(quarto);
+        });
+        return salvos;
+    }
+
     @Override
     public TipoQuarto save(TipoQuarto tipoQuarto) {
+        this.verificarNomeUnico(tipoQuarto);
+        tipoQuarto.setDataAtualizacao(LocalDateTime.now()); // Simula o @UpdateTimestamp
+
         if (tipoQuarto.getId() == null) {
             // É um novo quarto (CREATE)
             tipoQuarto.setId(idCounter.getAndIncrement()); // Define um novo ID
@@ -60,6 +163,38 @@ public class TipoQuartoRepositoryMemo implements TipoQuartoRepository {
         return tipoQuarto;
     }
 
+    @Override
+    public int atualizar(TipoQuarto tipoQuarto) {
+        Optional<TipoQuarto> existente = this.findById(tipoQuarto.getId());
+        if (existente.isEmpty()) {
+            return 0;
+        }
+        this.verificarNomeUnico(tipoQuarto);
+
+        // Simula o UPDATE direto: só os campos editáveis mudam
+        TipoQuarto quarto = existente.get();
+        quarto.setNome(tipoQuarto.getNome());
+        quarto.setDescricao(tipoQuarto.getDescricao());
+        quarto.setCapacidadeMaxima(tipoQuarto.getCapacidadeMaxima());
+        quarto.setTarifaPadrao(tipoQuarto.getTarifaPadrao());
+        quarto.setDataAtualizacao(LocalDateTime.now());
+        tipoQuarto.setDataAtualizacao(quarto.getDataAtualizacao());
+        return 1;
+    }
+
+    /**
+     * Simula o índice único sobre o nome normalizado do banco.
+     */
+    private void verificarNomeUnico(TipoQuarto tipoQuarto) {
+        String normalizado = TipoQuarto.normalizarNome(tipoQuarto.getNome());
+        boolean duplicado = tiposQuarto.stream()
+                .anyMatch(quarto -> !quarto.getId().equals(tipoQuarto.getId())
+                        && quarto.getNomeNormalizado().equals(normalizado));
+        if (duplicado) {
+            throw new DataIntegrityViolationException("Unique index or primary key violation: " + TipoQuarto.UK_NOME_NORMALIZADO);
+        }
+    }
+
     @Override
     public void deleteById(Long id) {
         // No nosso caso (deleção lógica), este método não será chamado pela service.
@@ -0,0 +1,129 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+class CalendarioDisponibilidadeTest {
+
+    private static final long ORIGEM = 20_000;
+    private static final int HORIZONTE = 100;
+
+    private final CalendarioDisponibilidade calendario = new CalendarioDisponibilidade(ORIGEM, HORIZONTE);
+
+    private static TipoQuartoDto tipo(long id, int capacidade) {
+        return new TipoQuartoDto(id, "Tipo " + id, "Descrição " + id, capacidade, 200.0, null);
+    }
+
+    private List<Long> disponiveis(int diaEntrada, int diaSaida, int hospedes) {
+        return calendario.disponiveis(ORIGEM + diaEntrada, ORIGEM + diaSaida, hospedes).stream()
+                .map(TipoQuartoDto::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pela capacidade e pelos dias ocupados, com a saída exclusiva")
+    void testDisponiveis_CapacidadeEOcupacao() {
+        // 1. Arrange
+        calendario.incluirTipo(tipo(1, 2));
+        calendario.incluirTipo(tipo(2, 4));
+        calendario.incluirTipo(tipo(3, 4));
+        calendario.ocupar(2L, ORIGEM + 10, ORIGEM + 15);
+
+        // 2. Act & 3. Assert
+        assertEquals(List.of(1L, 2L, 3L), disponiveis(0, 5, 1));
+        assertEquals(List.of(2L, 3L), disponiveis(0, 5, 3));
+        assertEquals(List.of(3L), disponiveis(12, 13, 3));
+        assertEquals(List.of(3L), disponiveis(8, 11, 4));     // Encosta no começo
+        assertEquals(List.of(2L, 3L), disponiveis(15, 20, 4)); // Entra no dia da saída
+        assertEquals(List.of(2L, 3L), disponiveis(5, 10, 4));  // Sai no dia da entrada
+        assertEquals(List.of(), disponiveis(0, 5, 5));
+    }
+
+    @Test
+    @DisplayName("Deve liberar dias cancelados, atualizar a capacidade e retirar tipos inativados")
+    void testAlteracoes() {
+        // 1. Arrange
+        calendario.incluirTipo(tipo(1, 2));
+        calendario.incluirTipo(tipo(2, 2));
+        calendario.ocupar(1L, ORIGEM + 3, ORIGEM + 6);
+
+        // 2. Act
+        calendario.liberar(1L, ORIGEM + 3, ORIGEM + 6);
+        calendario.atualizarTipo(tipo(2, 6));
+        calendario.atualizarTipo(tipo(99, 6)); // Fora do calendário (inativo): continua fora
+        calendario.removerTipo(1L);
+        calendario.incluirTipo(tipo(3, 3)); // Reaproveita a posição do tipo 1, sem a ocupação dele
+
+        // 3. Assert
+        assertEquals(List.of(2L, 3L), disponiveis(0, 10, 1));
+        assertEquals(List.of(2L), disponiveis(0, 10, 5));
+        assertEquals(2, calendario.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar a parte de uma reserva fora do horizonte e recusar buscas fora dele")
+    void testHorizonte() {
+        // 1. Arrange
+        calendario.incluirTipo(tipo(1, 2));
+
+        // 2. Act
+        calendario.ocupar(1L, ORIGEM - 5, ORIGEM + 1);
+        calendario.ocupar(1L, ORIGEM + HORIZONTE - 1, ORIGEM + HORIZONTE + 30);
+
+        // 3. Assert
+        assertEquals(List.of(), disponiveis(0, 1, 1));
+        assertEquals(List.of(1L), disponiveis(1, HORIZONTE - 1, 1));
+        assertEquals(List.of(), disponiveis(HORIZONTE - 1, HORIZONTE, 1));
+        assertThrows(IllegalArgumentException.class, () -> disponiveis(-1, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> disponiveis(HORIZONTE - 1, HORIZONTE + 1, 1));
+    }
+
+    @Test
+    @DisplayName("Deve dar o mesmo resultado que a verificação dia a dia, com centenas de tipos e capacidades acima do índice")
+    void testDisponiveis_ComparadoComVerificacaoSimples() {
+        // 1. Arrange: 300 tipos (5 palavras), capacidades de 1 a 24, reservas aleatórias sem sobreposição
+        var aleatorio = new Random(42);
+        int quantidade = 300;
+        int[] capacidades = new int[quantidade];
+        List<BitSet> ocupacao = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            capacidades[i] = 1 + aleatorio.nextInt(24);
+            calendario.incluirTipo(tipo(i + 1, capacidades[i]));
+            var dias = new BitSet(HORIZONTE);
+            int dia = aleatorio.nextInt(10);
+            while (dia < HORIZONTE) {
+                int diarias = 1 + aleatorio.nextInt(7);
+                calendario.ocupar((long) i + 1, ORIGEM + dia, ORIGEM + dia + diarias);
+                dias.set(dia, Math.min(dia + diarias, HORIZONTE));
+                dia += diarias + aleatorio.nextInt(15);
+            }
+            ocupacao.add(dias);
+        }
+
+        // 2. Act & 3. Assert
+        for (int consulta = 0; consulta < 500; consulta++) {
+            int entrada = aleatorio.nextInt(HORIZONTE - 1);
+            int saida = entrada + 1 + aleatorio.nextInt(Math.min(10, HORIZONTE - entrada));
+            int hospedes = 1 + aleatorio.nextInt(24);
+
+            List<Long> esperados = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                int ocupado = ocupacao.get(i).nextSetBit(entrada);
+                if (capacidades[i] >= hospedes && (ocupado < 0 || ocupado >= saida)) {
+                    esperados.add((long) i + 1);
+                }
+            }
+            assertEquals(esperados, disponiveis(entrada, saida, hospedes),
+                    "Período [" + entrada + ", " + saida + ") para " + hospedes + " hóspedes");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.trabalho.crud.core.entity.BusinessException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CargaUnicaTest {
+
+    private static final int LEITORES = 8;
+
+    private final AtomicReference<String> versao = new AtomicReference<>("v1");
+    private final AtomicInteger consultas = new AtomicInteger();
+    private SimpleMeterRegistry registry;
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(LEITORES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private CargaUnica<Long, String> criar(Duration espera) {
+        return new CargaUnica<>("teste", versao::get, espera, registry);
+    }
+
+    /**
+     * Consulta que só termina quando o teste liberar, avisando quando começou.
+     */
+    private String consultaPresa(CountDownLatch iniciou, CountDownLatch libera, String resultado) {
+        consultas.incrementAndGet();
+        iniciou.countDown();
+        try {
+            libera.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return resultado;
+    }
+
+    /**
+     * Espera os seguidores chegarem na carga em andamento (não há como observar a espera de fora).
+     */
+    private void aguardarSeguidores(int esperados) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() < esperados && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única consulta para leituras simultâneas da mesma chave")
+    void testCarregar_LeiturasSimultaneasCompartilhamConsulta() throws Exception {
+        // 1. Arrange
+        var carga = criar(Duration.ofSeconds(5));
+        var iniciou = new CountDownLatch(1);
+        var libera = new CountDownLatch(1);
+
+        // 2. Act
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(executor.submit(() -> carga.carregar(1L, () -> consultaPresa(iniciou, libera, "quarto"))));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < LEITORES; i++) {
+            resultados.add(executor.submit(() -> carga.carregar(1L, () -> consultaPresa(iniciou, libera, "outro"))));
+        }
+        aguardarSeguidores(LEITORES);
+        libera.countDown();
+
+        // 3. Assert
+        for (Future<String> resultado : resultados) {
+            assertEquals("quarto", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, consultas.get());
+        assertEquals(1, carga.cargas());
+        assertEquals(LEITORES - 1, carga.compartilhadas());
+        assertEquals(LEITORES - 1, registry.get("hotel.carga_unica.compartilhadas").tag("leitura", "teste")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve reaproveitar nada depois que a carga termina nem misturar chaves diferentes")
+    void testCarregar_SemCacheEntreCargasNemEntreChaves() {
+        // 1. Arrange
+        var carga = criar(Duration.ofSeconds(5));
+
+        // 2. Act
+        carga.carregar(1L, () -> "a" + consultas.incrementAndGet());
+        carga.carregar(1L, () -> "a" + consultas.incrementAndGet());
+        String outra = carga.carregar(2L, () -> "b" + consultas.incrementAndGet());
+
+        // 3. Assert
+        assertEquals(3, consultas.get());
+        assertEquals("b3", outra);
+        assertEquals(0, carga.compartilhadas());
+    }
+
+    @Test
+    @DisplayName("Leitura iniciada depois de uma alteração não deve usar a carga anterior à alteração")
+    void testCarregar_VersaoNovaIniciaOutraCarga() throws Exception {
+        // 1. Arrange
+        var carga = criar(Duration.ofSeconds(5));
+        var iniciou = new CountDownLatch(1);
+        var libera = new CountDownLatch(1);
+        Future<String> antiga = executor.submit(() -> carga.carregar(1L, () -> consultaPresa(iniciou, libera, "antes")));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        // 2. Act
+        versao.set("v2"); // Escrita confirmada durante a carga
+        String nova = carga.carregar(1L, () -> "depois");
+        libera.countDown();
+
+        // 3. Assert
+        assertEquals("depois", nova);
+        assertEquals("antes", antiga.get(5, TimeUnit.SECONDS));
+        assertEquals(2, carga.cargas());
+        assertEquals(0, carga.compartilhadas());
+    }
+
+    @Test
+    @DisplayName("Deve consultar por conta própria quando a carga em andamento passa da espera máxima")
+    void testCarregar_EsperaEsgotadaConsultaSozinho() throws Exception {
+        // 1. Arrange
+        var carga = criar(Duration.ofMillis(50));
+        var iniciou = new CountDownLatch(1);
+        var libera = new CountDownLatch(1);
+        Future<String> lenta = executor.submit(() -> carga.carregar(1L, () -> consultaPresa(iniciou, libera, "lenta")));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        // 2. Act
+        String propria = carga.carregar(1L, () -> "propria");
+        libera.countDown();
+
+        // 3. Assert
+        assertEquals("propria", propria);
+        assertEquals("lenta", lenta.get(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("hotel.carga_unica.esperas_esgotadas").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve repassar o erro da carga a quem esperava, sem nova consulta")
+    void testCarregar_ErroCompartilhado() throws Exception {
+        // 1. Arrange
+        var carga = criar(Duration.ofSeconds(5));
+        var iniciou = new CountDownLatch(1);
+        var libera = new CountDownLatch(1);
+        Future<String> lider = executor.submit(() -> carga.carregar(1L, () -> {
+            consultaPresa(iniciou, libera, null);
+            throw BusinessException.notFoundException("Tipo de quarto não encontrado");
+        }));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        Future<String> seguidor = executor.submit(() -> carga.carregar(1L, () -> consultaPresa(iniciou, libera, "x")));
+        aguardarSeguidores(2);
+
+        // 2. Act
+        libera.countDown();
+
+        // 3. Assert
+        var erroLider = assertThrows(ExecutionException.class, () -> lider.get(5, TimeUnit.SECONDS));
+        var erroSeguidor = assertThrows(ExecutionException.class,
+                () -> seguidor.get(5, TimeUnit.SECONDS));
+        assertSame(erroLider.getCause(), erroSeguidor.getCause());
+        assertEquals(HttpStatus.NOT_FOUND, ((BusinessException) erroSeguidor.getCause()).getStatus());
+        assertEquals(1, consultas.get());
+
+        // A falha não fica guardada: a próxima leitura consulta de novo
+        assertEquals("ok", carga.carregar(1L, () -> "ok"));
+    }
+}
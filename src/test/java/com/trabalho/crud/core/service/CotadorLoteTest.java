@@ -0,0 +1,171 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.dto.ResultadoCotacaoDto;
+
+class CotadorLoteTest {
+
+    // 2025-03-03 é uma segunda-feira, fora das temporadas abaixo
+    private static final LocalDate SEGUNDA = LocalDate.of(2025, 3, 3);
+    private static final long HOJE = SEGUNDA.toEpochDay();
+
+    private final TabelaTarifas tabela = new TabelaTarifas(
+            EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), 2000,
+            TabelaTarifas.temporadas("12-20..01-05=40, 07-01..07-31=25"),
+            TabelaTarifas.descontosEstadia("7=10, 14=15"));
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final CotadorLote cotador = new CotadorLote(pool, tabela);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private List<ResultadoCotacaoDto> cotar(List<PedidoCotacaoDto> pedidos, Map<Long, CotadorLote.Tarifado> tipos,
+            List<Integer> tamanhosBlocos) {
+        List<ResultadoCotacaoDto> resultados = new ArrayList<>();
+        cotador.iniciar(pedidos, tipos, HOJE).entregar(bloco -> {
+            tamanhosBlocos.add(bloco.size());
+            resultados.addAll(bloco);
+        });
+        return resultados;
+    }
+
+    @Test
+    @DisplayName("Deve cotar cada pedido uma única vez, em vários blocos, com o mesmo total da cotação individual")
+    void testIniciar_LoteGrande() {
+        // 1. Arrange: 3000 pedidos de 7 tipos, intercalados
+        Map<Long, CotadorLote.Tarifado> tipos = new HashMap<>();
+        for (long id = 1; id <= 7; id++) {
+            tipos.put(id, new CotadorLote.Tarifado(10000 * id + 99, 4));
+        }
+        List<PedidoCotacaoDto> pedidos = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            pedidos.add(new PedidoCotacaoDto((long) (i % 7 + 1), SEGUNDA.plusDays(i % 400), i % 20 + 1, i % 4 + 1));
+        }
+        List<Integer> blocos = new ArrayList<>();
+
+        // 2. Act
+        List<ResultadoCotacaoDto> resultados = cotar(pedidos, tipos, blocos);
+
+        // 3. Assert
+        assertEquals(3000, resultados.size());
+        assertTrue(blocos.size() > 1);
+        assertTrue(blocos.stream().allMatch(tamanho -> tamanho <= CotadorLote.PEDIDOS_POR_TAREFA));
+        boolean[] vistos = new boolean[pedidos.size()];
+        for (ResultadoCotacaoDto resultado : resultados) {
+            assertFalse(vistos[resultado.getIndice()]);
+            vistos[resultado.getIndice()] = true;
+
+            PedidoCotacaoDto pedido = pedidos.get(resultado.getIndice());
+            long entrada = pedido.getEntrada().toEpochDay();
+            long esperado = tabela.cotar(tipos.get(pedido.getTipoQuartoId()).tarifaCentavos(), entrada,
+                    entrada + pedido.getDiarias(), null);
+            assertEquals("200 OK", resultado.getStatus());
+            assertEquals(pedido.getTipoQuartoId(), resultado.getTipoQuartoId());
+            assertEquals(TabelaTarifas.decimal(esperado), resultado.getTotal());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve dar o status de cada pedido inválido sem interromper o lote")
+    void testIniciar_StatusPorPedido() {
+        // 1. Arrange: o tipo 2 não está no mapa (inexistente ou inativo)
+        Map<Long, CotadorLote.Tarifado> tipos = Map.of(1L, new CotadorLote.Tarifado(30000, 2));
+        List<PedidoCotacaoDto> pedidos = List.of(
+                new PedidoCotacaoDto(1L, SEGUNDA, 2, 2),
+                new PedidoCotacaoDto(1L, SEGUNDA, 2, 3),
+                new PedidoCotacaoDto(2L, SEGUNDA, 2, 1),
+                new PedidoCotacaoDto(1L, SEGUNDA.minusDays(1), 2, 1),
+                new PedidoCotacaoDto(1L, SEGUNDA, 91, 1),
+                new PedidoCotacaoDto(1L, SEGUNDA, 2, 0),
+                new PedidoCotacaoDto(null, SEGUNDA, 2, 1),
+                new PedidoCotacaoDto(1L, null, 2, 1));
+
+        // 2. Act
+        ResultadoCotacaoDto[] porIndice = new ResultadoCotacaoDto[pedidos.size()];
+        cotar(pedidos, tipos, new ArrayList<>()).forEach(resultado -> porIndice[resultado.getIndice()] = resultado);
+
+        // 3. Assert
+        assertEquals("200 OK", porIndice[0].getStatus());
+        assertEquals(TabelaTarifas.decimal(60000), porIndice[0].getTotal());
+        assertEquals("400 BAD_REQUEST", porIndice[1].getStatus());
+        assertTrue(porIndice[1].getMessage().contains("no máximo 2 hóspedes"));
+        assertEquals("404 NOT_FOUND", porIndice[2].getStatus());
+        for (int i = 3; i < pedidos.size(); i++) {
+            assertEquals("400 BAD_REQUEST", porIndice[i].getStatus());
+            assertNull(porIndice[i].getTotal());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abandonar o lote quando quem recebe os resultados falha")
+    void testEntregar_ConsumidorFalha() {
+        // 1. Arrange
+        Map<Long, CotadorLote.Tarifado> tipos = Map.of(1L, new CotadorLote.Tarifado(30000, 2));
+        List<PedidoCotacaoDto> pedidos = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            pedidos.add(new PedidoCotacaoDto(1L, SEGUNDA, 3, 1));
+        }
+        CotadorLote.Execucao execucao = cotador.iniciar(pedidos, tipos, HOJE);
+
+        // 2. Act & 3. Assert
+        assertThrows(IllegalStateException.class, () -> execucao.entregar(bloco -> {
+            throw new IllegalStateException("cliente desconectou");
+        }));
+    }
+
+    @Test
+    @DisplayName("Deve abandonar o cálculo cancelado antes da entrega e avisar o fim uma única vez")
+    void testCancelar_AntesDeEntregar() throws InterruptedException {
+        // 1. Arrange: o único worker fica preso até o lote ser cancelado
+        var umWorker = new ForkJoinPool(1);
+        var liberar = new CountDownLatch(1);
+        umWorker.execute(() -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var terminados = new AtomicInteger();
+        List<PedidoCotacaoDto> pedidos = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            pedidos.add(new PedidoCotacaoDto(1L, SEGUNDA, 3, 1));
+        }
+
+        try {
+            CotadorLote.Execucao execucao = new CotadorLote(umWorker, tabela).iniciar(pedidos,
+                    Map.of(1L, new CotadorLote.Tarifado(30000, 2)), HOJE, terminados::incrementAndGet);
+
+            // 2. Act
+            execucao.cancelar();
+            liberar.countDown();
+            List<ResultadoCotacaoDto> recebidos = new ArrayList<>();
+            execucao.entregar(recebidos::addAll);
+
+            // 3. Assert
+            assertTrue(recebidos.isEmpty());
+            assertEquals(1, terminados.get());
+        } finally {
+            umWorker.shutdownNow();
+        }
+    }
+}
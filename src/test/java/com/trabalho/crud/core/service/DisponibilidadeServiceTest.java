@@ -0,0 +1,149 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.repository.ReservaRepositoryMemo;
+import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class DisponibilidadeServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private DisponibilidadeService service;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private TipoQuartoService tipoQuartoService;
+
+    @Autowired
+    private ReservaRepositoryMemo reservaRepository;
+
+    @Autowired
+    private TipoQuartoRepositoryMemo tipoQuartoRepository;
+
+    @Autowired
+    private CacheTipoQuartoRepository cache;
+
+    @Autowired
+    private AgendaReservas agenda;
+
+    private Long casal;
+    private Long familia;
+
+    @BeforeEach
+    void setUp() {
+        this.limpar();
+        casal = criarTipo("Quarto Casal", 2);
+        familia = criarTipo("Suíte Família", 4);
+    }
+
+    // Calendário e agenda são beans compartilhados entre as classes de teste
+    @AfterEach
+    void limpar() {
+        reservaRepository.deleteAll();
+        tipoQuartoRepository.deleteAll();
+        cache.limpar();
+        agenda.limpar();
+        service.limpar();
+    }
+
+    private Long criarTipo(String nome, int capacidade) {
+        var dto = new TipoQuartoDto();
+        dto.setNome(nome);
+        dto.setDescricao("Descrição de " + nome);
+        dto.setCapacidadeMaxima(capacidade);
+        dto.setTarifaPadrao(250.0);
+        return tipoQuartoService.save(dto).getId();
+    }
+
+    private ReservaDto reservar(Long tipoQuartoId, int diasAteEntrada, int diarias) {
+        var dto = new ReservaDto();
+        dto.setTipoQuartoId(tipoQuartoId);
+        dto.setEntrada(HOJE.plusDays(diasAteEntrada));
+        dto.setSaida(HOJE.plusDays(diasAteEntrada + diarias));
+        dto.setHospedes(1);
+        dto.setNomeHospede("Hóspede");
+        return reservaService.reservar(dto);
+    }
+
+    private List<Long> buscar(int diasAteEntrada, int diarias, int hospedes) {
+        return service.buscar(HOJE.plusDays(diasAteEntrada), HOJE.plusDays(diasAteEntrada + diarias), hospedes).stream()
+                .map(TipoQuartoDto::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve montar o calendário com as reservas já gravadas e filtrar pela capacidade")
+    void testBuscar_MontaDoRepositorio() {
+        // 1. Arrange
+        reservar(casal, 5, 3);
+
+        // 2. Act & 3. Assert
+        assertEquals(List.of(familia), buscar(6, 1, 1));
+        assertEquals(List.of(casal, familia), buscar(8, 2, 2));
+        assertEquals(List.of(familia), buscar(0, 2, 3));
+    }
+
+    @Test
+    @DisplayName("Deve refletir reservas, cancelamentos, criações, alterações e inativações depois da montagem")
+    void testBuscar_AtualizadoPelasEscritas() {
+        // 1. Arrange
+        assertEquals(List.of(casal, familia), buscar(10, 2, 1)); // Monta o calendário
+
+        // 2. Act & 3. Assert
+        var reserva = reservar(familia, 10, 2);
+        assertEquals(List.of(casal), buscar(11, 3, 1));
+
+        reservaService.cancelar(reserva.getId());
+        assertEquals(List.of(casal, familia), buscar(11, 3, 1));
+
+        Long luxo = criarTipo("Suíte Luxo", 6);
+        assertEquals(List.of(luxo), buscar(11, 3, 5));
+
+        var alterado = tipoQuartoService.findById(casal);
+        alterado.setCapacidadeMaxima(5);
+        tipoQuartoService.update(casal, alterado);
+        assertEquals(List.of(casal, luxo), buscar(11, 3, 5));
+
+        tipoQuartoService.deleteById(luxo);
+        assertEquals(List.of(casal), buscar(11, 3, 5));
+    }
+
+    @Test
+    @DisplayName("Deve validar os parâmetros da busca e o horizonte do calendário")
+    void testBuscar_Validacoes() {
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.buscar(null, HOJE, 1)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> buscar(1, 0, 1)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> buscar(1, 1, 0)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> buscar(-1, 2, 1)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> buscar(1, ReservaService.DIARIAS_MAXIMAS + 1, 1)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> buscar(800, 2, 1)).getStatus());
+    }
+}
@@ -0,0 +1,135 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.trabalho.crud.core.dto.ImportacaoStatusDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ImportacaoServiceTest {
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private TipoQuartoService tipoQuartoService;
+
+    @Autowired
+    private TipoQuartoRepositoryMemo repository;
+
+    @Autowired
+    private CacheTipoQuartoRepository cache;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        cache.limpar();
+    }
+
+    // A gravação termina em segundo plano; espera o estado final
+    private ImportacaoStatusDto aguardarFim(String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ImportacaoStatusDto status = importacaoService.status(id);
+            if (!status.getEstado().equals("EM_ANDAMENTO")) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Importação não terminou a tempo");
+    }
+
+    private static ByteArrayInputStream arquivo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON, rejeitando linhas inválidas com o número da linha")
+    void testImportar_Ndjson() throws InterruptedException {
+        // 1. Arrange
+        String ndjson = """
+                {"nome":"Standard","descricao":"Quarto padrão","capacidadeMaxima":2,"tarifaPadrao":150.0}
+                {"nome":"Luxo","descricao":"Quarto luxo","capacidadeMaxima":3,"tarifaPadrao":-1}
+                isso não é json
+
+                {"nome":"standard","descricao":"Repetido","capacidadeMaxima":2,"tarifaPadrao":150.0}
+                {"nome":"Família","descricao":"Quarto família","capacidadeMaxima":5,"tarifaPadrao":300.0}
+                """;
+
+        // 2. Act
+        var status = aguardarFim(importacaoService.importar(arquivo(ndjson), "ndjson").getId());
+
+        // 3. Assert
+        assertEquals("CONCLUIDA", status.getEstado());
+        assertEquals(5, status.getLidos());
+        assertEquals(2, status.getGravados());
+        assertEquals(3, status.getRejeitados());
+        assertEquals(java.util.List.of(3L, 2L, 5L), status.getErros().stream().map(e -> e.getLinha()).toList());
+        assertEquals(2, tipoQuartoService.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar só as linhas NDJSON que não são objetos (ex.: null) e gravar as demais")
+    void testImportar_NdjsonLinhaNull() throws InterruptedException {
+        // 1. Arrange
+        String ndjson = """
+                {"nome":"Standard","descricao":"Quarto padrão","capacidadeMaxima":2,"tarifaPadrao":150.0}
+                null
+                42
+                ["Luxo"]
+                {"nome":"Família","descricao":"Quarto família","capacidadeMaxima":5,"tarifaPadrao":300.0}
+                """;
+
+        // 2. Act
+        var status = aguardarFim(importacaoService.importar(arquivo(ndjson), "ndjson").getId());
+
+        // 3. Assert
+        assertEquals("CONCLUIDA", status.getEstado());
+        assertEquals(2, status.getGravados());
+        assertEquals(3, status.getRejeitados());
+        assertEquals(java.util.List.of(2L, 3L, 4L), status.getErros().stream().map(e -> e.getLinha()).toList());
+        assertTrue(status.getErros().stream().allMatch(e -> e.getMessage().equals("Linha não é um objeto JSON.")));
+        assertEquals(2, tipoQuartoService.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV com cabeçalho e campos entre aspas")
+    void testImportar_Csv() throws InterruptedException {
+        // 1. Arrange
+        String csv = "id,nome,descricao,capacidadeMaxima,tarifaPadrao\n"
+                + "10,\"Suíte, Master\",\"Com \"\"vista\"\"\",2,500.0\n"
+                + "11,Econômico,Simples,abc,80.0\n";
+
+        // 2. Act
+        var status = aguardarFim(importacaoService.importar(arquivo(csv), "csv").getId());
+
+        // 3. Assert
+        assertEquals(1, status.getGravados());
+        assertEquals(1, status.getRejeitados());
+        assertEquals(3L, status.getErros().get(0).getLinha());
+        assertEquals("Com \"vista\"", tipoQuartoService.findAll().get(0).getDescricao());
+    }
+
+    @Test
+    @DisplayName("Deve falhar com formato de importação inválido")
+    void testImportar_FormatoInvalido() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            importacaoService.importar(arquivo(""), "xml");
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+}
@@ -0,0 +1,272 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.Reserva;
+import com.trabalho.crud.core.repository.ReservaRepositoryMemo;
+import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ReservaServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private ReservaService service;
+
+    @Autowired
+    private TipoQuartoService tipoQuartoService;
+
+    @Autowired
+    private ReservaRepositoryMemo repository;
+
+    @Autowired
+    private TipoQuartoRepositoryMemo tipoQuartoRepository;
+
+    @Autowired
+    private CacheTipoQuartoRepository cache;
+
+    @Autowired
+    private AgendaReservas agenda;
+
+    private Long tipoQuartoId;
+
+    @BeforeEach
+    void setUp() {
+        this.limpar();
+        var tipoQuarto = new TipoQuartoDto();
+        tipoQuarto.setNome("Suíte Família");
+        tipoQuarto.setDescricao("Suíte com duas camas de casal");
+        tipoQuarto.setCapacidadeMaxima(4);
+        tipoQuarto.setTarifaPadrao(300.0);
+        tipoQuartoId = tipoQuartoService.save(tipoQuarto).getId();
+    }
+
+    // A agenda é um bean compartilhado entre as classes de teste: não deixa reservas para as outras
+    @AfterEach
+    void limpar() {
+        repository.deleteAll();
+        tipoQuartoRepository.deleteAll();
+        cache.limpar();
+        agenda.limpar();
+    }
+
+    private ReservaDto criarReserva(int diasAteEntrada, int diarias) {
+        var dto = new ReservaDto();
+        dto.setTipoQuartoId(tipoQuartoId);
+        dto.setEntrada(HOJE.plusDays(diasAteEntrada));
+        dto.setSaida(HOJE.plusDays(diasAteEntrada + diarias));
+        dto.setHospedes(2);
+        dto.setNomeHospede("Hóspede " + diasAteEntrada);
+        return dto;
+    }
+
+    private HttpStatus statusDoErro(Runnable acao) {
+        return assertThrows(BusinessException.class, acao::run).getStatus();
+    }
+
+    @Test
+    @DisplayName("Deve criar uma reserva ativa")
+    void testReservar_Success() {
+        // 1. Arrange
+        var dto = criarReserva(5, 3);
+
+        // 2. Act
+        var resultado = service.reservar(dto);
+
+        // 3. Assert
+        assertNotNull(resultado.getId());
+        assertEquals("ATIVA", resultado.getStatus());
+        assertEquals(dto.getEntrada(), resultado.getEntrada());
+        assertEquals(List.of(resultado.getId()),
+                service.findAtivasPorTipoQuarto(tipoQuartoId).stream().map(ReservaDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar reservas sobrepostas e aceitar a que entra no dia da saída da outra")
+    void testReservar_SobreposicaoEAdjacencia() {
+        // 1. Arrange
+        service.reservar(criarReserva(10, 5)); // Dias 10 a 14, sai no 15
+
+        // 2. Act & 3. Assert
+        assertEquals(HttpStatus.CONFLICT, statusDoErro(() -> service.reservar(criarReserva(12, 1)))); // Dentro
+        assertEquals(HttpStatus.CONFLICT, statusDoErro(() -> service.reservar(criarReserva(8, 3))));  // Começo
+        assertEquals(HttpStatus.CONFLICT, statusDoErro(() -> service.reservar(criarReserva(14, 4)))); // Fim
+        assertEquals(HttpStatus.CONFLICT, statusDoErro(() -> service.reservar(criarReserva(5, 20)))); // Engloba
+
+        assertNotNull(service.reservar(criarReserva(15, 2)).getId()); // Entra no dia da saída
+        assertNotNull(service.reservar(criarReserva(7, 3)).getId());  // Sai no dia da entrada
+        assertEquals(3, service.findAtivasPorTipoQuarto(tipoQuartoId).size());
+    }
+
+    @Test
+    @DisplayName("Deve validar campos, datas e a capacidade do tipo de quarto")
+    void testReservar_Validacoes() {
+        // 1. Arrange
+        var semNome = criarReserva(1, 1);
+        semNome.setNomeHospede(" ");
+        var saidaAntes = criarReserva(5, 1);
+        saidaAntes.setSaida(saidaAntes.getEntrada());
+        var passado = criarReserva(-2, 3);
+        var longa = criarReserva(1, ReservaService.DIARIAS_MAXIMAS + 1);
+        var cheia = criarReserva(1, 1);
+        cheia.setHospedes(5);
+
+        // 2. Act & 3. Assert
+        assertEquals(HttpStatus.BAD_REQUEST, statusDoErro(() -> service.reservar(semNome)));
+        assertEquals(HttpStatus.BAD_REQUEST, statusDoErro(() -> service.reservar(saidaAntes)));
+        assertEquals(HttpStatus.BAD_REQUEST, statusDoErro(() -> service.reservar(passado)));
+        assertEquals(HttpStatus.BAD_REQUEST, statusDoErro(() -> service.reservar(longa)));
+        assertEquals(HttpStatus.BAD_REQUEST, statusDoErro(() -> service.reservar(cheia)));
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve reservar tipo de quarto inexistente ou inativo")
+    void testReservar_TipoQuartoInexistenteOuInativo() {
+        // 1. Arrange
+        var inexistente = criarReserva(1, 1);
+        inexistente.setTipoQuartoId(tipoQuartoId + 1000);
+        tipoQuartoService.deleteById(tipoQuartoId);
+
+        // 2. Act & 3. Assert
+        assertEquals(HttpStatus.NOT_FOUND, statusDoErro(() -> service.reservar(inexistente)));
+        assertEquals(HttpStatus.NOT_FOUND, statusDoErro(() -> service.reservar(criarReserva(1, 1))));
+    }
+
+    @Test
+    @DisplayName("Deve liberar o período ao cancelar, e cancelar de novo não deve ter efeito")
+    void testCancelar_LiberaPeriodo() {
+        // 1. Arrange
+        var reserva = service.reservar(criarReserva(3, 4));
+
+        // 2. Act
+        service.cancelar(reserva.getId());
+        service.cancelar(reserva.getId());
+
+        // 3. Assert
+        assertEquals("CANCELADA", service.findById(reserva.getId()).getStatus());
+        assertTrue(service.findAtivasPorTipoQuarto(tipoQuartoId).isEmpty());
+        assertNotNull(service.reservar(criarReserva(3, 4)).getId()); // O mesmo período volta a ficar livre
+        assertEquals(HttpStatus.NOT_FOUND, statusDoErro(() -> service.cancelar(999L)));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a agenda do repositório e continuar detectando conflitos")
+    void testAgenda_RecarregadaDoRepositorio() {
+        // 1. Arrange
+        service.reservar(criarReserva(20, 2));
+
+        // 2. Act
+        agenda.limpar(); // Como numa nova subida da aplicação
+
+        // 3. Assert
+        assertTrue(agenda.temReservasAtivas(tipoQuartoId));
+        assertEquals(HttpStatus.CONFLICT, statusDoErro(() -> service.reservar(criarReserva(21, 1))));
+    }
+
+    @Test
+    @DisplayName("Reservas simultâneas de períodos sobrepostos: nenhuma sobreposição deve ser gravada")
+    void testReservar_Concorrencia() throws Exception {
+        // 1. Arrange
+        int threads = 8;
+        int tentativas = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var largada = new CountDownLatch(1);
+        List<Callable<Integer>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(() -> {
+                largada.await();
+                int aceitas = 0;
+                for (int i = 0; i < tentativas; i++) {
+                    int inicio = ThreadLocalRandom.current().nextInt(60);
+                    try {
+                        service.reservar(criarReserva(inicio, 1 + ThreadLocalRandom.current().nextInt(4)));
+                        aceitas++;
+                    } catch (BusinessException ex) {
+                        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    }
+                }
+                return aceitas;
+            });
+        }
+
+        // 2. Act
+        List<Future<Integer>> resultados = tarefas.stream().map(executor::submit).toList();
+        largada.countDown();
+        int aceitas = 0;
+        for (Future<Integer> resultado : resultados) {
+            aceitas += resultado.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // 3. Assert
+        List<Reserva> gravadas = repository.findAll().stream()
+                .sorted(Comparator.comparing(Reserva::getEntrada))
+                .toList();
+        assertEquals(aceitas, gravadas.size());
+        for (int i = 1; i < gravadas.size(); i++) {
+            assertFalse(gravadas.get(i).getEntrada().isBefore(gravadas.get(i - 1).getSaida()),
+                    "Sobreposição entre as reservas " + gravadas.get(i - 1).getId() + " e " + gravadas.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Reserva e inativação simultâneas: não deve sobrar reserva ativa em tipo de quarto inativo")
+    void testReservar_ConcorrenciaComInativacao() throws Exception {
+        // 1. Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        var largada = new CountDownLatch(1);
+
+        // 2. Act
+        Future<Boolean> reservou = executor.submit(() -> {
+            largada.await();
+            try {
+                service.reservar(criarReserva(1, 2));
+                return true;
+            } catch (BusinessException ex) {
+                return false;
+            }
+        });
+        Future<Boolean> inativou = executor.submit(() -> {
+            largada.await();
+            try {
+                tipoQuartoService.deleteById(tipoQuartoId);
+                return true;
+            } catch (BusinessException ex) {
+                return false;
+            }
+        });
+        largada.countDown();
+
+        // 3. Assert: uma das duas vence, nunca as duas
+        assertNotEquals(reservou.get(30, TimeUnit.SECONDS), inativou.get(30, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TabelaTarifasTest {
+
+    // 2025-03-03 é uma segunda-feira, fora das temporadas abaixo
+    private static final LocalDate SEGUNDA = LocalDate.of(2025, 3, 3);
+
+    private final TabelaTarifas tabela = new TabelaTarifas(
+            EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), 2000,
+            TabelaTarifas.temporadas("12-20..01-05=40, 07-01..07-31=25"),
+            TabelaTarifas.descontosEstadia("7=10, 14=15"));
+
+    private long cotar(long tarifa, LocalDate entrada, int diarias, long[] porNoite) {
+        return tabela.cotar(tarifa, entrada.toEpochDay(), entrada.plusDays(diarias).toEpochDay(), porNoite);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o ajuste de fim de semana só nas noites de sexta e sábado")
+    void testCotar_FimDeSemana() {
+        // 1. Arrange
+        long[] noites = new long[5];
+
+        // 2. Act: quarta a domingo (noites de quarta, quinta, sexta, sábado e domingo)
+        long total = cotar(30000, SEGUNDA.plusDays(2), 5, noites);
+
+        // 3. Assert
+        assertArrayEquals(new long[] {30000, 30000, 36000, 36000, 30000}, noites);
+        assertEquals(162000, total);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a temporada que vira o ano e somá-la ao ajuste de fim de semana")
+    void testCotar_TemporadaVirandoOAno() {
+        // 1. Arrange: 2025-12-31 é quarta e 2026-01-02 é sexta
+        long[] noites = new long[6];
+
+        // 2. Act
+        cotar(10000, LocalDate.of(2025, 12, 31), 6, noites);
+
+        // 3. Assert: até 05/01 inclusive; 06/01 (terça) já está fora da temporada
+        assertArrayEquals(new long[] {14000, 14000, 16000, 16000, 14000, 14000}, noites);
+        assertEquals(10000, cotar(10000, LocalDate.of(2026, 1, 6), 1, null));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o desconto da maior faixa de estadia atingida em cada noite")
+    void testCotar_DescontoPorEstadia() {
+        assertEquals(0, tabela.descontoEstadia(6));
+        assertEquals(1000, tabela.descontoEstadia(7));
+        assertEquals(1000, tabela.descontoEstadia(13));
+        assertEquals(1500, tabela.descontoEstadia(30));
+
+        // 7 noites a partir de segunda: 5 x 270,00 + 2 x 324,00 (fim de semana com 10% de desconto)
+        assertEquals(5 * 27000 + 2 * 32400, cotar(30000, SEGUNDA, 7, null));
+    }
+
+    @Test
+    @DisplayName("Deve arredondar cada noite para o centavo e o total ser a soma exata das noites")
+    void testCotar_ArredondamentoETotalExato() {
+        // 1. Arrange: 99,99 com 20% = 119,988 -> 119,99; com 10% de desconto = 89,991 -> 89,99 e 107,9892 -> 107,99
+        long[] noites = new long[7];
+
+        // 2. Act
+        long total = cotar(9999, SEGUNDA, 7, noites);
+
+        // 3. Assert
+        assertArrayEquals(new long[] {8999, 8999, 8999, 8999, 10799, 10799, 8999}, noites);
+        long soma = 0;
+        for (long noite : noites) {
+            soma += noite;
+        }
+        assertEquals(soma, total);
+        assertEquals(119_99, cotar(9999, SEGUNDA.plusDays(4), 1, null));
+    }
+
+    @Test
+    @DisplayName("Deve converter a tarifa decimal para centavos sem o erro do double")
+    void testCentavos() {
+        assertEquals(101, TabelaTarifas.centavos(1.005));
+        assertEquals(30010, TabelaTarifas.centavos(300.1));
+        assertEquals(new BigDecimal("300.10"), TabelaTarifas.decimal(30010));
+        assertEquals(1250, TabelaTarifas.pontosBase("12.5"));
+        assertEquals(Set.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), TabelaTarifas.diasDaSemana("friday, SATURDAY"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar configuração inválida e estadias fora da tabela")
+    void testValidacoes() {
+        assertThrows(IllegalArgumentException.class, () -> TabelaTarifas.temporadas("12-20=40"));
+        assertThrows(IllegalArgumentException.class, () -> TabelaTarifas.descontosEstadia("7"));
+        assertThrows(ArithmeticException.class, () -> TabelaTarifas.pontosBase("0.001"));
+        assertThrows(IllegalArgumentException.class, () -> new TabelaTarifas(Set.of(), 0,
+                List.of(), TabelaTarifas.descontosEstadia("7=101")));
+        assertThrows(IllegalArgumentException.class, () -> new TabelaTarifas(EnumSet.allOf(DayOfWeek.class), -10001,
+                List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> cotar(10000, LocalDate.of(1999, 12, 31), 2, null));
+        assertThrows(IllegalArgumentException.class, () -> cotar(10000, SEGUNDA, 0, null));
+    }
+}
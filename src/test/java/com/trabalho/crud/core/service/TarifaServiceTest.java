@@ -0,0 +1,163 @@
+package com.trabalho.crud.core.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.trabalho.crud.core.dto.CotacaoDto;
+import com.trabalho.crud.core.dto.PedidoCotacaoDto;
+import com.trabalho.crud.core.dto.ResultadoCotacaoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.BusinessException;
+import com.trabalho.crud.core.entity.TipoQuarto;
+import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "hotel.tarifas.fim-de-semana.ajuste=20",
+        "hotel.tarifas.temporadas=",
+        "hotel.tarifas.descontos-estadia=7=10"
+})
+class TarifaServiceTest {
+
+    @Autowired
+    private TarifaService service;
+
+    @Autowired
+    private TipoQuartoService tipoQuartoService;
+
+    @Autowired
+    private TipoQuartoRepositoryMemo tipoQuartoRepository;
+
+    @Autowired
+    private CacheTipoQuartoRepository cache;
+
+    private Long tipoQuartoId;
+
+    @BeforeEach
+    void setUp() {
+        tipoQuartoRepository.deleteAll();
+        cache.limpar();
+        var dto = new TipoQuartoDto();
+        dto.setNome("Quarto Casal");
+        dto.setDescricao("Cama de casal");
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(199.9);
+        tipoQuartoId = tipoQuartoService.save(dto).getId();
+    }
+
+    // Primeira segunda-feira a partir de amanhã
+    private static LocalDate proximaSegunda() {
+        LocalDate dia = LocalDate.now().plusDays(1);
+        while (dia.getDayOfWeek() != DayOfWeek.MONDAY) {
+            dia = dia.plusDays(1);
+        }
+        return dia;
+    }
+
+    @Test
+    @DisplayName("Deve cotar cada noite e o total, com o fim de semana e o desconto por estadia")
+    void testCotar_Success() {
+        // 1. Arrange
+        LocalDate segunda = proximaSegunda();
+
+        // 2. Act
+        CotacaoDto cotacao = service.cotar(tipoQuartoId, segunda, segunda.plusDays(7));
+
+        // 3. Assert: 199,90 com 10% = 179,91; sexta e sábado 199,90 x 1,2 x 0,9 = 215,892 -> 215,89
+        assertEquals(7, cotacao.getDiarias());
+        assertEquals(new BigDecimal("199.90"), cotacao.getTarifaPadrao());
+        assertEquals(new BigDecimal("10.00"), cotacao.getDescontoEstadia());
+        assertEquals(segunda.plusDays(4), cotacao.getNoites().get(4).getData());
+        assertEquals(new BigDecimal("179.91"), cotacao.getNoites().get(0).getValor());
+        assertEquals(new BigDecimal("215.89"), cotacao.getNoites().get(4).getValor());
+        assertEquals(new BigDecimal("1331.33"), cotacao.getTotal()); // 5 x 179,91 + 2 x 215,89
+    }
+
+    @Test
+    @DisplayName("Deve validar o período e recusar tipo de quarto inexistente ou inativo")
+    void testCotar_Validacoes() {
+        LocalDate amanha = LocalDate.now().plusDays(1);
+
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.cotar(tipoQuartoId, amanha, amanha)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.cotar(tipoQuartoId, amanha.minusDays(2), amanha)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.cotar(tipoQuartoId, amanha, amanha.plusDays(ReservaService.DIARIAS_MAXIMAS + 1))).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(BusinessException.class,
+                () -> service.cotar(tipoQuartoId + 1000, amanha, amanha.plusDays(1))).getStatus());
+
+        tipoQuartoService.deleteById(tipoQuartoId);
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(BusinessException.class,
+                () -> service.cotar(tipoQuartoId, amanha, amanha.plusDays(1))).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve cotar o lote com o mesmo total da cotação individual e o status de cada pedido")
+    void testCotarLote() {
+        // 1. Arrange
+        LocalDate segunda = proximaSegunda();
+        List<PedidoCotacaoDto> pedidos = List.of(
+                new PedidoCotacaoDto(tipoQuartoId, segunda, 7, 2),
+                new PedidoCotacaoDto(tipoQuartoId, segunda, 2, 3),
+                new PedidoCotacaoDto(tipoQuartoId + 1000, segunda, 2, 1));
+
+        // 2. Act
+        List<ResultadoCotacaoDto> resultados = Collections.synchronizedList(new ArrayList<>());
+        service.cotarLote(pedidos).entregar(resultados::addAll);
+        resultados.sort(Comparator.comparingInt(ResultadoCotacaoDto::getIndice));
+
+        // 3. Assert
+        assertEquals(3, resultados.size());
+        assertEquals("200 OK", resultados.get(0).getStatus());
+        assertEquals(service.cotar(tipoQuartoId, segunda, segunda.plusDays(7)).getTotal(), resultados.get(0).getTotal());
+        assertEquals(HttpStatus.BAD_REQUEST.toString(), resultados.get(1).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND.toString(), resultados.get(2).getStatus());
+
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.cotarLote(List.of())).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(BusinessException.class,
+                () -> service.cotarLote(Collections.nCopies(TarifaService.LOTE_MAXIMO + 1, pedidos.get(0)))).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve dar erro só aos pedidos do tipo cuja tarifa gravada não cabe em centavos")
+    void testCotarLote_TarifaForaDoIntervalo() {
+        // 1. Arrange: gravado direto no repositório, como um registro anterior à validação da tarifa
+        Long invalidoId = tipoQuartoRepository.save(new TipoQuarto(null, "Quarto Legado", "Tarifa corrompida", 2,
+                1e300, true, null, null)).getId();
+        LocalDate segunda = proximaSegunda();
+        List<PedidoCotacaoDto> pedidos = List.of(
+                new PedidoCotacaoDto(invalidoId, segunda, 2, 1),
+                new PedidoCotacaoDto(tipoQuartoId, segunda, 2, 1));
+
+        // 2. Act
+        List<ResultadoCotacaoDto> resultados = Collections.synchronizedList(new ArrayList<>());
+        service.cotarLote(pedidos).entregar(resultados::addAll);
+        resultados.sort(Comparator.comparingInt(ResultadoCotacaoDto::getIndice));
+
+        // 3. Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.toString(), resultados.get(0).getStatus());
+        assertEquals("Tarifa fora do intervalo suportado.", resultados.get(0).getMessage());
+        assertEquals("200 OK", resultados.get(1).getStatus());
+        BusinessException individual = assertThrows(BusinessException.class,
+                () -> service.cotar(invalidoId, segunda, segunda.plusDays(2)));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, individual.getStatus());
+    }
+}
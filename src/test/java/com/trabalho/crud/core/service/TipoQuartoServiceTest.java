@@ -2,10 +2,20 @@ package com.trabalho.crud.core.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import com.trabalho.crud.core.dto.OperacaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.ReservaDto;
+import com.trabalho.crud.core.dto.ResultadoOperacaoDto;
 import com.trabalho.crud.core.dto.TipoQuartoDto;
 import com.trabalho.crud.core.entity.BusinessException;
-import com.trabalho.crud.core.repository.TipoQuartoRepository;
+import com.trabalho.crud.core.evento.TipoQuartoAlteradoEvento;
+import com.trabalho.crud.core.repository.ReservaRepositoryMemo;
 import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,24 +24,45 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 @ActiveProfiles("test") // Ativa o profile "test", que vai carregar o TipoQuartoRepositoryMemo
 @SpringBootTest         // Sobe o contexto do Spring (Service, Mapper, e o RepoMemo)
+@RecordApplicationEvents // Guarda os eventos publicados em cada teste
 class TipoQuartoServiceTest {
 
     @Autowired
     private TipoQuartoService service; // A service real
 
     @Autowired
-    private TipoQuartoRepository repository; // O repo injetado (será o TipoQuartoRepositoryMemo)
+    private TipoQuartoRepositoryMemo repository; // O repo em memória, que fica por trás do cache
+
+    @Autowired
+    private CacheTipoQuartoRepository cache; // O decorador com cache que a service recebe
+
+    @Autowired
+    private MeterRegistry meterRegistry; // Onde o MetricasAspect registra os tempos
+
+    @Autowired
+    private ApplicationEvents eventos; // Eventos publicados pela service durante o teste
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ReservaRepositoryMemo reservaRepository;
+
+    @Autowired
+    private AgendaReservas agendaReservas;
 
     @BeforeEach
     void setUp() {
-        // Antes de CADA teste, limpamos o banco em memória
-        // Precisamos dar um "cast" para acessar o método específico do nosso MemoRepo
-        if (repository instanceof TipoQuartoRepositoryMemo) {
-            ((TipoQuartoRepositoryMemo) repository).deleteAll();
-        }
+        // Antes de CADA teste, limpamos o banco em memória e o cache que fica na frente dele
+        repository.deleteAll();
+        cache.limpar();
+        reservaRepository.deleteAll();
+        agendaReservas.limpar();
     }
 
     // Método helper para criar um DTO válido rapidamente
@@ -151,6 +182,28 @@ class TipoQuartoServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
 
+    @Test
+    @DisplayName("Deve recusar tarifa não finita (NaN, infinito) ou acima do máximo, na criação e na atualização")
+    void testSave_FalhaTarifaForaDoIntervalo() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Tarifa Limite"));
+
+        for (double tarifa : new double[] {Double.NaN, Double.POSITIVE_INFINITY, 1e300, 1_000_000.01}) {
+            TipoQuartoDto dto = criarDtoValido("Tarifa Absurda");
+            dto.setTarifaPadrao(tarifa);
+
+            // 2. Act & 3. Assert
+            BusinessException aoCriar = assertThrows(BusinessException.class, () -> service.save(dto));
+            BusinessException aoAtualizar = assertThrows(BusinessException.class, () -> service.update(salvo.getId(), dto));
+            assertEquals(HttpStatus.BAD_REQUEST, aoCriar.getStatus());
+            assertEquals(HttpStatus.BAD_REQUEST, aoAtualizar.getStatus());
+        }
+        var limite = criarDtoValido("Tarifa Máxima");
+        limite.setTarifaPadrao(1_000_000.0);
+        assertNotNull(service.save(limite).getId());
+        assertEquals(2, service.findAll().size());
+    }
+
     @Test
     @DisplayName("Deve falhar ao salvar com capacidade zero (Regra 3)")
     void testSave_FalhaCapacidadeZero() {
@@ -213,6 +266,8 @@ class TipoQuartoServiceTest {
         // Verifica no "banco"
         var quartoDoRepo = service.findById(id);
         assertEquals("Quarto Novo Nome", quartoDoRepo.getNome());
+        assertNotNull(resultado.getDataAtualizacao()); // A resposta leva a data gravada no UPDATE
+        assertEquals(quartoDoRepo.getDataAtualizacao(), resultado.getDataAtualizacao());
     }
 
     @Test
@@ -272,6 +327,29 @@ class TipoQuartoServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    @Test
+    @DisplayName("Não deve inativar um tipo de quarto com reserva ativa; após o cancelamento, deve")
+    void testDelete_FalhaComReservaAtiva() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Reservado"));
+        var reserva = new ReservaDto();
+        reserva.setTipoQuartoId(salvo.getId());
+        reserva.setEntrada(LocalDate.now().plusDays(10));
+        reserva.setSaida(LocalDate.now().plusDays(12));
+        reserva.setHospedes(2);
+        reserva.setNomeHospede("Maria Souza");
+        var reservada = reservaService.reservar(reserva);
+
+        // 2. Act & 3. Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> service.deleteById(salvo.getId()));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(1, service.findAll().size()); // Continua ativo
+
+        reservaService.cancelar(reservada.getId());
+        service.deleteById(salvo.getId());
+        assertTrue(service.findAll().isEmpty());
+    }
+
     @Test
     @DisplayName("Deve falhar ao salvar com nome em branco (Regra 1)")
     void testSave_FalhaNomeEmBranco() {
@@ -335,4 +413,303 @@ class TipoQuartoServiceTest {
         assertEquals("Todos os campos (nome, descrição, capacidade, tarifa) são obrigatórios.", exception.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
     }
+
+    @Test
+    @DisplayName("Deve paginar por keyset (ID) apenas os quartos ativos")
+    void testFindPage_PorId() {
+        // 1. Arrange
+        service.save(criarDtoValido("Quarto 1")); // ID 1
+        var inativo = service.save(criarDtoValido("Quarto 2")); // ID 2
+        service.save(criarDtoValido("Quarto 3")); // ID 3
+        service.save(criarDtoValido("Quarto 4")); // ID 4
+        service.deleteById(inativo.getId());
+
+        // 2. Act
+        var primeira = service.findPage(null, 2, null);
+        var segunda = service.findPage(primeira.getProximoCursor(), 2, null);
+
+        // 3. Assert
+        assertEquals(List.of(1L, 3L), primeira.getItens().stream().map(TipoQuartoDto::getId).toList());
+        assertNotNull(primeira.getProximoCursor());
+        assertEquals(List.of(4L), segunda.getItens().stream().map(TipoQuartoDto::getId).toList());
+        assertNull(segunda.getProximoCursor()); // Última página
+    }
+
+    @Test
+    @DisplayName("Deve paginar por keyset ordenando pelo nome")
+    void testFindPage_PorNome() {
+        // 1. Arrange
+        service.save(criarDtoValido("Suíte"));
+        service.save(criarDtoValido("Duplo"));
+        service.save(criarDtoValido("Single"));
+
+        // 2. Act
+        var primeira = service.findPage(null, 2, "nome");
+        var segunda = service.findPage(primeira.getProximoCursor(), 2, null);
+
+        // 3. Assert
+        assertEquals(List.of("Duplo", "Single"), primeira.getItens().stream().map(TipoQuartoDto::getNome).toList());
+        assertEquals(List.of("Suíte"), segunda.getItens().stream().map(TipoQuartoDto::getNome).toList());
+    }
+
+    @Test
+    @DisplayName("Deve falhar ao paginar com cursor inválido")
+    void testFindPage_CursorInvalido() {
+        // 2. Act & 3. Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            service.findPage("isso-nao-e-um-cursor", null, null);
+        });
+
+        assertEquals("Cursor de paginação inválido.", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve servir findById do cache e invalidar após atualização")
+    void testFindById_CacheInvalidadoNoUpdate() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Cache"));
+        service.findById(salvo.getId()); // Carrega no cache (falha)
+        long acertosAntes = cache.estatisticas().getAcertos();
+
+        // 2. Act
+        service.findById(salvo.getId()); // Deve vir do cache (acerto)
+        salvo.setNome("Quarto Cache Renomeado");
+        service.update(salvo.getId(), salvo);
+        var depois = service.findById(salvo.getId());
+
+        // 3. Assert
+        assertTrue(cache.estatisticas().getAcertos() > acertosAntes);
+        assertEquals("Quarto Cache Renomeado", depois.getNome()); // Não pode vir a versão antiga
+        assertTrue(cache.findByNome("Quarto Cache").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve falhar ao salvar nome que só difere em caixa e espaços (Regra 2)")
+    void testSave_FalhaNomeDuplicadoNormalizado() {
+        // 1. Arrange
+        service.save(criarDtoValido("Suíte Master"));
+
+        // 2. Act & 3. Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            service.save(criarDtoValido("  suíte   MASTER "));
+        });
+
+        assertEquals("Já existe um tipo de quarto com este nome.", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve criar e atualizar em lote, reportando o resultado de cada item")
+    void testSaveAll_ResultadoPorItem() {
+        // 1. Arrange
+        var existente = service.save(criarDtoValido("Existente")); // ID 1
+
+        var atualizacao = criarDtoValido("Existente Renomeado");
+        atualizacao.setId(existente.getId());
+        var invalido = criarDtoValido("Sem Tarifa");
+        invalido.setTarifaPadrao(null);
+        var inexistente = criarDtoValido("Fantasma");
+        inexistente.setId(99L);
+
+        var lote = List.of(
+                criarDtoValido("Novo"),       // 0: criado
+                atualizacao,                  // 1: atualizado
+                criarDtoValido(" novo "),     // 2: nome repetido no lote
+                invalido,                     // 3: campo obrigatório faltando
+                inexistente);                 // 4: ID não existe
+
+        // 2. Act
+        var resultados = service.saveAll(lote);
+
+        // 3. Assert
+        assertEquals(List.of("201 CREATED", "200 OK", "409 CONFLICT", "400 BAD_REQUEST", "404 NOT_FOUND"),
+                resultados.stream().map(r -> r.getStatus()).toList());
+        assertNotNull(resultados.get(0).getId());
+        assertEquals("Existente Renomeado", service.findById(existente.getId()).getNome());
+        assertEquals(2, service.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve executar as operações do lote em ordem, com o status de cada uma")
+    void testExecutar_OperacoesEmOrdem() {
+        // 1. Arrange
+        var suite = service.save(criarDtoValido("Suite"));
+        var standard = service.save(criarDtoValido("Standard"));
+        var reservado = service.save(criarDtoValido("Reservado"));
+        var reserva = new ReservaDto();
+        reserva.setTipoQuartoId(reservado.getId());
+        reserva.setEntrada(LocalDate.now().plusDays(3));
+        reserva.setSaida(LocalDate.now().plusDays(5));
+        reserva.setHospedes(1);
+        reserva.setNomeHospede("Ana Lima");
+        reservaService.reservar(reserva);
+
+        var alteracao = criarDtoValido("Suite Master");
+        alteracao.setTarifaPadrao(350.0);
+
+        var operacoes = List.of(
+                new OperacaoTipoQuartoDto("buscar", suite.getId(), null),          // 0: estado antes da alteração
+                new OperacaoTipoQuartoDto("alterar", suite.getId(), alteracao),    // 1: alterado
+                new OperacaoTipoQuartoDto("buscar", suite.getId(), null),          // 2: já vê a alteração
+                new OperacaoTipoQuartoDto("criar", null, criarDtoValido("Luxo")),  // 3: criado
+                new OperacaoTipoQuartoDto("criar", null, criarDtoValido("suite")), // 4: nome antigo continua ocupado
+                new OperacaoTipoQuartoDto("inativar", standard.getId(), null),     // 5: inativado
+                new OperacaoTipoQuartoDto("inativar", reservado.getId(), null),    // 6: tem reserva ativa
+                new OperacaoTipoQuartoDto("buscar", 99L, null),                    // 7: não existe
+                new OperacaoTipoQuartoDto("apagar", 1L, null));                    // 8: operação inválida
+
+        // 2. Act
+        List<ResultadoOperacaoDto> resultados = service.executar(operacoes);
+
+        // 3. Assert
+        assertEquals(List.of("200 OK", "200 OK", "200 OK", "201 CREATED", "409 CONFLICT", "204 NO_CONTENT",
+                "409 CONFLICT", "404 NOT_FOUND", "400 BAD_REQUEST"),
+                resultados.stream().map(ResultadoOperacaoDto::getStatus).toList());
+        assertEquals("Suite", resultados.get(0).getTipoQuarto().getNome());
+        assertEquals("Suite Master", resultados.get(2).getTipoQuarto().getNome());
+        assertEquals(350.0, resultados.get(2).getTipoQuarto().getTarifaPadrao());
+        assertNotNull(resultados.get(3).getId());
+        assertEquals("Tipo de quarto não encontrado", resultados.get(7).getMessage());
+        assertNull(resultados.get(7).getTipoQuarto());
+
+        assertEquals(List.of("Suite Master", "Reservado", "Luxo"), service.findAll().stream().map(TipoQuartoDto::getNome).toList());
+        assertEquals(List.of(TipoQuartoAlteradoEvento.Tipo.ALTERADO, TipoQuartoAlteradoEvento.Tipo.CRIADO,
+                TipoQuartoAlteradoEvento.Tipo.INATIVADO),
+                eventos.stream(TipoQuartoAlteradoEvento.class).skip(3).map(TipoQuartoAlteradoEvento::getTipo).toList());
+
+        var vazio = assertThrows(BusinessException.class, () -> service.executar(List.of()));
+        assertEquals(HttpStatus.BAD_REQUEST, vazio.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve exportar apenas os quartos ativos, em ordem de ID")
+    void testExportar_ApenasAtivos() {
+        // 1. Arrange
+        service.save(criarDtoValido("Exportado 1"));
+        var inativo = service.save(criarDtoValido("Inativo"));
+        service.save(criarDtoValido("Exportado 2"));
+        service.deleteById(inativo.getId());
+
+        // 2. Act
+        var exportados = new java.util.ArrayList<String>();
+        service.exportar(dto -> exportados.add(dto.getNome()));
+
+        // 3. Assert
+        assertEquals(List.of("Exportado 1", "Exportado 2"), exportados);
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo da service e do repositório, separando sucesso de erro")
+    void testMetricas_ServiceERepositorio() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Medido"));
+
+        // 2. Act
+        service.findAll();
+        assertThrows(BusinessException.class, () -> service.findById(salvo.getId() + 1000));
+
+        // 3. Assert
+        assertTrue(meterRegistry.get("hotel.tipo_quarto.service").tags("metodo", "findAll", "resultado", "sucesso")
+                .timer().count() > 0);
+        assertTrue(meterRegistry.get("hotel.tipo_quarto.service").tags("metodo", "findById", "resultado", "erro")
+                .timer().count() > 0);
+        assertTrue(meterRegistry.get("hotel.tipo_quarto.repositorio").tags("metodo", "save", "resultado", "sucesso")
+                .timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve mudar a versão do catálogo só quando há alteração, e a versão da linha a cada update")
+    void testVersaoCatalogo_MudaApenasComAlteracao() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Versionado"));
+        String versaoInicial = service.versaoCatalogo();
+        String versaoLinha = VersaoCatalogo.daLinha(service.findById(salvo.getId()));
+
+        // 2. Act & 3. Assert
+        service.findAll();
+        service.findPage(null, null, null);
+        assertEquals(versaoInicial, service.versaoCatalogo()); // Leituras não mudam a versão
+
+        assertThrows(BusinessException.class, () -> service.save(criarDtoValido("quarto versionado")));
+        assertEquals(versaoInicial, service.versaoCatalogo()); // Escrita recusada também não
+
+        var dto = criarDtoValido("Quarto Versionado");
+        dto.setTarifaPadrao(200.0);
+        service.update(salvo.getId(), dto);
+        String versaoAposUpdate = service.versaoCatalogo();
+        assertNotEquals(versaoInicial, versaoAposUpdate);
+        assertNotEquals(versaoLinha, VersaoCatalogo.daLinha(service.findById(salvo.getId())));
+
+        service.saveAll(List.of(criarDtoValido("Outro Quarto"))); // Transacional: muda ao término
+        assertNotEquals(versaoAposUpdate, service.versaoCatalogo());
+    }
+
+    @Test
+    @DisplayName("Deve entregar o feed de alterações em páginas, incluindo inativações, e avançar o cursor")
+    void testAlteracoes_PaginasEInativacoes() {
+        // 1. Arrange
+        var primeiro = service.save(criarDtoValido("Alterado 1"));
+        service.save(criarDtoValido("Alterado 2"));
+        service.save(criarDtoValido("Alterado 3"));
+
+        // 2. Act: sincronização inicial em duas páginas
+        var pagina1 = service.alteracoes(null, 2);
+        var pagina2 = service.alteracoes(pagina1.getCursor(), 2);
+        var semNovidades = service.alteracoes(pagina2.getCursor(), 2);
+
+        // 3. Assert
+        assertEquals(2, pagina1.getItens().size());
+        assertTrue(pagina1.isTemMais());
+        assertEquals(1, pagina2.getItens().size());
+        assertFalse(pagina2.isTemMais());
+        assertEquals("Alterado 3", pagina2.getItens().get(0).getNome());
+        assertTrue(semNovidades.getItens().isEmpty());
+        assertEquals(pagina2.getCursor(), semNovidades.getCursor()); // Nada mudou: o cursor fica onde estava
+
+        // 2. Act: inativação depois do último cursor
+        service.deleteById(primeiro.getId());
+        var delta = service.alteracoes(semNovidades.getCursor(), null);
+
+        // 3. Assert: só o que mudou, e o inativo vem com ativo = false
+        assertEquals(1, delta.getItens().size());
+        assertEquals(primeiro.getId(), delta.getItens().get(0).getId());
+        assertFalse(delta.getItens().get(0).isAtivo());
+    }
+
+    @Test
+    @DisplayName("Deve lançar 400 para cursor de alterações inválido")
+    void testAlteracoes_CursorInvalido() {
+        // 1. Arrange
+        String semId = java.util.Base64.getUrlEncoder().encodeToString("a:1:2".getBytes());
+
+        // 2. Act & 3. Assert
+        var ex = assertThrows(BusinessException.class, () -> service.alteracoes("nao-e-um-cursor", null));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+        assertThrows(BusinessException.class, () -> service.alteracoes(semId, null));
+    }
+
+    @Test
+    @DisplayName("Deve publicar um evento por criação, alteração e inativação, e nenhum para escrita recusada")
+    void testEventos_PublicadosNasEscritas() {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Evento"));
+        assertThrows(BusinessException.class, () -> service.save(criarDtoValido("quarto evento")));
+
+        // 2. Act
+        var dto = criarDtoValido("Quarto Evento");
+        dto.setTarifaPadrao(180.0);
+        service.update(salvo.getId(), dto);
+        service.saveAll(List.of(criarDtoValido("Quarto Lote")));
+        service.deleteById(salvo.getId());
+
+        // 3. Assert
+        var publicados = eventos.stream(TipoQuartoAlteradoEvento.class).toList();
+        assertEquals(List.of(TipoQuartoAlteradoEvento.Tipo.CRIADO, TipoQuartoAlteradoEvento.Tipo.ALTERADO,
+                TipoQuartoAlteradoEvento.Tipo.CRIADO, TipoQuartoAlteradoEvento.Tipo.INATIVADO),
+                publicados.stream().map(TipoQuartoAlteradoEvento::getTipo).toList());
+        assertEquals(180.0, publicados.get(1).getTipoQuarto().getTarifaPadrao());
+        assertEquals("Quarto Lote", publicados.get(2).getTipoQuarto().getNome());
+        assertEquals(salvo.getId(), publicados.get(3).getTipoQuarto().getId());
+    }
 }
@@ -0,0 +1,119 @@
+package com.trabalho.crud.inbound.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.repository.TipoQuartoRepositoryMemo;
+import com.trabalho.crud.core.service.TipoQuartoService;
+import com.trabalho.crud.outbound.repository.CacheTipoQuartoRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class CatalogoCodificadoTest {
+
+    @Autowired
+    private CatalogoCodificado catalogo;
+
+    @Autowired
+    private TipoQuartoService service;
+
+    @Autowired
+    private TipoQuartoRepositoryMemo repository;
+
+    @Autowired
+    private CacheTipoQuartoRepository cache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        cache.limpar();
+    }
+
+    private TipoQuartoDto criarDtoValido(String nome) {
+        var dto = new TipoQuartoDto();
+        dto.setNome(nome);
+        dto.setDescricao("Quarto amplo com vista para o mar e varanda, " + nome);
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(100.0);
+        return dto;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private double reconstrucoes() {
+        return meterRegistry.get("hotel.cache.catalogo.reconstrucoes").counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve guardar o mesmo JSON do Jackson, em buffer direto, e a versão gzip equivalente")
+    void testObter_JsonEGzip() throws IOException {
+        // 1. Arrange
+        for (int i = 0; i < 30; i++) {
+            service.save(criarDtoValido("Quarto " + i)); // Passa do mínimo para comprimir
+        }
+        byte[] esperado = objectMapper.writeValueAsBytes(service.findAll());
+
+        // 2. Act
+        var json = catalogo.obter(false);
+        var gzip = catalogo.obter(true);
+
+        // 3. Assert
+        assertTrue(json.corpo().isDirect());
+        assertFalse(json.gzip());
+        assertArrayEquals(esperado, bytes(json.corpo()));
+
+        assertTrue(gzip.gzip());
+        assertTrue(gzip.corpo().remaining() < esperado.length);
+        try (var descomprimido = new GZIPInputStream(new ByteArrayInputStream(bytes(gzip.corpo())))) {
+            assertArrayEquals(esperado, descomprimido.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a entrada enquanto nada muda e reconstruir após uma alteração")
+    void testObter_ReconstroiSoComAlteracao() throws IOException {
+        // 1. Arrange
+        var salvo = service.save(criarDtoValido("Quarto Standard"));
+        catalogo.obter(false);
+        double antes = reconstrucoes();
+
+        // 2. Act & 3. Assert
+        var primeira = catalogo.obter(false);
+        var segunda = catalogo.obter(false);
+        assertEquals(antes, reconstrucoes()); // Leituras não reconstroem
+        assertEquals(primeira.corpo(), segunda.corpo()); // Mesmo conteúdo...
+        bytes(primeira.corpo());
+        assertTrue(segunda.corpo().hasRemaining()); // ...com posições independentes
+
+        service.deleteById(salvo.getId());
+        var aposInativar = catalogo.obter(false);
+        assertEquals(antes + 1, reconstrucoes());
+        assertEquals("[]", new String(bytes(aposInativar.corpo())));
+        assertFalse(catalogo.obter(true).gzip()); // Pequeno demais para comprimir
+    }
+}
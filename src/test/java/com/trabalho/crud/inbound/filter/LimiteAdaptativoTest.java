@@ -0,0 +1,135 @@
+package com.trabalho.crud.inbound.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LimiteAdaptativoTest {
+
+    private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Ocupa todas as vagas e devolve cada uma com a latência informada: o limite está em uso,
+     * então a amostra conta para o ajuste.
+     */
+    private void rodada(LimiteAdaptativo limite, long rtt, LimiteAdaptativo.Resultado resultado) {
+        int ocupadas = 0;
+        while (limite.tentarEntrar()) {
+            ocupadas++;
+        }
+        for (int i = 0; i < ocupadas; i++) {
+            limite.sair(rtt, resultado);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora quando todas as vagas estão ocupadas")
+    void testTentarEntrar_RecusaAcimaDoLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(3, 1, 10, 2.0);
+
+        // 2. Act & 3. Assert
+        assertTrue(limite.tentarEntrar());
+        assertTrue(limite.tentarEntrar());
+        assertTrue(limite.tentarEntrar());
+        assertFalse(limite.tentarEntrar());
+        assertEquals(3, limite.emVoo());
+
+        limite.sair(RAPIDA, LimiteAdaptativo.Resultado.IGNORAR);
+        assertTrue(limite.tentarEntrar()); // A vaga liberada volta a ser usada
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite, até o máximo, enquanto a latência se mantém")
+    void testSair_LatenciaEstavelAumentaLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(10, 2, 100, 2.0);
+
+        // 2. Act
+        for (int i = 0; i < 20; i++) {
+            rodada(limite, RAPIDA, LimiteAdaptativo.Resultado.SUCESSO);
+        }
+
+        // 3. Assert
+        assertEquals(100, limite.limite());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência passa da tolerância")
+    void testSair_LatenciaAltaReduzLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(50, 2, 100, 2.0);
+        for (int i = 0; i < 5; i++) {
+            rodada(limite, RAPIDA, LimiteAdaptativo.Resultado.SUCESSO); // Referência de servidor folgado
+        }
+        int antes = limite.limite();
+
+        // 2. Act
+        for (int i = 0; i < 5; i++) {
+            rodada(limite, LENTA, LimiteAdaptativo.Resultado.SUCESSO);
+        }
+
+        // 3. Assert
+        assertTrue(limite.limite() < antes / 2, "limite " + limite.limite() + " deveria ter caído de " + antes);
+        assertTrue(limite.limite() >= 2);
+    }
+
+    @Test
+    @DisplayName("Deve cortar o limite a cada falha por sobrecarga, sem passar do mínimo")
+    void testSair_SobrecargaCortaLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(20, 4, 100, 2.0);
+
+        // 2. Act
+        assertTrue(limite.tentarEntrar());
+        limite.sair(RAPIDA, LimiteAdaptativo.Resultado.SOBRECARGA);
+        int aposUma = limite.limite();
+        for (int i = 0; i < 50; i++) {
+            rodada(limite, RAPIDA, LimiteAdaptativo.Resultado.SOBRECARGA);
+        }
+
+        // 3. Assert
+        assertEquals(18, aposUma);
+        assertEquals(4, limite.limite());
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite quando ele não está sendo usado")
+    void testSair_PoucaCargaNaoAumentaLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(20, 2, 100, 2.0);
+
+        // 2. Act
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limite.tentarEntrar());
+            limite.sair(RAPIDA, LimiteAdaptativo.Resultado.SUCESSO); // Uma requisição por vez
+        }
+
+        // 3. Assert
+        assertEquals(20, limite.limite());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência passa da tolerância mesmo com poucas vagas em uso")
+    void testSair_PoucaCargaLatenciaAltaReduzLimite() {
+        // 1. Arrange
+        var limite = new LimiteAdaptativo(100, 2, 100, 2.0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limite.tentarEntrar());
+            limite.sair(RAPIDA, LimiteAdaptativo.Resultado.SUCESSO); // Referência de servidor folgado
+        }
+
+        // 2. Act
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limite.tentarEntrar());
+            limite.sair(LENTA, LimiteAdaptativo.Resultado.SUCESSO); // Uma por vez, bem mais lentas
+        }
+
+        // 3. Assert
+        assertTrue(limite.limite() < 50, "limite " + limite.limite() + " deveria ter caído de 100");
+    }
+}
@@ -0,0 +1,92 @@
+package com.trabalho.crud.inbound.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.FilterChain;
+
+class LimiteConcorrenciaFilterTest {
+
+    // O controller só inicia a resposta assíncrona; quem termina é o teste, pelo MockAsyncContext
+    private static final FilterChain ASSINCRONA = (request, response) -> request.startAsync();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LimiteConcorrenciaFilter filter =
+            new LimiteConcorrenciaFilter(200, 40, 4, 2.0, 1, new ObjectMapper(), registry);
+
+    private MockHttpServletRequest requisicao(String metodo, String caminho) {
+        var request = new MockHttpServletRequest(metodo, caminho);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double emUso(String orcamento) {
+        return registry.get("hotel.concorrencia.em_uso").tag("orcamento", orcamento).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Deve segurar a vaga da exportação até a resposta assíncrona terminar")
+    void testExportacao_VagaAteConcluir() throws Exception {
+        // 1. Arrange
+        var primeira = requisicao("GET", "/tipos-quarto/exportacao");
+        var segunda = requisicao("GET", "/tipos-quarto/exportacao");
+        var terceira = requisicao("GET", "/tipos-quarto/exportacao");
+        var respostaSegunda = new MockHttpServletResponse();
+        var respostaTerceira = new MockHttpServletResponse();
+
+        // 2. Act
+        filter.doFilter(primeira, new MockHttpServletResponse(), ASSINCRONA);
+        filter.doFilter(segunda, respostaSegunda, ASSINCRONA);
+        ((MockAsyncContext) primeira.getAsyncContext()).complete();
+        filter.doFilter(terceira, respostaTerceira, ASSINCRONA);
+
+        // 3. Assert
+        assertEquals(503, respostaSegunda.getStatus());
+        assertNotNull(respostaSegunda.getHeader("Retry-After"));
+        assertEquals(200, respostaTerceira.getStatus());
+        assertEquals(1.0, emUso("exportacao"));
+        assertEquals(1.0, registry.get("hotel.concorrencia.rejeitadas").tag("orcamento", "exportacao").counter().count());
+        assertEquals(0.0, emUso("leitura")); // Não ocupa o orçamento das leituras
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga de uma resposta assíncrona só quando ela termina")
+    void testAssincrona_VagaAteConcluir() throws Exception {
+        // 1. Arrange
+        var request = requisicao("POST", "/cotacoes/lote");
+
+        // 2. Act
+        filter.doFilter(request, new MockHttpServletResponse(), ASSINCRONA);
+        double durante = emUso("escrita");
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        // 3. Assert
+        assertEquals(1.0, durante);
+        assertEquals(0.0, emUso("escrita"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga de uma resposta síncrona ao fim do filtro")
+    void testSincrona_VagaDevolvida() throws Exception {
+        // 1. Arrange
+        var request = requisicao("GET", "/tipos-quarto");
+        var response = new MockHttpServletResponse();
+
+        // 2. Act
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        // 3. Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, emUso("leitura"));
+    }
+}
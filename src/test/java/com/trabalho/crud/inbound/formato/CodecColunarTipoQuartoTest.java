@@ -0,0 +1,113 @@
+package com.trabalho.crud.inbound.formato;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+
+class CodecColunarTipoQuartoTest {
+
+    private TipoQuartoDto criarDto(Long id, String nome) {
+        var dto = new TipoQuartoDto();
+        dto.setId(id);
+        dto.setNome(nome);
+        dto.setDescricao("Quarto amplo com vista para o mar e varanda, " + nome);
+        dto.setCapacidadeMaxima(2);
+        dto.setTarifaPadrao(189.9);
+        return dto;
+    }
+
+    private byte[] concatenar(byte[]... partes) {
+        var saida = new ByteArrayOutputStream();
+        for (byte[] parte : partes) {
+            saida.writeBytes(parte);
+        }
+        return saida.toByteArray();
+    }
+
+    private void assertMesmoConteudo(TipoQuartoDto esperado, TipoQuartoDto atual) {
+        assertEquals(esperado.getId(), atual.getId());
+        assertEquals(esperado.getNome(), atual.getNome());
+        assertEquals(esperado.getDescricao(), atual.getDescricao());
+        assertEquals(esperado.getCapacidadeMaxima(), atual.getCapacidadeMaxima());
+        assertEquals(esperado.getTarifaPadrao(), atual.getTarifaPadrao());
+    }
+
+    @Test
+    @DisplayName("Deve ler de volta exatamente o que escreveu, inclusive nulos, acentos e IDs fora de ordem")
+    void testEscreverLer_IdaEVolta() throws Exception {
+        // 1. Arrange
+        var dtos = new ArrayList<TipoQuartoDto>();
+        for (long i = 1; i <= 20; i++) {
+            dtos.add(criarDto(i, "Quarto " + i));
+        }
+        dtos.add(criarDto(3L, "Suíte Presidencial ☀")); // Delta negativo
+        var novo = criarDto(null, "Chalé"); // Sem ID, como num lote de criação
+        novo.setDescricao(null);
+        novo.setCapacidadeMaxima(-1);
+        novo.setTarifaPadrao(null);
+        dtos.add(novo);
+
+        // 2. Act
+        byte[] colunar = CodecColunarTipoQuarto.escrever(dtos);
+        List<TipoQuartoDto> lidos = CodecColunarTipoQuarto.ler(colunar);
+
+        // 3. Assert
+        assertEquals(dtos.size(), lidos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            assertMesmoConteudo(dtos.get(i), lidos.get(i));
+        }
+        assertTrue(colunar.length < new ObjectMapper().writeValueAsBytes(dtos).length); // Sem nomes de campo
+        assertTrue(CodecColunarTipoQuarto.ler(CodecColunarTipoQuarto.escrever(List.of())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar conteúdo com assinatura errada, truncado, com sobra ou com quantidade forjada")
+    void testLer_ConteudoInvalido() {
+        // 1. Arrange
+        byte[] valido = CodecColunarTipoQuarto.escrever(List.of(criarDto(1L, "Quarto Standard")));
+        byte[] assinaturaErrada = valido.clone();
+        assinaturaErrada[0] = 'X';
+        byte[] truncado = Arrays.copyOf(valido, valido.length - 3);
+        byte[] comSobra = Arrays.copyOf(valido, valido.length + 1);
+        // Pede 2^28 itens em um corpo de poucos bytes
+        byte[] quantidadeForjada = {'T', 'Q', 'C', '1', (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        // Varints de 10 bytes com o bit de sinal: quantidade -1 e, num item só com nome, tamanho negativo
+        byte[] negativo = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+        byte[] quantidadeNegativa = concatenar(new byte[] {'T', 'Q', 'C', '1'}, negativo);
+        byte[] tamanhoNegativo = concatenar(new byte[] {'T', 'Q', 'C', '1', 0x01, 0x00, 0x01}, negativo,
+                new byte[16]);
+
+        // 2. Act & 3. Assert
+        for (byte[] invalido : List.of(assinaturaErrada, truncado, comSobra, quantidadeForjada, quantidadeNegativa,
+                tamanhoNegativo, new byte[0])) {
+            var ex = assertThrows(IllegalArgumentException.class, () -> CodecColunarTipoQuarto.ler(invalido));
+            assertTrue(ex.getMessage().startsWith("Conteúdo colunar inválido"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escolher o formato binário só quando o Accept o prefere ao JSON")
+    void testBinarioPreferido() {
+        // 1. Arrange, 2. Act & 3. Assert
+        assertNull(FormatosTipoQuarto.binarioPreferido(null));
+        assertNull(FormatosTipoQuarto.binarioPreferido("*/*"));
+        assertNull(FormatosTipoQuarto.binarioPreferido("application/json, application/cbor"));
+        assertNull(FormatosTipoQuarto.binarioPreferido("application/cbor;q=0.5, application/json"));
+        assertNull(FormatosTipoQuarto.binarioPreferido("não é um media type"));
+        assertEquals(FormatosTipoQuarto.CBOR, FormatosTipoQuarto.binarioPreferido("application/cbor"));
+        assertEquals(FormatosTipoQuarto.SMILE,
+                FormatosTipoQuarto.binarioPreferido("application/x-jackson-smile, */*;q=0.1"));
+        assertEquals(FormatosTipoQuarto.COLUNAR,
+                FormatosTipoQuarto.binarioPreferido("application/json;q=0.9, application/vnd.hotel.tipos-quarto.colunar"));
+    }
+}
@@ -0,0 +1,197 @@
+package com.trabalho.crud.inbound.sse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.evento.TipoQuartoAlteradoEvento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TransmissorEventosTest {
+
+    private static final Pattern ID = Pattern.compile("id:(\\S+)");
+
+    // As tarefas de envio ficam aqui até o teste mandar rodar (simula as virtual threads)
+    private final List<Runnable> tarefas = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TransmissorEventos transmissor(int tamanhoBuffer, int filaMaxima) {
+        return new TransmissorEventos(tamanhoBuffer, filaMaxima, 100, Duration.ofSeconds(3),
+                new ObjectMapper(), registry, tarefas::add);
+    }
+
+    private void rodarEnvios() {
+        while (!tarefas.isEmpty()) {
+            tarefas.remove(0).run();
+        }
+    }
+
+    private static TipoQuartoAlteradoEvento evento(TipoQuartoAlteradoEvento.Tipo tipo, long id, String nome) {
+        var dto = new TipoQuartoDto();
+        dto.setId(id);
+        dto.setNome(nome);
+        return new TipoQuartoAlteradoEvento(tipo, dto);
+    }
+
+    // Emitter que guarda o texto SSE enviado em vez de escrever numa resposta HTTP
+    private static final class EmitterCapturado extends SseEmitter {
+
+        final List<String> enviados = new ArrayList<>();
+        boolean falhar;
+        boolean completo;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (falhar) {
+                throw new IOException("Cliente desconectou");
+            }
+            enviados.add(builder.build().stream().map(parte -> parte.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completo = true;
+            super.complete();
+        }
+
+        List<String> eventos() {
+            return enviados.stream().filter(texto -> texto.contains("event:")).toList();
+        }
+
+        String ultimoId() {
+            Matcher matcher = ID.matcher(this.eventos().get(this.eventos().size() - 1));
+            assertTrue(matcher.find());
+            return matcher.group(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos, em ordem, a todos os assinantes")
+    void testPublicar_TodosOsAssinantes() {
+        // 1. Arrange
+        var transmissor = transmissor(16, 16);
+        var painel1 = new EmitterCapturado();
+        var painel2 = new EmitterCapturado();
+        transmissor.assinar(painel1, null);
+        transmissor.assinar(painel2, null);
+
+        // 2. Act
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, 1, "Luxo"));
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.INATIVADO, 1, "Luxo"));
+        rodarEnvios();
+
+        // 3. Assert
+        assertTrue(painel1.enviados.get(0).contains("retry:3000")); // Abertura com o tempo de reconexão
+        for (var painel : List.of(painel1, painel2)) {
+            assertEquals(2, painel.eventos().size());
+            assertTrue(painel.eventos().get(0).contains("event:CRIADO"));
+            assertTrue(painel.eventos().get(0).contains("\"nome\":\"Luxo\""));
+            assertTrue(painel.eventos().get(1).contains("event:INATIVADO"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reenviar só os eventos perdidos a quem reconecta com Last-Event-ID")
+    void testAssinar_RetomaPeloLastEventId() {
+        // 1. Arrange
+        var transmissor = transmissor(16, 16);
+        var painel = new EmitterCapturado();
+        transmissor.assinar(painel, null);
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, 1, "Luxo"));
+        rodarEnvios();
+        String ultimoRecebido = painel.ultimoId();
+
+        // Cai a conexão; enquanto isso, mais dois eventos
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, 2, "Standard"));
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.ALTERADO, 1, "Luxo Master"));
+
+        // 2. Act
+        var reconectado = new EmitterCapturado();
+        transmissor.assinar(reconectado, ultimoRecebido);
+        rodarEnvios();
+
+        // 3. Assert
+        assertEquals(2, reconectado.eventos().size());
+        assertTrue(reconectado.eventos().get(0).contains("Standard"));
+        assertTrue(reconectado.eventos().get(1).contains("Luxo Master"));
+    }
+
+    @Test
+    @DisplayName("Deve mandar RESET quando o Last-Event-ID já saiu do buffer ou é de outra instância")
+    void testAssinar_ResetQuandoNaoDaParaRetomar() {
+        // 1. Arrange
+        var transmissor = transmissor(2, 16);
+        var painel = new EmitterCapturado();
+        transmissor.assinar(painel, null);
+        transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, 1, "Luxo"));
+        rodarEnvios();
+        String antigo = painel.ultimoId();
+        for (int i = 2; i <= 4; i++) {
+            transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, i, "Quarto " + i));
+        }
+
+        // 2. Act
+        var foraDoBuffer = new EmitterCapturado();
+        transmissor.assinar(foraDoBuffer, antigo);
+        var outraInstancia = new EmitterCapturado();
+        transmissor.assinar(outraInstancia, "abc-1");
+        rodarEnvios();
+
+        // 3. Assert
+        for (var reconectado : List.of(foraDoBuffer, outraInstancia)) {
+            assertEquals(1, reconectado.eventos().size());
+            assertTrue(reconectado.eventos().get(0).contains("event:" + TransmissorEventos.EVENTO_RESET));
+            assertEquals(painel.ultimoId(), reconectado.ultimoId()); // Próxima reconexão continua do evento atual
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante lento sem afetar a publicação")
+    void testPublicar_DesconectaAssinanteLento() {
+        // 1. Arrange: ninguém drena a fila, como um cliente que parou de ler
+        var transmissor = transmissor(16, 2);
+        var lento = new EmitterCapturado();
+        transmissor.assinar(lento, null);
+
+        // 2. Act
+        for (int i = 1; i <= 3; i++) {
+            transmissor.publicar(evento(TipoQuartoAlteradoEvento.Tipo.CRIADO, i, "Quarto " + i));
+        }
+
+        // 3. Assert
+        assertTrue(lento.completo);
+        assertEquals(0, transmissor.assinantes());
+        assertEquals(1.0, registry.get("hotel.eventos.desconectados_lentos").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve remover o assinante cuja conexão falhou no envio")
+    void testPublicar_RemoveConexaoQuebrada() {
+        // 1. Arrange
+        var transmissor = transmissor(16, 16);
+        var quebrado = new EmitterCapturado();
+        transmissor.assinar(quebrado, null);
+        rodarEnvios();
+        quebrado.falhar = true;
+
+        // 2. Act
+        transmissor.enviarBatimento();
+        rodarEnvios();
+
+        // 3. Assert
+        assertEquals(0, transmissor.assinantes());
+    }
+}
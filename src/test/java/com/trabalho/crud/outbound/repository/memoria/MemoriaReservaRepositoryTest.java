@@ -0,0 +1,105 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.trabalho.crud.core.entity.Reserva;
+
+class MemoriaReservaRepositoryTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 1, 1);
+
+    @TempDir
+    Path diretorio;
+
+    private final List<MemoriaReservaRepository> abertos = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        abertos.forEach(MemoriaReservaRepository::fechar);
+    }
+
+    // Segmento pequeno para os testes também passarem pela troca de segmento
+    private MemoriaReservaRepository abrir() {
+        var repository = new MemoriaReservaRepository(diretorio, DataSize.ofKilobytes(4), false, Duration.ofHours(1));
+        abertos.add(repository);
+        return repository;
+    }
+
+    // Simula a queda do processo: reabre sem fechar (nem snapshot nem close)
+    private MemoriaReservaRepository reabrirAposQueda() {
+        abertos.clear();
+        return this.abrir();
+    }
+
+    private static Reserva reserva(long tipoQuartoId, int dias) {
+        return Reserva.builder()
+                .tipoQuartoId(tipoQuartoId)
+                .entrada(HOJE.plusDays(dias))
+                .saida(HOJE.plusDays(dias + 2))
+                .hospedes(2)
+                .nomeHospede("Hóspede " + dias)
+                .status(Reserva.Status.ATIVA)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as reservas e os cancelamentos do diário após uma queda")
+    void testRecuperacaoPeloDiario() {
+        // 1. Arrange
+        var repository = abrir();
+        for (int i = 0; i < 100; i++) { // Vários segmentos de 4 KB
+            repository.save(reserva(1L + i % 2, i * 3));
+        }
+        var cancelada = repository.findById(10L).orElseThrow();
+        cancelada.setStatus(Reserva.Status.CANCELADA);
+        repository.save(cancelada);
+
+        // 2. Act
+        var recuperado = reabrirAposQueda();
+
+        // 3. Assert
+        assertEquals(99, recuperado.findAtivas(HOJE).size());
+        assertEquals(49, recuperado.findAtivasPorTipoQuarto(2L, HOJE).size());
+        var lida = recuperado.findById(11L).orElseThrow();
+        assertEquals(HOJE.plusDays(30), lida.getEntrada());
+        assertEquals("Hóspede 30", lida.getNomeHospede());
+        assertNotNull(lida.getDataCriacao());
+        assertEquals(Reserva.Status.CANCELADA, recuperado.findById(10L).orElseThrow().getStatus());
+        assertEquals(101L, recuperado.save(reserva(1L, 400)).getId()); // O contador de IDs continua
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as reservas do snapshot mais o diário posterior")
+    void testRecuperacaoPeloSnapshot() {
+        // 1. Arrange
+        var repository = abrir();
+        for (int i = 0; i < 50; i++) {
+            repository.save(reserva(1L, i * 3));
+        }
+        repository.snapshot();
+        repository.save(reserva(2L, 0));
+        var cancelada = repository.findById(1L).orElseThrow();
+        cancelada.setStatus(Reserva.Status.CANCELADA);
+        repository.save(cancelada);
+
+        // 2. Act
+        var recuperado = reabrirAposQueda();
+
+        // 3. Assert
+        assertEquals(49, recuperado.findAtivasPorTipoQuarto(1L, HOJE).size());
+        assertEquals(1, recuperado.findAtivasPorTipoQuarto(2L, HOJE).size());
+        assertFalse(recuperado.findById(1L).orElseThrow().isAtiva());
+    }
+}
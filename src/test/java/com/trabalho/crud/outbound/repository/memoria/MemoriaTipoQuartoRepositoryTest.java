@@ -0,0 +1,294 @@
+package com.trabalho.crud.outbound.repository.memoria;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import com.trabalho.crud.core.dto.AlteracaoTipoQuartoDto;
+import com.trabalho.crud.core.dto.TipoQuartoDto;
+import com.trabalho.crud.core.entity.TipoQuarto;
+
+class MemoriaTipoQuartoRepositoryTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final List<MemoriaTipoQuartoRepository> abertos = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        abertos.forEach(MemoriaTipoQuartoRepository::fechar);
+    }
+
+    // Segmento pequeno para os testes também passarem pela troca de segmento
+    private MemoriaTipoQuartoRepository abrir() {
+        var repository = new MemoriaTipoQuartoRepository(diretorio, DataSize.ofKilobytes(4), false, Duration.ofHours(1));
+        abertos.add(repository);
+        return repository;
+    }
+
+    // Simula a queda do processo: reabre sem fechar (nem snapshot nem close)
+    private MemoriaTipoQuartoRepository reabrirAposQueda() {
+        abertos.clear();
+        return this.abrir();
+    }
+
+    private static TipoQuarto tipoQuarto(String nome) {
+        return TipoQuarto.builder()
+                .nome(nome)
+                .descricao("Descrição do " + nome)
+                .capacidadeMaxima(2)
+                .tarifaPadrao(150.0)
+                .ativo(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve gerar ID e datas e manter os índices de ativos ordenados")
+    void testSaveEConsultas() {
+        // 1. Arrange
+        var repository = abrir();
+
+        // 2. Act
+        var luxo = repository.save(tipoQuarto("Luxo"));
+        var basico = repository.save(tipoQuarto("Básico"));
+        var inativo = tipoQuarto("Antigo");
+        inativo.setAtivo(false);
+        repository.save(inativo);
+
+        // 3. Assert
+        assertEquals(1L, luxo.getId());
+        assertEquals(2L, basico.getId());
+        assertNotNull(luxo.getDataCriacao());
+        assertEquals(List.of(1L, 2L), repository.findByAtivoTrueOrderByIdAsc().stream().map(TipoQuarto::getId).toList());
+        assertEquals(List.of("Básico", "Luxo"), repository.findAtivosAposNome("", 0L, 10).stream().map(TipoQuarto::getNome).toList());
+        assertEquals(List.of(2L), repository.findAtivosAposId(1L, 10).stream().map(TipoQuarto::getId).toList());
+        assertTrue(repository.findByNome("Luxo").isPresent());
+        assertTrue(repository.findByNome("luxo").isEmpty()); // Busca por nome é exata
+        assertEquals(3, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve devolver cópias: alterar a entidade recebida não altera o repositório")
+    void testLeituraDevolveCopia() {
+        // 1. Arrange
+        var repository = abrir();
+        Long id = repository.save(tipoQuarto("Luxo")).getId();
+
+        // 2. Act
+        repository.findById(id).orElseThrow().setNome("Alterado");
+
+        // 3. Assert
+        assertEquals("Luxo", repository.findById(id).orElseThrow().getNome());
+    }
+
+    @Test
+    @DisplayName("Deve projetar direto em DTO: só ativos na listagem, qualquer um na busca por ID")
+    void testLeituraDto() {
+        // 1. Arrange
+        var repository = abrir();
+        repository.save(tipoQuarto("Luxo"));
+        var inativo = tipoQuarto("Antigo");
+        inativo.setAtivo(false);
+        repository.save(inativo);
+
+        // 2. Act
+        var ativos = repository.findAtivosDto();
+        var porId = repository.findDtoById(inativo.getId());
+
+        // 3. Assert
+        assertEquals(List.of("Luxo"), ativos.stream().map(TipoQuartoDto::getNome).toList());
+        assertEquals("Antigo", porId.orElseThrow().getNome());
+        assertTrue(repository.findDtoById(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice de alterações: a linha alterada vai para o fim e sobrevive à recuperação")
+    void testAlteracoes() {
+        // 1. Arrange
+        var repository = abrir();
+        var luxo = repository.save(tipoQuarto("Luxo"));
+        var standard = repository.save(tipoQuarto("Standard"));
+        luxo.setTarifaPadrao(300.0);
+        repository.atualizar(luxo);
+        LocalDateTime depois = LocalDateTime.now().plusSeconds(1);
+
+        // 2. Act
+        var todas = repository.findAlteracoes(LocalDateTime.MIN, 0L, depois, 10);
+        var aposStandard = repository.findAlteracoes(
+                standard.getDataAtualizacao(), standard.getId(), depois, 10);
+        var recuperadas = reabrirAposQueda().findAlteracoes(LocalDateTime.MIN, 0L, depois, 10);
+
+        // 3. Assert
+        assertEquals(List.of("Standard", "Luxo"), todas.stream().map(AlteracaoTipoQuartoDto::getNome).toList());
+        assertEquals(List.of("Luxo"), aposStandard.stream().map(AlteracaoTipoQuartoDto::getNome).toList());
+        assertEquals(300.0, aposStandard.get(0).getTarifaPadrao());
+        assertEquals(List.of("Standard", "Luxo"), recuperadas.stream().map(AlteracaoTipoQuartoDto::getNome).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar nome normalizado repetido, inclusive dentro do mesmo lote, sem gravar nada")
+    void testNomeUnico() {
+        // 1. Arrange
+        var repository = abrir();
+        repository.save(tipoQuarto("Luxo"));
+
+        // 2. Act & 3. Assert
+        var ex = assertThrows(DataIntegrityViolationException.class, () -> repository.save(tipoQuarto("  LUXO ")));
+        assertTrue(ex.getMessage().contains(TipoQuarto.UK_NOME_NORMALIZADO));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAllAndFlush(List.of(tipoQuarto("Suíte"), tipoQuarto("suíte"))));
+        assertTrue(repository.findByNome("Suíte").isEmpty());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Deve permitir trocar nomes entre registros do mesmo lote")
+    void testLoteTrocandoNomes() {
+        // 1. Arrange
+        var repository = abrir();
+        var a = repository.save(tipoQuarto("A"));
+        var b = repository.save(tipoQuarto("B"));
+        a.setNome("B");
+        b.setNome("A");
+
+        // 2. Act
+        repository.saveAllAndFlush(List.of(a, b));
+
+        // 3. Assert
+        assertEquals(b.getId(), repository.findByNome("A").orElseThrow().getId());
+        assertEquals(a.getId(), repository.findByNome("B").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar do diário após uma queda, sem snapshot")
+    void testRecuperacaoPeloDiario() {
+        // 1. Arrange
+        var repository = abrir();
+        for (int i = 0; i < 100; i++) { // Vários segmentos de 4 KB
+            repository.save(tipoQuarto("Quarto " + i));
+        }
+        var editado = tipoQuarto("Quarto Editado");
+        editado.setId(10L);
+        repository.atualizar(editado);
+        repository.deleteById(20L);
+        var inativado = repository.findById(30L).orElseThrow();
+        inativado.setAtivo(false);
+        repository.save(inativado);
+
+        // 2. Act
+        var recuperado = reabrirAposQueda();
+
+        // 3. Assert
+        assertEquals(99, recuperado.findAll().size());
+        assertEquals(98, recuperado.findByAtivoTrueOrderByIdAsc().size());
+        assertEquals("Quarto Editado", recuperado.findById(10L).orElseThrow().getNome());
+        assertTrue(recuperado.findById(20L).isEmpty());
+        assertFalse(recuperado.findById(30L).orElseThrow().isAtivo());
+        assertEquals(101L, recuperado.save(tipoQuarto("Novo")).getId()); // O contador de IDs continua
+    }
+
+    @Test
+    @DisplayName("Deve recuperar do snapshot mais o diário posterior e apagar os segmentos compactados")
+    void testRecuperacaoPeloSnapshot() throws IOException {
+        // 1. Arrange
+        var repository = abrir();
+        for (int i = 0; i < 50; i++) {
+            repository.save(tipoQuarto("Quarto " + i));
+        }
+        repository.snapshot();
+        repository.save(tipoQuarto("Depois do snapshot"));
+        repository.deleteById(1L);
+
+        // 2. Act
+        var recuperado = reabrirAposQueda();
+
+        // 3. Assert
+        assertEquals(50, recuperado.findAll().size());
+        assertTrue(recuperado.findById(1L).isEmpty());
+        assertTrue(recuperado.findByNome("Depois do snapshot").isPresent());
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            // Segmentos anteriores ao snapshot foram apagados: resta o posterior ao snapshot e o desta abertura
+            assertEquals(2, arquivos.filter(arquivo -> arquivo.toString().endsWith(".wal")).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar o registro cortado no fim do diário e manter os anteriores")
+    void testRegistroCortado() throws IOException {
+        // 1. Arrange
+        var repository = abrir();
+        repository.save(tipoQuarto("Luxo"));
+        repository.save(tipoQuarto("Suíte"));
+        Path segmento;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            segmento = arquivos.filter(arquivo -> arquivo.toString().endsWith(".wal")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        // Corrompe o último byte do segundo registro, como uma escrita interrompida
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer tamanho = ByteBuffer.allocate(Integer.BYTES);
+            canal.read(tamanho, 0);
+            long inicioSegundo = 2L * Integer.BYTES + tamanho.flip().getInt();
+            canal.read(tamanho.clear(), inicioSegundo);
+            long ultimoByte = inicioSegundo + 2L * Integer.BYTES + tamanho.flip().getInt() - 1;
+            ByteBuffer valor = ByteBuffer.allocate(1);
+            canal.read(valor, ultimoByte);
+            canal.write(ByteBuffer.wrap(new byte[] { (byte) ~valor.get(0) }), ultimoByte);
+        }
+
+        // 2. Act
+        var recuperado = reabrirAposQueda();
+
+        // 3. Assert
+        assertEquals(List.of("Luxo"), recuperado.findAll().stream().map(TipoQuarto::getNome).toList());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar escritas concorrentes sem perder registros nem repetir IDs")
+    void testEscritasConcorrentes() throws Exception {
+        // 1. Arrange
+        var repository = abrir();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // 2. Act
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            tarefas.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    repository.save(tipoQuarto("Quarto " + thread + "-" + i));
+                    repository.findAtivosAposNome("", 0L, 20);
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        // 3. Assert
+        assertEquals(800, repository.findByAtivoTrueOrderByIdAsc().size());
+        assertEquals(800, reabrirAposQueda().findAll().stream().map(TipoQuarto::getId).distinct().count());
+    }
+}
@@ -14,7 +14,8 @@ const API_URL = 'http://localhost:8080/tipos-quarto';
         // --- 1. LISTAR (READ) ---
         async function listarQuartos() {
             try {
-                const response = await fetch(API_URL);
+                // "no-cache": usa a cópia do navegador, mas revalida com If-None-Match (o servidor responde 304 se nada mudou)
+                const response = await fetch(API_URL, { cache: 'no-cache' });
                 if (!response.ok) throw new Error('Falha na rede');
                 const quartos = await response.json();
 
@@ -138,6 +139,24 @@ const API_URL = 'http://localhost:8080/tipos-quarto';
 
         
 
-        document.addEventListener('DOMContentLoaded', listarQuartos);
+        // --- 5. ATUALIZAÇÃO EM TEMPO REAL (SSE) ---
+        // Alterações feitas em outras abas/sistemas chegam pelo stream; a lista é recarregada
+        // (GET condicional, normalmente 304) no máximo uma vez a cada rajada de eventos.
+        let recarga = null;
+        function agendarRecarga() {
+            clearTimeout(recarga);
+            recarga = setTimeout(listarQuartos, 200);
+        }
+
+        function acompanharAlteracoes() {
+            // O navegador reconecta sozinho, reenviando o Last-Event-ID
+            const eventos = new EventSource(`${API_URL}/eventos`);
+            ['CRIADO', 'ALTERADO', 'INATIVADO', 'RESET'].forEach(tipo => eventos.addEventListener(tipo, agendarRecarga));
+        }
+
+        document.addEventListener('DOMContentLoaded', () => {
+            listarQuartos();
+            acompanharAlteracoes();
+        });
         form.addEventListener('submit', salvarQuarto);
         btnCancelar.addEventListener('click', resetarFormulario);
\ No newline at end of file